@@ -0,0 +1,72 @@
+package dev.gunho.global.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.server.PathContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the rate limit check PaymentWebFilter runs on every request, at 1 and 16 threads:
+ * one hot client (all threads CAS on one bucket) versus 10,000 clients spread over the map.
+ * Limits are high enough that every request is allowed, which is the common case and the most expensive path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final PathContainer ORDERS = PathContainer.parsePath("/payments/orders");
+    private static final int CLIENTS = 10_000;
+
+    private RateLimiter limiter;
+    private String[] clientKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        limiter = new RateLimiter(true, List.of("POST /payments/** 1000000000 1000000000", "GET /users 100 200"),
+                1_000_000_000, 1_000_000_000, Duration.ofMinutes(1));
+        clientKeys = new String[CLIENTS];
+        for (int i = 0; i < CLIENTS; i++) {
+            clientKeys[i] = "user:merchant-" + i;
+        }
+    }
+
+    @Benchmark
+    public long singleClient() {
+        return limiter.acquire("POST", ORDERS, "user:merchant-0");
+    }
+
+    @Benchmark
+    public long manyClients() {
+        return limiter.acquire("POST", ORDERS, clientKeys[ThreadLocalRandom.current().nextInt(CLIENTS)]);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long singleClientContended() {
+        return singleClient();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public long manyClientsContended() {
+        return manyClients();
+    }
+}
@@ -0,0 +1,110 @@
+package dev.gunho.payment.model.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import dev.gunho.payment.model.entity.PaymentOrderStatus;
+import dev.gunho.payment.model.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link PaymentPayload} bodies through the same Jackson codecs WebFlux uses for handler requests and responses,
+ * with an ObjectMapper configured the way Spring Boot configures it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaymentPayloadJsonBenchmark {
+
+    private static final DefaultDataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+    private static final ResolvableType ORDER_REQUEST = ResolvableType.forClass(PaymentPayload.OrderRequest.class);
+    private static final ResolvableType ORDER_RESPONSE = ResolvableType.forClass(PaymentPayload.OrderResponse.class);
+    private static final ResolvableType CAPTURE_RESPONSE = ResolvableType.forClass(PaymentPayload.CaptureResponse.class);
+    private static final ResolvableType ORDER_STATUS_RESPONSE = ResolvableType.forClass(PaymentPayload.OrderStatusResponse.class);
+
+    private Jackson2JsonEncoder encoder;
+    private Jackson2JsonDecoder decoder;
+    private byte[] orderRequest;
+    private PaymentPayload.OrderResponse orderResponse;
+    private PaymentPayload.CaptureResponse captureResponse;
+    private PaymentPayload.OrderStatusResponse orderStatusResponse;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        encoder = new Jackson2JsonEncoder(mapper);
+        decoder = new Jackson2JsonDecoder(mapper);
+
+        orderRequest = "{\"amount\":100.00,\"currency\":\"USD\",\"description\":\"Test Order\",\"userId\":\"testUser123\"}"
+                .getBytes(StandardCharsets.UTF_8);
+        Money amount = Money.parse("100.00", "USD");
+        orderResponse = PaymentPayload.OrderResponse.builder()
+                .orderId("5O190127TN364715T")
+                .gatewayName("PayPal")
+                .amount(amount)
+                .description("Test Order")
+                .userId("testUser123")
+                .build();
+        captureResponse = PaymentPayload.CaptureResponse.builder()
+                .orderId("5O190127TN364715T")
+                .gatewayName("PayPal")
+                .success(true)
+                .userId("testUser123")
+                .build();
+        LocalDateTime now = LocalDateTime.now();
+        orderStatusResponse = PaymentPayload.OrderStatusResponse.builder()
+                .orderId("5O190127TN364715T")
+                .gatewayName("PayPal")
+                .userId("testUser123")
+                .amount(amount)
+                .description("Test Order")
+                .status(PaymentOrderStatus.CAPTURED)
+                .regDate(now)
+                .updDate(now)
+                .build();
+    }
+
+    @Benchmark
+    public Object decodeOrderRequest() {
+        return decoder.decode(BUFFERS.wrap(orderRequest), ORDER_REQUEST, MediaType.APPLICATION_JSON, null);
+    }
+
+    @Benchmark
+    public DataBuffer encodeOrderResponse() {
+        return encoder.encodeValue(orderResponse, BUFFERS, ORDER_RESPONSE, MediaType.APPLICATION_JSON, null);
+    }
+
+    @Benchmark
+    public DataBuffer encodeCaptureResponse() {
+        return encoder.encodeValue(captureResponse, BUFFERS, CAPTURE_RESPONSE, MediaType.APPLICATION_JSON, null);
+    }
+
+    @Benchmark
+    public DataBuffer encodeOrderStatusResponse() {
+        return encoder.encodeValue(orderStatusResponse, BUFFERS, ORDER_STATUS_RESPONSE, MediaType.APPLICATION_JSON, null);
+    }
+}
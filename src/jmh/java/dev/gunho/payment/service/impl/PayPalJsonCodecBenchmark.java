@@ -0,0 +1,110 @@
+package dev.gunho.payment.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.gunho.payment.model.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Map-based PayPal request/response handling that PayPalPaymentService used to do
+ * with the typed writer and streaming reader in {@link PayPalJsonCodec}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayPalJsonCodecBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Money AMOUNT = Money.parse("100.00", "USD");
+
+    private byte[] orderResponse;
+    private byte[] captureResponse;
+
+    @Setup
+    public void setUp() {
+        orderResponse = ("{\"id\":\"5O190127TN364715T\",\"status\":\"CREATED\",\"links\":["
+                + "{\"href\":\"https://api-m.paypal.com/v2/checkout/orders/5O190127TN364715T\",\"rel\":\"self\",\"method\":\"GET\"},"
+                + "{\"href\":\"https://www.paypal.com/checkoutnow?token=5O190127TN364715T\",\"rel\":\"approve\",\"method\":\"GET\"},"
+                + "{\"href\":\"https://api-m.paypal.com/v2/checkout/orders/5O190127TN364715T\",\"rel\":\"update\",\"method\":\"PATCH\"},"
+                + "{\"href\":\"https://api-m.paypal.com/v2/checkout/orders/5O190127TN364715T/capture\",\"rel\":\"capture\",\"method\":\"POST\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+
+        captureResponse = ("{\"id\":\"5O190127TN364715T\",\"status\":\"COMPLETED\","
+                + "\"payment_source\":{\"paypal\":{\"name\":{\"given_name\":\"John\",\"surname\":\"Doe\"},"
+                + "\"email_address\":\"customer@example.com\",\"account_id\":\"QYR5Z8XDVJNXQ\"}},"
+                + "\"purchase_units\":[{\"reference_id\":\"d9f80740-38f0-11e8-b467-0ed5f89f718b\","
+                + "\"shipping\":{\"address\":{\"address_line_1\":\"2211 N First Street\",\"address_line_2\":\"Building 17\","
+                + "\"admin_area_2\":\"San Jose\",\"admin_area_1\":\"CA\",\"postal_code\":\"95131\",\"country_code\":\"US\"}},"
+                + "\"payments\":{\"captures\":[{\"id\":\"3C679366HH908993F\",\"status\":\"COMPLETED\","
+                + "\"amount\":{\"currency_code\":\"USD\",\"value\":\"100.00\"},"
+                + "\"seller_protection\":{\"status\":\"ELIGIBLE\",\"dispute_categories\":[\"ITEM_NOT_RECEIVED\",\"UNAUTHORIZED_TRANSACTION\"]},"
+                + "\"final_capture\":true,\"disbursement_mode\":\"INSTANT\","
+                + "\"seller_receivable_breakdown\":{\"gross_amount\":{\"currency_code\":\"USD\",\"value\":\"100.00\"},"
+                + "\"paypal_fee\":{\"currency_code\":\"USD\",\"value\":\"3.00\"},\"net_amount\":{\"currency_code\":\"USD\",\"value\":\"97.00\"}},"
+                + "\"create_time\":\"2018-04-01T21:20:49Z\",\"update_time\":\"2018-04-01T21:20:49Z\","
+                + "\"links\":[{\"href\":\"https://api-m.paypal.com/v2/payments/captures/3C679366HH908993F\",\"rel\":\"self\",\"method\":\"GET\"},"
+                + "{\"href\":\"https://api-m.paypal.com/v2/payments/captures/3C679366HH908993F/refund\",\"rel\":\"refund\",\"method\":\"POST\"}]}]}}],"
+                + "\"payer\":{\"name\":{\"given_name\":\"John\",\"surname\":\"Doe\"},\"email_address\":\"customer@example.com\",\"payer_id\":\"QYR5Z8XDVJNXQ\"},"
+                + "\"links\":[{\"href\":\"https://api-m.paypal.com/v2/checkout/orders/5O190127TN364715T\",\"rel\":\"self\",\"method\":\"GET\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] encodeOrderWithMaps() throws Exception {
+        Map<String, Object> orderRequest = new HashMap<>();
+        orderRequest.put("intent", "CAPTURE");
+
+        Map<String, Object> amountMap = new HashMap<>();
+        amountMap.put("currency_code", "USD");
+        amountMap.put("value", Double.valueOf(100.0).toString());
+
+        Map<String, Object> purchaseUnit = new HashMap<>();
+        purchaseUnit.put("amount", amountMap);
+        purchaseUnit.put("description", "Test Order");
+
+        orderRequest.put("purchase_units", new Object[]{purchaseUnit});
+        return MAPPER.writeValueAsBytes(orderRequest);
+    }
+
+    @Benchmark
+    public byte[] encodeOrderTyped() {
+        return PayPalJsonCodec.writeOrderRequest(PayPalPaymentService.buildOrderRequest(AMOUNT, "Test Order"));
+    }
+
+    @Benchmark
+    public Object decodeOrderWithMap() throws Exception {
+        return MAPPER.readValue(orderResponse, Map.class).get("id");
+    }
+
+    @Benchmark
+    public Object decodeOrderStreaming() {
+        return PayPalJsonCodec.readOrder(DefaultDataBufferFactory.sharedInstance.wrap(orderResponse)).getId();
+    }
+
+    @Benchmark
+    public Object decodeCaptureWithMap() throws Exception {
+        return MAPPER.readValue(captureResponse, Map.class).get("status");
+    }
+
+    @Benchmark
+    public Object decodeCaptureStreaming() {
+        return PayPalJsonCodec.readCapture(DefaultDataBufferFactory.sharedInstance.wrap(captureResponse));
+    }
+}
@@ -0,0 +1,87 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full gateway calls of {@link PayPalPaymentService} (token lookup, request building, WebClient pipeline and
+ * response decoding) against an in-process exchange function that answers with canned PayPal responses.
+ * No network is involved; the JSON writer and reader alone are covered by {@link PayPalJsonCodecBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayPalPaymentServiceBenchmark {
+
+    private static final Money AMOUNT = Money.parse("100.00", "USD");
+    private static final String ORDER_ID = "5O190127TN364715T";
+
+    private static final String TOKEN_RESPONSE =
+            "{\"scope\":\"https://uri.paypal.com/services/payments/payment\",\"access_token\":\"A21AAFEpH4PsADK7qSS7pSRsgzfENtu\","
+                    + "\"token_type\":\"Bearer\",\"app_id\":\"APP-80W284485P519543T\",\"expires_in\":32400,\"nonce\":\"2024-01-01T00:00:00Z\"}";
+    private static final String ORDER_RESPONSE =
+            "{\"id\":\"" + ORDER_ID + "\",\"status\":\"CREATED\",\"links\":["
+                    + "{\"href\":\"https://api-m.paypal.com/v2/checkout/orders/" + ORDER_ID + "\",\"rel\":\"self\",\"method\":\"GET\"},"
+                    + "{\"href\":\"https://www.paypal.com/checkoutnow?token=" + ORDER_ID + "\",\"rel\":\"approve\",\"method\":\"GET\"}]}";
+    private static final String CAPTURE_RESPONSE =
+            "{\"id\":\"" + ORDER_ID + "\",\"status\":\"COMPLETED\",\"purchase_units\":[{\"payments\":{\"captures\":["
+                    + "{\"id\":\"3C679366HH908993F\",\"status\":\"COMPLETED\",\"amount\":{\"currency_code\":\"USD\",\"value\":\"100.00\"}}]}}]}";
+
+    private PayPalPaymentService paymentService;
+
+    @Setup
+    public void setUp() {
+        WebClient.Builder webClientBuilder = WebClient.builder()
+                .exchangeFunction(PayPalPaymentServiceBenchmark::respond);
+        paymentService = new PayPalPaymentService(webClientBuilder, "client-id", "client-secret", "http://paypal.stub");
+        // 토큰은 한 번 받아 두고 캐시된 경로만 잰다
+        paymentService.getTokenManager().getToken().block();
+    }
+
+    @Benchmark
+    public String createOrder() {
+        return paymentService.createOrder(AMOUNT, "Test Order").block();
+    }
+
+    @Benchmark
+    public String createOrderWithRequestId() {
+        return paymentService.createOrder(AMOUNT, "Test Order", "KEY-123").block();
+    }
+
+    @Benchmark
+    public Boolean capturePayment() {
+        return paymentService.capturePayment(ORDER_ID).block();
+    }
+
+    private static Mono<ClientResponse> respond(ClientRequest request) {
+        String path = request.url().getPath();
+        String body = path.endsWith("/token") ? TOKEN_RESPONSE
+                : path.endsWith("/capture") ? CAPTURE_RESPONSE
+                : ORDER_RESPONSE;
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
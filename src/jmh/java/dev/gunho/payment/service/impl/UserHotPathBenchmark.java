@@ -0,0 +1,103 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.dto.UserPayload;
+import dev.gunho.payment.model.entity.Status;
+import dev.gunho.payment.model.entity.UserEntity;
+import dev.gunho.payment.model.mapper.UserMapper;
+import dev.gunho.payment.repository.UserRepository;
+import dev.gunho.payment.util.IdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request user work on the payment path: payKey generation, the MapStruct mapper, and payKey validation
+ * served from {@link UserCache}. The repository is an in-memory stub, so only our own code is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserHotPathBenchmark {
+
+    private static final String USER_ID = "testUser123";
+    private static final String PAY_KEY = "0h2k5v8x1c3m9";
+
+    private final UserMapper userMapper = UserMapper.INSTANCE;
+    private UserServiceImpl userService;
+    private AuthServiceImpl authService;
+    private UserEntity user;
+    private UserPayload.Request request;
+
+    @Setup
+    public void setUp() {
+        user = UserEntity.builder()
+                .idx(1L)
+                .userId(USER_ID)
+                .status(Status.ACTIVE)
+                .payKey(PAY_KEY)
+                .regDate(LocalDateTime.now())
+                .build();
+        request = UserPayload.Request.builder()
+                .userId(USER_ID)
+                .build();
+
+        UserRepository userRepository = stubRepository(Map.of(USER_ID, user));
+        UserCache userCache = new UserCache(userRepository, 100_000, Duration.ofHours(1), Duration.ofSeconds(5));
+        userService = new UserServiceImpl(userRepository, null, userMapper, userCache, null, null,
+                new IdGenerator(1, IdGenerator.Encoding.BASE32));
+        authService = new AuthServiceImpl(userRepository, userCache);
+        // 캐시를 채워 두고 적중 경로만 잰다
+        authService.validatePayKey(USER_ID, PAY_KEY).block();
+    }
+
+    @Benchmark
+    public String getPayKey() {
+        return userService.getPayKey();
+    }
+
+    @Benchmark
+    public UserPayload.Response toDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public UserEntity toEntity() {
+        return userMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Boolean validatePayKey() {
+        return authService.validatePayKey(USER_ID, PAY_KEY).block();
+    }
+
+    // 실제로 쓰는 조회 메서드만 응답하는 저장소 대역
+    private static UserRepository stubRepository(Map<String, UserEntity> users) {
+        return (UserRepository) Proxy.newProxyInstance(UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUserId" -> Mono.justOrEmpty(users.get((String) args[0]));
+                    case "existsByUserId" -> Mono.just(users.containsKey((String) args[0]));
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "StubUserRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,60 @@
+package dev.gunho.payment.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the payKey format UserServiceImpl used to build (formatted timestamp plus 3 hex digits
+ * of a random UUID) with {@link IdGenerator}, single threaded and with 8 threads contending.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator generator = new IdGenerator(1, IdGenerator.Encoding.BASE32);
+
+    @Benchmark
+    public String legacyPayKey() {
+        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")) +
+                UUID.randomUUID().toString().replace("-", "").substring(2, 5);
+    }
+
+    @Benchmark
+    public long snowflakeId() {
+        return generator.nextId();
+    }
+
+    @Benchmark
+    public String snowflakeBase32() {
+        return generator.nextString();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String legacyPayKeyContended() {
+        return legacyPayKey();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeBase32Contended() {
+        return generator.nextString();
+    }
+}
@@ -0,0 +1,284 @@
+package dev.gunho.payment.loadtest;
+
+import dev.gunho.payment.PaymentApplication;
+import dev.gunho.payment.stub.LatencyDistribution;
+import dev.gunho.payment.stub.PayPalStubServer;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.ByteBufFlux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drives {@code POST /user}, {@code POST /payments/orders} and {@code POST /payments/capture} at fixed arrival
+ * rates and writes HdrHistogram reports.
+ * <p>
+ * Unless {@code loadtest.target-url} is set, the application is started in-process with the {@code loadtest}
+ * profile against an in-memory H2 database (MariaDB mode) and the embedded PayPal stub, so a run needs nothing
+ * else. The scenarios run together for the warmup and then the measured duration. Each scenario writes
+ * {@code <name>.hgrm} (percentiles in ms) and {@code <name>.hlog} (one histogram per second), and the run
+ * writes {@code summary.txt} and {@code summary.json}.
+ * <p>
+ * Settings are system properties: {@code loadtest.user.rate}, {@code loadtest.orders.rate},
+ * {@code loadtest.capture.rate} (requests per second), {@code loadtest.warmup}, {@code loadtest.duration},
+ * {@code loadtest.max-in-flight}, {@code loadtest.connections}, {@code loadtest.report-dir},
+ * {@code loadtest.target-url}, and {@code stub.latency.median-ms}, {@code stub.latency.p99-ms},
+ * {@code stub.error-rate} for the gateway stub.
+ */
+public class LoadTestRunner {
+
+    private static final Pattern ORDER_ID = Pattern.compile("\"orderId\"\\s*:\\s*\"([^\"]+)\"");
+    private static final String ORDER_BODY =
+            "{\"amount\":100.00,\"currency\":\"USD\",\"description\":\"Load test order\",\"userId\":\"loadtest\"}";
+
+    private final double userRate = rate("loadtest.user.rate", 200);
+    private final double ordersRate = rate("loadtest.orders.rate", 200);
+    private final double captureRate = rate("loadtest.capture.rate", 100);
+    private final Duration warmup = duration("loadtest.warmup", "10s");
+    private final Duration duration = duration("loadtest.duration", "60s");
+    private final int maxInFlight = Integer.getInteger("loadtest.max-in-flight", 2_000);
+    private final int connections = Integer.getInteger("loadtest.connections", 500);
+    private final Path reportDir = Path.of(System.getProperty("loadtest.report-dir", "build/reports/loadtest"))
+            .resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong userSequence = new AtomicLong();
+    private final Queue<String> capturableOrders = new ConcurrentLinkedQueue<>();
+
+    private HttpClient client;
+
+    public static void main(String[] args) throws Exception {
+        new LoadTestRunner().run();
+        // 내장 애플리케이션과 대역 서버의 스레드가 남지 않도록 명시적으로 종료한다
+        System.exit(0);
+    }
+
+    void run() throws Exception {
+        Files.createDirectories(reportDir);
+        String targetUrl = System.getProperty("loadtest.target-url");
+
+        PayPalStubServer stub = null;
+        ConfigurableApplicationContext app = null;
+        if (targetUrl == null) {
+            stub = startStub();
+            app = startApplication(stub.getBaseUrl());
+            targetUrl = "http://127.0.0.1:" + ((WebServerApplicationContext) app).getWebServer().getPort();
+        }
+
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("loadtest")
+                .maxConnections(connections)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        client = HttpClient.create(connectionProvider)
+                .baseUrl(targetUrl)
+                .headers(headers -> headers.set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON));
+        Scheduler timer = Schedulers.newSingle("loadtest-timer");
+
+        try {
+            System.out.printf("Target %s, reports in %s%n", targetUrl, reportDir.toAbsolutePath());
+            prepareOrders((long) Math.ceil(captureRate * (warmup.toSeconds() + duration.toSeconds()) * 1.1));
+
+            List<ScenarioStats> scenarios = List.of(
+                    new ScenarioStats("user"),
+                    new ScenarioStats("orders"),
+                    new ScenarioStats("capture"));
+            List<OpenLoadGenerator> generators = List.of(
+                    new OpenLoadGenerator(scenarios.get(0), this::createUser, userRate, maxInFlight, timer),
+                    new OpenLoadGenerator(scenarios.get(1), this::createOrder, ordersRate, maxInFlight, timer),
+                    new OpenLoadGenerator(scenarios.get(2), this::capture, captureRate, maxInFlight, timer));
+
+            List<Disposable> running = new ArrayList<>();
+            generators.forEach(generator -> running.add(generator.start(warmup.plus(duration))));
+
+            System.out.printf("Warming up for %s%n", warmup);
+            Thread.sleep(warmup.toMillis());
+            long measureStart = System.currentTimeMillis();
+            for (ScenarioStats scenario : scenarios) {
+                scenario.startMeasuring(reportDir, measureStart);
+            }
+            Disposable intervals = Flux.interval(Duration.ofSeconds(1), timer)
+                    .subscribe(tick -> scenarios.forEach(ScenarioStats::rollInterval));
+
+            System.out.printf("Measuring for %s%n", duration);
+            Thread.sleep(duration.toMillis());
+            running.forEach(Disposable::dispose);
+            awaitInFlight(generators, Duration.ofSeconds(30));
+            intervals.dispose();
+
+            for (ScenarioStats scenario : scenarios) {
+                scenario.writeReport(reportDir);
+            }
+            writeSummary(scenarios, Map.of("user", userRate, "orders", ordersRate, "capture", captureRate));
+        } finally {
+            timer.dispose();
+            connectionProvider.disposeLater().block(Duration.ofSeconds(10));
+            if (app != null) {
+                app.close();
+            }
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    private static PayPalStubServer startStub() {
+        PayPalStubServer stub = PayPalStubServer.start();
+        long medianMs = Long.getLong("stub.latency.median-ms", 0L);
+        if (medianMs > 0) {
+            long p99Ms = Long.getLong("stub.latency.p99-ms", medianMs * 4);
+            stub.latency(LatencyDistribution.logNormal(Duration.ofMillis(medianMs), Duration.ofMillis(p99Ms)));
+        }
+        return stub.errorRate(Double.parseDouble(System.getProperty("stub.error-rate", "0")));
+    }
+
+    private static ConfigurableApplicationContext startApplication(String gatewayUrl) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        // H2를 MariaDB 모드로 띄워 schema.sql을 그대로 쓴다 (user는 H2 예약어라 풀어 준다)
+        properties.put("spring.r2dbc.url",
+                "r2dbc:h2:mem:///loadtest;MODE=MariaDB;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER;DB_CLOSE_DELAY=-1");
+        properties.put("spring.r2dbc.username", "sa");
+        properties.put("spring.r2dbc.password", "");
+        properties.put("spring.sql.init.mode", "always");
+        properties.put("api.paypal.base-url", gatewayUrl);
+        // 캡처 작업 선점 쿼리(UPDATE ... ORDER BY ... LIMIT)는 MariaDB 전용이고, 시나리오는 동기 캡처만 쓴다
+        properties.put("payment.capture.worker.enabled", false);
+        properties.put("spring.main.banner-mode", "off");
+
+        return new SpringApplicationBuilder(PaymentApplication.class)
+                .profiles("loadtest")
+                .properties(properties)
+                .run();
+    }
+
+    /**
+     * Creates the orders the capture scenario will capture, one per capture request.
+     */
+    private void prepareOrders(long count) {
+        if (count <= 0) {
+            return;
+        }
+        System.out.printf("Creating %d orders for the capture scenario%n", count);
+        Flux.range(0, (int) Math.min(count, Integer.MAX_VALUE))
+                .flatMap(i -> post("/payments/orders", ORDER_BODY)
+                        .mapNotNull(response -> {
+                            Matcher matcher = ORDER_ID.matcher(response);
+                            return matcher.find() ? matcher.group(1) : null;
+                        }), 64)
+                .doOnNext(capturableOrders::add)
+                .blockLast();
+    }
+
+    private Mono<Integer> createUser() {
+        return status("/user", "{\"userId\":\"lt-" + runId + "-" + userSequence.incrementAndGet() + "\"}");
+    }
+
+    private Mono<Integer> createOrder() {
+        return status("/payments/orders", ORDER_BODY);
+    }
+
+    private Mono<Integer> capture() {
+        String orderId = capturableOrders.poll();
+        if (orderId == null) {
+            return Mono.error(new IllegalStateException("No orders left to capture"));
+        }
+        return status("/payments/capture", "{\"orderId\":\"" + orderId + "\",\"userId\":\"loadtest\"}");
+    }
+
+    private Mono<Integer> status(String uri, String body) {
+        return client.post()
+                .uri(uri)
+                .send(ByteBufFlux.fromString(Mono.just(body)))
+                // 커넥션을 재사용할 수 있도록 본문을 끝까지 읽는다
+                .responseSingle((response, content) -> content.then(Mono.just(response.status().code())));
+    }
+
+    private Mono<String> post(String uri, String body) {
+        return client.post()
+                .uri(uri)
+                .send(ByteBufFlux.fromString(Mono.just(body)))
+                .responseSingle((response, content) -> content.asString());
+    }
+
+    private static void awaitInFlight(List<OpenLoadGenerator> generators, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (generators.stream().anyMatch(generator -> generator.getInFlight() > 0) && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void writeSummary(List<ScenarioStats> scenarios, Map<String, Double> rates) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT,
+                "%-8s %9s %9s %9s %9s %9s %9s %9s %8s %8s%n",
+                "scenario", "target/s", "actual/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "dropped"));
+        List<String> json = new ArrayList<>();
+
+        for (ScenarioStats scenario : scenarios) {
+            Histogram latency = scenario.getTotal();
+            double actualRate = scenario.getCompletedCount() / seconds;
+            text.append(String.format(Locale.ROOT,
+                    "%-8s %9.1f %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %7.3f%% %8d%n",
+                    scenario.getName(), rates.get(scenario.getName()), actualRate,
+                    millis(latency, 50.0), millis(latency, 90.0), millis(latency, 99.0), millis(latency, 99.9),
+                    latency.getMaxValue() / 1000.0, scenario.getErrorRate() * 100, scenario.getDroppedCount()));
+            json.add(String.format(Locale.ROOT,
+                    "{\"scenario\":\"%s\",\"targetRate\":%.1f,\"actualRate\":%.1f,\"count\":%d,"
+                            + "\"p50Ms\":%.3f,\"p90Ms\":%.3f,\"p99Ms\":%.3f,\"p999Ms\":%.3f,\"maxMs\":%.3f,"
+                            + "\"success\":%d,\"clientErrors\":%d,\"serverErrors\":%d,\"ioErrors\":%d,\"dropped\":%d,\"errorRate\":%.6f}",
+                    scenario.getName(), rates.get(scenario.getName()), actualRate, latency.getTotalCount(),
+                    millis(latency, 50.0), millis(latency, 90.0), millis(latency, 99.0), millis(latency, 99.9),
+                    latency.getMaxValue() / 1000.0, scenario.getSuccessCount(), scenario.getClientErrorCount(),
+                    scenario.getServerErrorCount(), scenario.getIoErrorCount(), scenario.getDroppedCount(),
+                    scenario.getErrorRate()));
+        }
+
+        System.out.print(text);
+        Files.writeString(reportDir.resolve("summary.txt"), text);
+        try (PrintStream out = new PrintStream(reportDir.resolve("summary.json").toFile())) {
+            out.printf(Locale.ROOT, "{\"warmupSeconds\":%d,\"durationSeconds\":%d,\"scenarios\":[%s]}%n",
+                    warmup.toSeconds(), duration.toSeconds(), String.join(",", json));
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private static double rate(String key, double defaultValue) {
+        String value = System.getProperty(key);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(key, defaultValue));
+    }
+}
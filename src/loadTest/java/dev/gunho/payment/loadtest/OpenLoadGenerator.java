@@ -0,0 +1,90 @@
+package dev.gunho.payment.loadtest;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load: requests are started at a constant arrival rate whatever the server's response time,
+ * the way independent clients arrive in production. A closed loop of virtual users would slow down with
+ * the server and under-report its latency.
+ * <p>
+ * A timer ticks every millisecond and starts every request whose scheduled time has passed. A request that
+ * would exceed the in-flight limit is counted as dropped instead of delaying the schedule.
+ */
+public class OpenLoadGenerator {
+
+    private static final Duration TICK = Duration.ofMillis(1);
+
+    private final ScenarioStats stats;
+    private final Supplier<Mono<Integer>> request;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final Scheduler timer;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param stats Where results are recorded
+     * @param request Sends one request and returns its HTTP status (0 for a transport error)
+     * @param ratePerSecond Requests started per second
+     * @param maxInFlight Upper bound of requests waiting for a response
+     * @param timer Single-threaded scheduler that drives the schedule
+     */
+    public OpenLoadGenerator(ScenarioStats stats, Supplier<Mono<Integer>> request, double ratePerSecond,
+                             int maxInFlight, Scheduler timer) {
+        this.stats = stats;
+        this.request = request;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.timer = timer;
+    }
+
+    /**
+     * Starts sending requests until the duration has passed.
+     *
+     * @param duration How long to keep the arrival rate
+     * @return A handle that stops the schedule; requests in flight are left to complete
+     */
+    public Disposable start(Duration duration) {
+        if (ratePerSecond <= 0) {
+            return Flux.never().subscribe();
+        }
+        long startNanos = System.nanoTime();
+        long endNanos = startNanos + duration.toNanos();
+        double intervalNanos = 1_000_000_000.0 / ratePerSecond;
+        long[] scheduled = {0};
+
+        return Flux.interval(TICK, timer)
+                .onBackpressureDrop()
+                .takeWhile(tick -> System.nanoTime() < endNanos)
+                .subscribe(tick -> {
+                    long now = System.nanoTime();
+                    long due = (long) ((Math.min(now, endNanos) - startNanos) / intervalNanos);
+                    for (; scheduled[0] < due; scheduled[0]++) {
+                        send(startNanos + (long) (scheduled[0] * intervalNanos));
+                    }
+                });
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void send(long intendedStartNanos) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            stats.recordDropped(intendedStartNanos);
+            return;
+        }
+        Mono.defer(request)
+                .onErrorReturn(0)
+                .defaultIfEmpty(0)
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .subscribe(status -> stats.record(intendedStartNanos, status));
+    }
+}
@@ -0,0 +1,152 @@
+package dev.gunho.payment.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one scenario. Latencies are recorded in microseconds from the time a request was
+ * scheduled to be sent, not the time it was sent, so a slow server cannot hide its own queueing delay
+ * (coordinated omission).
+ */
+public class ScenarioStats {
+
+    static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    private Histogram interval;
+    private HistogramLogWriter logWriter;
+
+    // 측정 구간 시작 전에 예정된 요청(워밍업)은 기록하지 않는다
+    private volatile long measureFromNanos = Long.MAX_VALUE;
+
+    private final LongAdder success = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder ioErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Starts measuring: requests scheduled from now on are recorded, and each interval histogram is appended
+     * to an HdrHistogram log in the report directory.
+     */
+    public void startMeasuring(Path reportDir, long startEpochMillis) throws FileNotFoundException {
+        logWriter = new HistogramLogWriter(new PrintStream(reportDir.resolve(name + ".hlog").toFile()));
+        logWriter.outputLogFormatVersion();
+        logWriter.outputStartTime(startEpochMillis);
+        logWriter.setBaseTime(startEpochMillis);
+        logWriter.outputLegend();
+        recorder.reset();
+        measureFromNanos = System.nanoTime();
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param intendedStartNanos When the request was scheduled to be sent
+     * @param status The HTTP status, or 0 if the request failed without a response
+     */
+    public void record(long intendedStartNanos, int status) {
+        if (intendedStartNanos < measureFromNanos) {
+            return;
+        }
+        long micros = (System.nanoTime() - intendedStartNanos) / 1_000;
+        recorder.recordValue(Math.min(Math.max(micros, 0), HIGHEST_TRACKABLE_MICROS));
+        if (status == 0) {
+            ioErrors.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            success.increment();
+        }
+    }
+
+    /**
+     * Records a request that was not sent because the generator already had too many requests in flight.
+     */
+    public void recordDropped(long intendedStartNanos) {
+        if (intendedStartNanos >= measureFromNanos) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Moves the latencies recorded since the last call into the total and the interval log.
+     * Called once a second while measuring.
+     */
+    public synchronized void rollInterval() {
+        interval = recorder.getIntervalHistogram(interval);
+        total.add(interval);
+        if (logWriter != null) {
+            interval.setTag(name);
+            logWriter.outputIntervalHistogram(interval);
+        }
+    }
+
+    /**
+     * Writes the percentile distribution in milliseconds ({@code <name>.hgrm}) and closes the interval log.
+     */
+    public synchronized void writeReport(Path reportDir) throws FileNotFoundException {
+        rollInterval();
+        try (PrintStream out = new PrintStream(reportDir.resolve(name + ".hgrm").toFile())) {
+            total.outputPercentileDistribution(out, 1000.0);
+        }
+        if (logWriter != null) {
+            logWriter.close();
+        }
+    }
+
+    public Histogram getTotal() {
+        return total;
+    }
+
+    public long getSuccessCount() {
+        return success.sum();
+    }
+
+    public long getClientErrorCount() {
+        return clientErrors.sum();
+    }
+
+    public long getServerErrorCount() {
+        return serverErrors.sum();
+    }
+
+    public long getIoErrorCount() {
+        return ioErrors.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getCompletedCount() {
+        return success.sum() + clientErrors.sum() + serverErrors.sum() + ioErrors.sum();
+    }
+
+    /**
+     * Gets the fraction of scheduled requests that did not succeed, counting dropped ones.
+     */
+    public double getErrorRate() {
+        long attempted = getCompletedCount() + dropped.sum();
+        return attempted == 0 ? 0.0 : (double) (attempted - success.sum()) / attempted;
+    }
+}
@@ -0,0 +1,286 @@
+package dev.gunho.global.concurrency;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * Adaptive limit on the number of payment requests in flight, in the style of the gradient algorithm:
+ * the limit shrinks when recent latency rises above the long-term latency and grows again (by about
+ * the square root of the limit per window) while latency stays close to it.
+ * <p>
+ * Requests over the limit are rejected up front instead of queueing behind a slow upstream, so memory and
+ * tail latency stay bounded during a gateway brownout. Normal-priority requests may only use
+ * {@code normalShare} of the limit; the rest is kept for high-priority requests (captures, which settle
+ * money that is already authorized). Routes are written as {@code [METHOD] pattern}, e.g.
+ * {@code POST /payments/capture}; a route without a method matches any method. Requests matching neither list
+ * are not limited.
+ * <p>
+ * Latency samples are summed in striped adders; once per window one thread recomputes the limit.
+ */
+@Slf4j
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority {
+        HIGH,
+        NORMAL
+    }
+
+    private final boolean enabled;
+    private final List<Route> routes;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double normalShare;
+    private final double rttTolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final double longRttAlpha;
+    private final LongSupplier nanoClock;
+
+    private volatile double limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // 현재 윈도우의 지연시간 합계/건수와 최대 동시 요청 수
+    private final LongAdder windowRttSum = new LongAdder();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAccumulator windowMaxInFlight = new LongAccumulator(Long::max, 0L);
+    private final AtomicLong windowStart;
+    private volatile double shortRttNanos;
+    private volatile double longRttNanos;
+
+    private final LongAdder highShed = new LongAdder();
+    private final LongAdder normalShed = new LongAdder();
+
+    public AdaptiveConcurrencyLimiter(
+            @Value("${concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${concurrency-limit.high-priority-paths:POST /payments/capture}") List<String> highPriorityPaths,
+            @Value("${concurrency-limit.normal-priority-paths:/payments/orders,/user}") List<String> normalPriorityPaths,
+            @Value("${concurrency-limit.initial-limit:100}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${concurrency-limit.max-limit:1000}") int maxLimit,
+            @Value("${concurrency-limit.normal-share:0.8}") double normalShare,
+            @Value("${concurrency-limit.rtt-tolerance:2.0}") double rttTolerance,
+            @Value("${concurrency-limit.smoothing:0.2}") double smoothing,
+            @Value("${concurrency-limit.window:100ms}") Duration window,
+            @Value("${concurrency-limit.long-window-count:100}") int longWindowCount) {
+        this(enabled, highPriorityPaths, normalPriorityPaths, initialLimit, minLimit, maxLimit, normalShare,
+                rttTolerance, smoothing, window, longWindowCount, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(boolean enabled, List<String> highPriorityPaths, List<String> normalPriorityPaths,
+                               int initialLimit, int minLimit, int maxLimit, double normalShare,
+                               double rttTolerance, double smoothing, Duration window, int longWindowCount,
+                               LongSupplier nanoClock) {
+        this.enabled = enabled;
+        // 높은 우선순위를 먼저 검사한다
+        this.routes = Stream.concat(parse(highPriorityPaths, Priority.HIGH), parse(normalPriorityPaths, Priority.NORMAL))
+                .toList();
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.normalShare = normalShare;
+        this.rttTolerance = rttTolerance;
+        this.smoothing = smoothing;
+        this.windowNanos = window.toNanos();
+        this.longRttAlpha = 2.0 / (longWindowCount + 1);
+        this.nanoClock = nanoClock;
+        this.limit = Math.min(maxLimit, Math.max(minLimit, initialLimit));
+        this.windowStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Classifies a request by the first route it matches.
+     *
+     * @param method The request method
+     * @param path The request path within the application
+     * @return The matched route, or null if the request is not limited
+     */
+    public Route classify(String method, PathContainer path) {
+        if (!enabled) {
+            return null;
+        }
+        for (Route route : routes) {
+            if (route.matches(method, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tries to start a request. Every successful call must be followed by {@link #release(long, boolean)}.
+     *
+     * @param priority The request priority
+     * @return true if the request may proceed, false if it should be shed
+     */
+    public boolean tryAcquire(Priority priority) {
+        double allowed = priority == Priority.HIGH ? limit : limit * normalShare;
+        for (;;) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                (priority == Priority.HIGH ? highShed : normalShed).increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                windowMaxInFlight.accumulate(current + 1);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends a request started with {@link #tryAcquire(Priority)}.
+     *
+     * @param rttNanos How long the request took
+     * @param sample Whether the latency says something about our capacity (false for cancelled requests)
+     */
+    public void release(long rttNanos, boolean sample) {
+        inFlight.decrementAndGet();
+        if (sample) {
+            windowRttSum.add(rttNanos);
+            windowSamples.increment();
+        }
+        long now = nanoClock.getAsLong();
+        long start = windowStart.get();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            update();
+        }
+    }
+
+    private synchronized void update() {
+        long samples = windowSamples.sumThenReset();
+        long rttSum = windowRttSum.sumThenReset();
+        long maxInFlight = windowMaxInFlight.getThenReset();
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRtt = (double) rttSum / samples;
+        double longRtt = longRttNanos == 0 ? shortRtt : longRttNanos * (1 - longRttAlpha) + shortRtt * longRttAlpha;
+        // 지연이 크게 줄었으면 장기 평균도 빨리 따라 내려가게 한다 (급등 이후 회복)
+        if (longRtt / shortRtt > 2) {
+            longRtt *= 0.95;
+        }
+        shortRttNanos = shortRtt;
+        longRttNanos = longRtt;
+
+        double current = limit;
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRtt / shortRtt));
+        double newLimit = current * gradient + Math.sqrt(current);
+        // 한도의 절반도 쓰지 않았다면 늘리지 않는다: 부하 없이 한도만 커지는 것을 막는다
+        if (maxInFlight < current / 2) {
+            newLimit = Math.min(newLimit, current);
+        }
+        newLimit = current * (1 - smoothing) + newLimit * smoothing;
+        newLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        if ((int) newLimit != (int) current) {
+            log.debug("Concurrency limit {} -> {} (short rtt {} ms, long rtt {} ms)",
+                    (int) current, (int) newLimit, shortRtt / 1_000_000, longRtt / 1_000_000);
+        }
+        limit = newLimit;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getShedCount(Priority priority) {
+        return (priority == Priority.HIGH ? highShed : normalShed).sum();
+    }
+
+    /**
+     * Gets the current limit, load and latency estimates.
+     */
+    public Snapshot snapshot() {
+        return Snapshot.builder()
+                .enabled(enabled)
+                .limit(getLimit())
+                .inFlight(inFlight.get())
+                .shortRttMillis(shortRttNanos / 1_000_000)
+                .longRttMillis(longRttNanos / 1_000_000)
+                .highPriorityShed(highShed.sum())
+                .normalPriorityShed(normalShed.sum())
+                .build();
+    }
+
+    private static Stream<Route> parse(List<String> specs, Priority priority) {
+        return specs.stream()
+                .filter(spec -> !spec.isBlank())
+                .map(spec -> Route.parse(spec, priority));
+    }
+
+    /**
+     * A limited route: an optional HTTP method, a path pattern and the priority of the requests it matches.
+     */
+    @Getter
+    public static class Route {
+        /** HTTP method, or null for any method. */
+        private final String method;
+        private final PathPattern pattern;
+        private final Priority priority;
+
+        Route(String method, PathPattern pattern, Priority priority) {
+            this.method = method;
+            this.pattern = pattern;
+            this.priority = priority;
+        }
+
+        /**
+         * Parses a route written as {@code [METHOD] pattern}.
+         *
+         * @throws IllegalArgumentException If the text is malformed
+         */
+        static Route parse(String spec, Priority priority) {
+            String[] parts = spec.trim().split("\\s+");
+            if (parts.length > 2) {
+                throw new IllegalArgumentException("Expected '[METHOD] pattern': " + spec);
+            }
+            String method = parts.length == 2 ? parts[0].toUpperCase() : null;
+            return new Route(method, PathPatternParser.defaultInstance.parse(parts[parts.length - 1]), priority);
+        }
+
+        boolean matches(String requestMethod, PathContainer path) {
+            return (method == null || method.equals(requestMethod)) && pattern.matches(path);
+        }
+
+        /**
+         * Names a request matched by this route the way request metrics name routes, e.g. {@code POST /payments/capture}.
+         *
+         * @param requestMethod The request method
+         * @return The route name
+         */
+        public String nameFor(String requestMethod) {
+            return requestMethod + " " + pattern.getPatternString();
+        }
+    }
+
+    @Getter
+    @Builder
+    public static class Snapshot {
+        private boolean enabled;
+        private int limit;
+        private int inFlight;
+        private double shortRttMillis;
+        private double longRttMillis;
+        private long highPriorityShed;
+        private long normalPriorityShed;
+    }
+}
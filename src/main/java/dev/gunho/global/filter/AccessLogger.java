@@ -0,0 +1,176 @@
+package dev.gunho.global.filter;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sampled, asynchronous access log.
+ * Request threads only roll the sampling dice and enqueue a small entry; formatting and the actual logging
+ * happen on a dedicated background thread. When the queue is full, entries are dropped and counted.
+ * Failed requests (a 5xx status, including unhandled errors) are never sampled out. They go through a separate
+ * queue that is written first on every flush, so that during an outage, when nearly every response fails,
+ * the request threads still never block on the appender. Errors that do not fit are dropped and counted too.
+ * Lines go to the {@code access} logger.
+ */
+@Component
+public class AccessLogger {
+
+    private static final Logger ACCESS = LoggerFactory.getLogger("access");
+
+    private final double sampleRate;
+    private final int queueCapacity;
+    private final Duration flushInterval;
+
+    private final Queue<Entry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Entry> errorQueue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queuedErrors = new AtomicInteger();
+    private volatile Scheduler scheduler;
+    private volatile Disposable flushJob;
+
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder droppedErrors = new LongAdder();
+
+    public AccessLogger(
+            @Value("${http.access-log.sample-rate:0.01}") double sampleRate,
+            @Value("${http.access-log.queue-capacity:10000}") int queueCapacity,
+            @Value("${http.access-log.flush-interval:200ms}") Duration flushInterval) {
+        this.sampleRate = sampleRate;
+        this.queueCapacity = queueCapacity;
+        this.flushInterval = flushInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (flushJob != null) {
+            return;
+        }
+        scheduler = Schedulers.newSingle("access-log", true);
+        flushJob = Flux.interval(flushInterval, scheduler)
+                .onBackpressureDrop()
+                .subscribe(tick -> flush());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = flushJob;
+        if (current != null) {
+            current.dispose();
+            flushJob = null;
+        }
+        if (scheduler != null) {
+            scheduler.dispose();
+            scheduler = null;
+        }
+        flush();
+    }
+
+    /**
+     * Logs a finished request, subject to sampling unless it failed with a server error.
+     *
+     * @param method The HTTP method
+     * @param path The request path
+     * @param status The response status code
+     * @param nanos The request duration
+     * @param error The error the request failed with, or null
+     */
+    public void log(String method, String path, int status, long nanos, Throwable error) {
+        if (status >= 500) {
+            errors.increment();
+            // 오류는 샘플링하지 않지만 요청 스레드에서 직접 쓰지도 않는다
+            if (queuedErrors.incrementAndGet() > queueCapacity) {
+                queuedErrors.decrementAndGet();
+                droppedErrors.increment();
+                return;
+            }
+            errorQueue.offer(new Entry(method, path, status, nanos, error));
+            return;
+        }
+        if (sampleRate <= 0.0 || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        if (queued.incrementAndGet() > queueCapacity) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return;
+        }
+        queue.offer(new Entry(method, path, status, nanos, null));
+    }
+
+    /**
+     * Writes out all queued entries, errors first. Called from the background thread.
+     */
+    void flush() {
+        Entry entry;
+        while ((entry = errorQueue.poll()) != null) {
+            queuedErrors.decrementAndGet();
+            ACCESS.error("{} {} {} {}us{}", entry.method, entry.path, entry.status, entry.nanos / 1_000,
+                    entry.error == null ? "" : " - " + entry.error);
+            logged.increment();
+        }
+        while ((entry = queue.poll()) != null) {
+            queued.decrementAndGet();
+            ACCESS.info("{} {} {} {}us", entry.method, entry.path, entry.status, entry.nanos / 1_000);
+            logged.increment();
+        }
+    }
+
+    public long getLoggedCount() {
+        return logged.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getDroppedErrorCount() {
+        return droppedErrors.sum();
+    }
+
+    public int getQueuedCount() {
+        return queued.get();
+    }
+
+    public int getQueuedErrorCount() {
+        return queuedErrors.get();
+    }
+
+    private static final class Entry {
+
+        private final String method;
+        private final String path;
+        private final int status;
+        private final long nanos;
+        private final Throwable error;
+
+        private Entry(String method, String path, int status, long nanos, Throwable error) {
+            this.method = method;
+            this.path = path;
+            this.status = status;
+            this.nanos = nanos;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package dev.gunho.global.filter;
+
+import io.netty.util.NetUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Picks the key a request is rate limited under.
+ * Authenticated requests are keyed by their user ({@code user:<name>}); everything else by the client IP
+ * ({@code ip:<address>}).
+ * <p>
+ * Behind a load balancer the peer address is the balancer, so every client would share one bucket. When the
+ * peer is one of {@code http.trusted-proxies} (IP addresses or CIDR ranges), {@code X-Forwarded-For} is read
+ * from right to left and the first address that is not a trusted proxy is the client. Entries left of that are
+ * written by the client and ignored, so a client cannot pick its own bucket. Requests from any other peer
+ * are keyed by the peer address and their forwarded headers are ignored.
+ * <p>
+ * Leave {@code server.forward-headers-strategy} at {@code none}: the native and framework strategies rewrite
+ * the remote address from the headers of any peer, trusted or not.
+ */
+@Component
+public class ClientKeyResolver {
+
+    static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private static final String UNKNOWN = "ip:unknown";
+
+    private final List<Cidr> trustedProxies;
+
+    public ClientKeyResolver(@Value("${http.trusted-proxies:}") List<String> trustedProxies) {
+        List<Cidr> ranges = new ArrayList<>();
+        for (String proxy : trustedProxies) {
+            if (StringUtils.hasText(proxy)) {
+                ranges.add(Cidr.parse(proxy.trim()));
+            }
+        }
+        this.trustedProxies = List.copyOf(ranges);
+    }
+
+    /**
+     * Resolves the rate limit key of a request.
+     *
+     * @param exchange The current exchange
+     * @return A Mono containing the userId key once authenticated, otherwise the client IP key
+     */
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .filter(StringUtils::hasText)
+                .map(name -> "user:" + name)
+                .defaultIfEmpty(ipKey(exchange.getRequest()));
+    }
+
+    String ipKey(ServerHttpRequest request) {
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote == null || remote.getAddress() == null) {
+            return UNKNOWN;
+        }
+        String client = remote.getAddress().getHostAddress();
+        if (trustedProxies.isEmpty() || !isTrusted(NetUtil.createByteArrayFromIpAddressString(client))) {
+            return "ip:" + client;
+        }
+        // 오른쪽 끝이 가장 가까운 프록시가 기록한 값이다. 신뢰하는 프록시를 지나 처음 만나는 주소가 클라이언트다
+        List<String> hops = request.getHeaders().getValuesAsList(X_FORWARDED_FOR);
+        for (int i = hops.size() - 1; i >= 0; i--) {
+            String hop = hops.get(i).trim();
+            byte[] address = NetUtil.createByteArrayFromIpAddressString(hop);
+            if (address == null) {
+                // 주소가 아닌 값이 섞여 있으면 그 앞은 믿을 수 없으므로 마지막으로 확인한 주소를 쓴다
+                break;
+            }
+            client = hop;
+            if (!isTrusted(address)) {
+                break;
+            }
+        }
+        return "ip:" + client;
+    }
+
+    private boolean isTrusted(byte[] address) {
+        if (address == null) {
+            return false;
+        }
+        for (Cidr range : trustedProxies) {
+            if (range.contains(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * An IPv4 or IPv6 range; a bare address is a range of one.
+     */
+    private static final class Cidr {
+
+        private final byte[] network;
+        private final int prefixLength;
+
+        private Cidr(byte[] network, int prefixLength) {
+            this.network = network;
+            this.prefixLength = prefixLength;
+        }
+
+        static Cidr parse(String value) {
+            int slash = value.indexOf('/');
+            String host = slash < 0 ? value : value.substring(0, slash);
+            // 호스트 이름은 DNS 조회가 필요하고 바뀔 수 있으므로 받지 않는다
+            byte[] network = NetUtil.createByteArrayFromIpAddressString(host);
+            if (network == null) {
+                throw new IllegalArgumentException("Invalid trusted proxy address: " + value);
+            }
+            int prefixLength = network.length * 8;
+            if (slash >= 0) {
+                try {
+                    prefixLength = Integer.parseInt(value.substring(slash + 1));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value, e);
+                }
+                if (prefixLength < 0 || prefixLength > network.length * 8) {
+                    throw new IllegalArgumentException("Invalid trusted proxy prefix: " + value);
+                }
+            }
+            return new Cidr(network, prefixLength);
+        }
+
+        boolean contains(byte[] address) {
+            if (address.length != network.length) {
+                return false;
+            }
+            int fullBytes = prefixLength / 8;
+            for (int i = 0; i < fullBytes; i++) {
+                if (address[i] != network[i]) {
+                    return false;
+                }
+            }
+            int remainingBits = prefixLength % 8;
+            if (remainingBits == 0) {
+                return true;
+            }
+            int mask = 0xFF << (8 - remainingBits);
+            return (address[fullBytes] & mask) == (network[fullBytes] & mask);
+        }
+    }
+}
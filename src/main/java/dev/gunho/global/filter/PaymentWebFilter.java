@@ -1,31 +1,150 @@
 package dev.gunho.global.filter;
 
-import lombok.extern.slf4j.Slf4j;
+import dev.gunho.global.concurrency.AdaptiveConcurrencyLimiter;
+import dev.gunho.global.metrics.RequestMetrics;
+import dev.gunho.global.ratelimit.RateLimiter;
+import dev.gunho.global.timing.StageTimings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.Context;
 
 /**
  * Web filter for payment-related requests.
- * This filter logs all incoming requests and could be extended to implement
- * authentication, authorization, rate limiting, etc.
+ * It rate limits each client (see {@link ClientKeyResolver}).
+ * A client over its limit gets 429 with {@code Retry-After}.
+ * Payment requests are shed with 503 when the adaptive concurrency limit is reached.
+ * Both rejections happen before routing, so they are recorded under the pattern of the rule that rejected them.
+ * Every other request is timed into per-route latency histograms and status counters.
+ * Per-stage timings are collected through the Reactor context.
+ * They are reported in a {@code Server-Timing} header unless disabled.
+ * Finished requests go to the sampled access log; nothing is logged on the request thread.
+ * The filter could be extended to implement authentication, authorization, etc.
  */
-@Slf4j
 @Component
 public class PaymentWebFilter implements WebFilter {
 
+    // 응답이 끝나기 전에 클라이언트가 연결을 끊은 경우 (nginx 관례)
+    static final int CLIENT_CLOSED_REQUEST = 499;
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private final RequestMetrics requestMetrics;
+    private final AccessLogger accessLogger;
+    private final RateLimiter rateLimiter;
+    private final ClientKeyResolver clientKeyResolver;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final boolean serverTimingEnabled;
+
+    public PaymentWebFilter(RequestMetrics requestMetrics,
+                            AccessLogger accessLogger,
+                            RateLimiter rateLimiter,
+                            ClientKeyResolver clientKeyResolver,
+                            AdaptiveConcurrencyLimiter concurrencyLimiter,
+                            @Value("${http.server-timing.enabled:true}") boolean serverTimingEnabled) {
+        this.requestMetrics = requestMetrics;
+        this.accessLogger = accessLogger;
+        this.rateLimiter = rateLimiter;
+        this.clientKeyResolver = clientKeyResolver;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.serverTimingEnabled = serverTimingEnabled;
+    }
+
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        String path = exchange.getRequest().getPath().value();
-        String method = exchange.getRequest().getMethod().name();
+        long start = System.nanoTime();
+        return clientKeyResolver.resolve(exchange)
+                .flatMap(clientKey -> filter(exchange, chain, start, clientKey));
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain, long start, String clientKey) {
+        ServerHttpRequest request = exchange.getRequest();
+        String method = request.getMethod().name();
+        PathContainer path = request.getPath().pathWithinApplication();
+        long retryAfterNanos = rateLimiter.acquire(method, path, clientKey);
+        if (retryAfterNanos != RateLimiter.ALLOWED) {
+            exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+            // Retry-After는 초 단위 정수이므로 올림한다
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    Long.toString(Math.max(1L, (retryAfterNanos + 999_999_999L) / 1_000_000_000L)));
+            // 라우팅 전이므로 거절한 규칙의 패턴으로 묶는다 (503과 같은 방식)
+            complete(exchange, rateLimiter.routeName(method, path), start, null,
+                    HttpStatus.TOO_MANY_REQUESTS.value(), null);
+            return exchange.getResponse().setComplete();
+        }
 
-        log.info("Request: {} {}", method, path);
+        AdaptiveConcurrencyLimiter.Route limited = concurrencyLimiter.classify(method, path);
+        if (limited != null && !concurrencyLimiter.tryAcquire(limited.getPriority())) {
+            exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+            // 과부하 중에는 거절이 쏟아지므로 접근 로그 대신 지표로만 남긴다. 라우팅 전이므로 한도 규칙의 패턴으로 묶는다
+            requestMetrics.record(limited.nameFor(method), HttpStatus.SERVICE_UNAVAILABLE.value(), System.nanoTime() - start);
+            return exchange.getResponse().setComplete();
+        }
+
+        StageTimings timings = new StageTimings(start);
+        exchange.getResponse().beforeCommit(() -> {
+            long now = System.nanoTime();
+            timings.committed(now);
+            if (serverTimingEnabled) {
+                exchange.getResponse().getHeaders().set(SERVER_TIMING, timings.toServerTiming(now));
+            }
+            return Mono.empty();
+        });
 
         // Continue the filter chain
-        return chain.filter(exchange)
-                .doOnSuccess(v -> log.info("Response: {} {} - Success", method, path))
-                .doOnError(e -> log.error("Response: {} {} - Error: {}", method, path, e.getMessage()));
+        Mono<Void> result = chain.filter(exchange)
+                .doOnSuccess(v -> complete(exchange, start, timings, statusOf(exchange, 200), null))
+                .doOnError(e -> complete(exchange, start, timings, statusOf(e), e))
+                .doOnCancel(() -> complete(exchange, start, timings, CLIENT_CLOSED_REQUEST, null))
+                .contextWrite(Context.of(StageTimings.class, timings));
+        if (limited == null) {
+            return result;
+        }
+        // 취소된 요청의 소요 시간은 처리 용량과 무관하므로 한도 계산에 쓰지 않는다
+        return result.doFinally(signal -> concurrencyLimiter.release(System.nanoTime() - start, signal != SignalType.CANCEL));
+    }
+
+    private void complete(ServerWebExchange exchange, long start, StageTimings timings, int status, Throwable error) {
+        complete(exchange, routeOf(exchange, exchange.getRequest().getMethod().name()), start, timings, status, error);
+    }
+
+    private void complete(ServerWebExchange exchange, String route, long start, StageTimings timings, int status,
+                          Throwable error) {
+        long nanos = System.nanoTime() - start;
+        String method = exchange.getRequest().getMethod().name();
+        requestMetrics.record(route, status, nanos);
+        if (timings != null) {
+            requestMetrics.recordStages(timings);
+        }
+        accessLogger.log(method, exchange.getRequest().getPath().value(), status, nanos, error);
+    }
+
+    // 라우터가 매칭한 패턴으로 묶는다: 경로 변수마다 항목이 생기지 않게 한다
+    static String routeOf(ServerWebExchange exchange, String method) {
+        PathPattern pattern = exchange.getAttribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? RequestMetrics.UNMATCHED : method + " " + pattern.getPatternString();
+    }
+
+    private static int statusOf(ServerWebExchange exchange, int defaultStatus) {
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status == null ? defaultStatus : status.value();
+    }
+
+    // 오류는 필터 뒤의 예외 처리기에서 상태 코드로 바뀌므로 여기서 같은 규칙으로 추정한다
+    private static int statusOf(Throwable error) {
+        return error instanceof ResponseStatusException rse ? rse.getStatusCode().value() : 500;
     }
 }
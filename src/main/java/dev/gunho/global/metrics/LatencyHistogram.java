@@ -0,0 +1,131 @@
+package dev.gunho.global.metrics;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with log-linear (HDR-style) buckets in microseconds.
+ * Every power of two is split into 16 linear sub-buckets, so a recorded value is off by at most 1/16 (~6%)
+ * over the whole range from 1 microsecond to about 38 hours; values below 32 microseconds are exact.
+ * Counts are kept in per-thread-group stripes so that event loop threads recording at the same time
+ * do not contend on the same counters. Recording never allocates.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 36;
+    static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final int stripeMask;
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Long::max, 0L);
+
+    public LatencyHistogram() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public LatencyHistogram(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, Math.min(stripes, 64)) * 2 - 1);
+        this.stripeMask = size - 1;
+        this.counts = new AtomicLongArray(size * BUCKET_COUNT);
+    }
+
+    /**
+     * Records one latency.
+     *
+     * @param nanos The latency in nanoseconds
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(nanos / 1_000);
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.min(Math.max(micros, 0L), MAX_VALUE);
+        int stripe = (int) Thread.currentThread().getId() & stripeMask;
+        counts.incrementAndGet(stripe * BUCKET_COUNT + bucketIndex(value));
+        totalMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    /**
+     * Takes a snapshot of everything recorded so far. Recording may continue while the snapshot is taken,
+     * so the counts are consistent only to within the requests in flight.
+     *
+     * @return The snapshot
+     */
+    public Snapshot snapshot() {
+        long[] merged = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                merged[i % BUCKET_COUNT] += c;
+                count += c;
+            }
+        }
+        return Snapshot.builder()
+                .count(count)
+                .meanMicros(count == 0 ? 0.0 : (double) totalMicros.sum() / count)
+                .p50Micros(valueAtQuantile(merged, count, 0.50))
+                .p90Micros(valueAtQuantile(merged, count, 0.90))
+                .p99Micros(valueAtQuantile(merged, count, 0.99))
+                .p999Micros(valueAtQuantile(merged, count, 0.999))
+                .maxMicros(maxMicros.get())
+                .build();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    // 버킷에 들어갈 수 있는 가장 큰 값 (백분위는 보수적으로 올려서 보고한다)
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+        return lower + (1L << shift) - 1;
+    }
+
+    private static long valueAtQuantile(long[] buckets, long count, double quantile) {
+        if (count == 0) {
+            return 0L;
+        }
+        long rank = Math.max(1L, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return bucketUpperBound(i);
+            }
+        }
+        return bucketUpperBound(buckets.length - 1);
+    }
+
+    /**
+     * Point-in-time view of a histogram. All values are in microseconds.
+     */
+    @Getter
+    @Builder
+    public static class Snapshot {
+        private long count;
+        private double meanMicros;
+        private long p50Micros;
+        private long p90Micros;
+        private long p99Micros;
+        private long p999Micros;
+        private long maxMicros;
+    }
+}
@@ -0,0 +1,120 @@
+package dev.gunho.global.metrics;
+
+import dev.gunho.global.timing.StageTimings;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-route latency histograms and status-code counters, and latency histograms per request stage.
+ * Routes are keyed by method and route pattern (e.g. {@code GET /payments/capture/{jobId}}), never by the raw path,
+ * so the number of entries stays bounded.
+ */
+@Component
+public class RequestMetrics {
+
+    /** Route key for requests that did not match any route. */
+    public static final String UNMATCHED = "UNMATCHED";
+
+    private static final int MAX_STATUS = 599;
+
+    private final ConcurrentMap<String, RouteStats> routes = new ConcurrentHashMap<>();
+    private final Map<StageTimings.Stage, LatencyHistogram> stages = new EnumMap<>(StageTimings.Stage.class);
+
+    public RequestMetrics() {
+        // 단계 목록은 고정이므로 미리 만들어 두고 읽기만 한다
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * Records one finished request.
+     *
+     * @param route The route key
+     * @param status The response status code
+     * @param nanos The time from receiving the request to completing the response
+     */
+    public void record(String route, int status, long nanos) {
+        RouteStats stats = routes.get(route);
+        if (stats == null) {
+            stats = routes.computeIfAbsent(route, key -> new RouteStats());
+        }
+        stats.latency.recordNanos(nanos);
+        // 범위를 벗어난 상태 코드는 0번 칸에 모은다
+        stats.statuses.incrementAndGet(status >= 100 && status <= MAX_STATUS ? status : 0);
+    }
+
+    /**
+     * Records the stages a finished request went through.
+     *
+     * @param timings The stage timings of the request
+     */
+    public void recordStages(StageTimings timings) {
+        for (StageTimings.Stage stage : StageTimings.Stage.values()) {
+            if (timings.has(stage)) {
+                stages.get(stage).recordNanos(timings.getNanos(stage));
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the per-stage histograms, in stage order.
+     *
+     * @return The snapshot per stage name
+     */
+    public Map<String, LatencyHistogram.Snapshot> stageSnapshot() {
+        Map<String, LatencyHistogram.Snapshot> snapshot = new LinkedHashMap<>();
+        stages.forEach((stage, histogram) -> snapshot.put(stage.getMetricName(), histogram.snapshot()));
+        return snapshot;
+    }
+
+    /**
+     * Takes a snapshot of all routes, sorted by route key.
+     *
+     * @return The snapshot per route
+     */
+    public Map<String, RouteSnapshot> snapshot() {
+        Map<String, RouteSnapshot> snapshot = new TreeMap<>();
+        routes.forEach((route, stats) -> snapshot.put(route, stats.snapshot()));
+        return snapshot;
+    }
+
+    private static final class RouteStats {
+
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final AtomicLongArray statuses = new AtomicLongArray(MAX_STATUS + 1);
+
+        private RouteSnapshot snapshot() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            for (int status = 0; status <= MAX_STATUS; status++) {
+                long count = statuses.get(status);
+                if (count != 0) {
+                    counts.put(status, count);
+                }
+            }
+            return RouteSnapshot.builder()
+                    .latency(latency.snapshot())
+                    .statuses(counts)
+                    .build();
+        }
+    }
+
+    /**
+     * Point-in-time view of one route.
+     */
+    @Getter
+    @Builder
+    public static class RouteSnapshot {
+        private LatencyHistogram.Snapshot latency;
+        private Map<Integer, Long> statuses;
+    }
+}
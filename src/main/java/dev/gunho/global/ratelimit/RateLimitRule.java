@@ -0,0 +1,78 @@
+package dev.gunho.global.ratelimit;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Rate limit for the requests matching a method and path pattern, applied per client.
+ * A client may send {@code burst} requests at once and then {@code permitsPerSecond} on average.
+ */
+@Getter
+public class RateLimitRule {
+
+    /** HTTP method, or null for any method. */
+    private final String method;
+    private final String pattern;
+    private final double permitsPerSecond;
+    private final int burst;
+
+    @JsonIgnore
+    private final PathPattern pathPattern;
+
+    @Builder
+    @JsonCreator
+    public RateLimitRule(@JsonProperty("method") String method,
+                         @JsonProperty("pattern") String pattern,
+                         @JsonProperty("permitsPerSecond") double permitsPerSecond,
+                         @JsonProperty("burst") int burst) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("pattern is required");
+        }
+        if (!(permitsPerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.method = method == null || method.isBlank() || "*".equals(method) ? null : method.toUpperCase();
+        this.pattern = pattern;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+        this.pathPattern = PathPatternParser.defaultInstance.parse(pattern);
+    }
+
+    /**
+     * Parses a rule written as {@code [METHOD] pattern permitsPerSecond burst},
+     * e.g. {@code POST /payments/** 20 40}.
+     *
+     * @param spec The rule text
+     * @return The rule
+     * @throws IllegalArgumentException If the text is malformed
+     */
+    public static RateLimitRule parse(String spec) {
+        String[] parts = spec.trim().split("\\s+");
+        if (parts.length != 3 && parts.length != 4) {
+            throw new IllegalArgumentException("Expected '[METHOD] pattern permitsPerSecond burst': " + spec);
+        }
+        int i = parts.length - 3;
+        return new RateLimitRule(i == 1 ? parts[0] : null, parts[i],
+                Double.parseDouble(parts[i + 1]), Integer.parseInt(parts[i + 2]));
+    }
+
+    boolean matches(String requestMethod, PathContainer path) {
+        return (method == null || method.equals(requestMethod)) && pathPattern.matches(path);
+    }
+
+    // 요청 하나가 차지하는 시간 간격
+    long emissionIntervalNanos() {
+        return (long) (1_000_000_000L / permitsPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return (method == null ? "" : method + " ") + pattern + " " + permitsPerSecond + " " + burst;
+    }
+}
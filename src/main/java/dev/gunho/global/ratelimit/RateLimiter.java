@@ -0,0 +1,262 @@
+package dev.gunho.global.ratelimit;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token bucket rate limiter, keyed by rule and client IP.
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again
+ * (the GCRA form of a token bucket), so acquiring is one CAS and refill is computed lazily from the clock.
+ * Buckets live in a {@link ConcurrentHashMap}, which spreads them over independent bins.
+ * Full buckets are indistinguishable from new ones and are evicted periodically.
+ * Rules are matched in order against the request method and path, and can be replaced at runtime.
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+
+    /** Result of {@link #acquire} when the request is allowed. */
+    public static final long ALLOWED = 0L;
+
+    private final boolean enabled;
+    private final Duration idleSweepInterval;
+    private final LongSupplier nanoClock;
+
+    private volatile Rules rules;
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private volatile Disposable sweepJob;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public RateLimiter(
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.rules:POST /payments/** 20 40}") List<String> rules,
+            @Value("${rate-limit.default-permits-per-second:100}") double defaultPermitsPerSecond,
+            @Value("${rate-limit.default-burst:200}") int defaultBurst,
+            @Value("${rate-limit.idle-sweep-interval:1m}") Duration idleSweepInterval) {
+        this(enabled, rules.stream().filter(spec -> !spec.isBlank()).map(RateLimitRule::parse).toList(),
+                new RateLimitRule(null, "/**", defaultPermitsPerSecond, defaultBurst), idleSweepInterval, System::nanoTime);
+    }
+
+    RateLimiter(boolean enabled, List<RateLimitRule> rules, RateLimitRule defaultRule,
+                Duration idleSweepInterval, LongSupplier nanoClock) {
+        this.enabled = enabled;
+        this.idleSweepInterval = idleSweepInterval;
+        this.nanoClock = nanoClock;
+        this.rules = new Rules(rules, defaultRule);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || sweepJob != null) {
+            return;
+        }
+        sweepJob = Flux.interval(idleSweepInterval, idleSweepInterval)
+                .onBackpressureDrop()
+                .subscribe(tick -> evictIdle());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = sweepJob;
+        if (current != null) {
+            current.dispose();
+            sweepJob = null;
+        }
+    }
+
+    /**
+     * Takes one permit for a request.
+     *
+     * @param method The HTTP method
+     * @param path The request path within the application
+     * @param clientKey The userId or client IP
+     * @return {@link #ALLOWED}, or the nanoseconds until the client may retry
+     */
+    public long acquire(String method, PathContainer path, String clientKey) {
+        if (!enabled) {
+            return ALLOWED;
+        }
+        Rules current = rules;
+        int ruleIndex = current.match(method, path);
+        String key = ruleIndex + ":" + clientKey;
+
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        long interval = current.intervals[ruleIndex];
+        long capacity = current.capacities[ruleIndex];
+        long now = nanoClock.getAsLong();
+        for (;;) {
+            long fullAt = bucket.get();
+            // 가득 찬 버킷은 지금 시각부터 다시 채운다
+            long next = (fullAt == Long.MIN_VALUE || fullAt - now < 0 ? now : fullAt) + interval;
+            long excess = next - now - capacity;
+            if (excess > 0) {
+                rejected.increment();
+                return excess;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                allowed.increment();
+                return ALLOWED;
+            }
+        }
+    }
+
+    /**
+     * Names the route of a request by the rule it falls under, for metrics on requests rejected before routing.
+     *
+     * @param method The HTTP method
+     * @param path The request path within the application
+     * @return The method and the pattern of the matching rule, or of the default rule
+     */
+    public String routeName(String method, PathContainer path) {
+        Rules current = rules;
+        int ruleIndex = current.match(method, path);
+        RateLimitRule rule = ruleIndex < current.routeRules.size()
+                ? current.routeRules.get(ruleIndex)
+                : current.defaultRule;
+        return method + " " + rule.getPattern();
+    }
+
+    /**
+     * Drops all buckets that are full again. A request racing with the sweep may use a dropped bucket once,
+     * which at most lets one extra request through for a client that was idle anyway.
+     *
+     * @return The number of buckets dropped
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> {
+            long fullAt = bucket.get();
+            return fullAt == Long.MIN_VALUE || fullAt - now <= 0;
+        });
+        int dropped = Math.max(0, before - buckets.size());
+        evicted.add(dropped);
+        return dropped;
+    }
+
+    /**
+     * Replaces the per-route rules. Buckets of the old rules are dropped, so every client starts full.
+     *
+     * @param newRules The rules, most specific first
+     */
+    public void setRules(List<RateLimitRule> newRules) {
+        Rules current = rules;
+        rules = new Rules(newRules, current.defaultRule);
+        buckets.clear();
+        log.info("Rate limit rules replaced: {}", newRules);
+    }
+
+    /**
+     * Gets the current rules and counters.
+     */
+    public Snapshot snapshot() {
+        Rules current = rules;
+        return Snapshot.builder()
+                .enabled(enabled)
+                .rules(current.routeRules)
+                .defaultRule(current.defaultRule)
+                .buckets(buckets.size())
+                .allowed(allowed.sum())
+                .rejected(rejected.sum())
+                .evicted(evicted.sum())
+                .build();
+    }
+
+    public List<RateLimitRule> getRules() {
+        return rules.routeRules;
+    }
+
+    public RateLimitRule getDefaultRule() {
+        return rules.defaultRule;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getAllowedCount() {
+        return allowed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getEvictedCount() {
+        return evicted.sum();
+    }
+
+    public int getBucketCount() {
+        return buckets.size();
+    }
+
+    @Getter
+    @Builder
+    public static class Snapshot {
+        private boolean enabled;
+        private List<RateLimitRule> rules;
+        private RateLimitRule defaultRule;
+        private int buckets;
+        private long allowed;
+        private long rejected;
+        private long evicted;
+    }
+
+    /**
+     * Immutable rule set with the per-rule constants precomputed; swapped as a whole on update.
+     */
+    private static final class Rules {
+
+        private final List<RateLimitRule> routeRules;
+        private final RateLimitRule defaultRule;
+        private final long[] intervals;
+        private final long[] capacities;
+
+        private Rules(List<RateLimitRule> routeRules, RateLimitRule defaultRule) {
+            this.routeRules = List.copyOf(routeRules);
+            this.defaultRule = defaultRule;
+            List<RateLimitRule> all = new ArrayList<>(this.routeRules);
+            all.add(defaultRule);
+            this.intervals = new long[all.size()];
+            this.capacities = new long[all.size()];
+            for (int i = 0; i < all.size(); i++) {
+                intervals[i] = all.get(i).emissionIntervalNanos();
+                capacities[i] = intervals[i] * all.get(i).getBurst();
+            }
+        }
+
+        private int match(String method, PathContainer path) {
+            for (int i = 0; i < routeRules.size(); i++) {
+                if (routeRules.get(i).matches(method, path)) {
+                    return i;
+                }
+            }
+            return routeRules.size();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package dev.gunho.global.timing;
+
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Time spent per stage of one request, carried in the Reactor context under {@code StageTimings.class}.
+ * PaymentWebFilter puts one instance into the context of every request; code along the way wraps a stage
+ * with {@link #time(Stage, Mono)}, which does nothing when there is no instance in the context.
+ * An instance is one object and two small arrays; recording a stage does not allocate.
+ */
+public final class StageTimings {
+
+    /**
+     * Request stages, in the order they appear in the {@code Server-Timing} header.
+     */
+    public enum Stage {
+        /** Reading and decoding the request body */
+        DECODE("decode"),
+        /** Getting a gateway access token (a cache hit unless the token expired) */
+        TOKEN("token"),
+        /** The call to the payment gateway, including decoding its response */
+        GATEWAY("gateway"),
+        /** From the handler returning its response to the response being committed */
+        ENCODE("encode");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final long startNanos;
+    private final AtomicLongArray nanos = new AtomicLongArray(STAGES.length);
+    private final AtomicInteger recorded = new AtomicInteger();
+    private volatile long handledAtNanos;
+
+    public StageTimings(long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * Adds the time from subscription to termination of a Mono to a stage of the current request.
+     *
+     * @param stage The stage
+     * @param source The work of the stage
+     * @return The source, timed if the context carries StageTimings
+     */
+    public static <T> Mono<T> time(Stage stage, Mono<T> source) {
+        return Mono.deferContextual(context -> {
+            StageTimings timings = context.getOrDefault(StageTimings.class, null);
+            if (timings == null) {
+                return source;
+            }
+            long start = System.nanoTime();
+            return source.doFinally(signal -> timings.add(stage, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Router filter that marks when the handler produced its response, so the time until the response
+     * is committed can be reported as {@link Stage#ENCODE}.
+     */
+    public static Mono<ServerResponse> markHandled(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.deferContextual(context -> {
+            StageTimings timings = context.getOrDefault(StageTimings.class, null);
+            Mono<ServerResponse> response = next.handle(request);
+            return timings == null ? response : response.doOnNext(r -> timings.handledAtNanos = System.nanoTime());
+        });
+    }
+
+    public void add(Stage stage, long durationNanos) {
+        nanos.addAndGet(stage.ordinal(), durationNanos);
+        int bit = 1 << stage.ordinal();
+        for (;;) {
+            int mask = recorded.get();
+            if ((mask & bit) != 0 || recorded.compareAndSet(mask, mask | bit)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Records {@link Stage#ENCODE} if the handler's response time was marked. Called when the response is committed.
+     *
+     * @param nowNanos The current {@link System#nanoTime()}
+     */
+    public void committed(long nowNanos) {
+        long handledAt = handledAtNanos;
+        if (handledAt != 0) {
+            add(Stage.ENCODE, nowNanos - handledAt);
+        }
+    }
+
+    public boolean has(Stage stage) {
+        return (recorded.get() & (1 << stage.ordinal())) != 0;
+    }
+
+    public long getNanos(Stage stage) {
+        return nanos.get(stage.ordinal());
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * Formats the recorded stages and the total so far as a {@code Server-Timing} header value,
+     * e.g. {@code decode;dur=0.12, gateway;dur=183.40, total;dur=184.02} (milliseconds).
+     *
+     * @param nowNanos The current {@link System#nanoTime()}
+     * @return The header value
+     */
+    public String toServerTiming(long nowNanos) {
+        StringBuilder header = new StringBuilder(96);
+        for (Stage stage : STAGES) {
+            if (has(stage)) {
+                appendMetric(header, stage.metricName, getNanos(stage));
+            }
+        }
+        appendMetric(header, "total", nowNanos - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long durationNanos) {
+        if (header.length() > 0) {
+            header.append(", ");
+        }
+        // 소수점 둘째 자리까지의 밀리초 (String.format 없이)
+        long hundredths = Math.max(0L, durationNanos) / 10_000;
+        header.append(name).append(";dur=").append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            header.append('0');
+        }
+        header.append(fraction);
+    }
+}
@@ -1,9 +1,13 @@
 package dev.gunho.payment;
 
+import dev.gunho.payment.config.PaymentRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
-@SpringBootApplication
+// dev.gunho.global (웹 필터 등)도 스캔한다
+@SpringBootApplication(scanBasePackages = "dev.gunho")
+@ImportRuntimeHints(PaymentRuntimeHints.class)
 public class PaymentApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,145 @@
+package dev.gunho.payment.config;
+
+import dev.gunho.payment.gateway.Bulkhead;
+import dev.gunho.payment.gateway.CaptureCoalescer;
+import dev.gunho.payment.gateway.CircuitBreaker;
+import dev.gunho.payment.gateway.GatewayStats;
+import dev.gunho.payment.gateway.PaymentGatewayRegistry;
+import dev.gunho.payment.gateway.ResilientPaymentService;
+import dev.gunho.payment.gateway.RoutingPaymentService;
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.service.PaymentOrderService;
+import dev.gunho.payment.service.PaymentService;
+import dev.gunho.payment.util.Util;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class GatewayConfig {
+
+    @Value("${payment.gateway.circuit-breaker.failure-rate-threshold:0.5}")
+    private double failureRateThreshold;
+
+    @Value("${payment.gateway.circuit-breaker.slow-call-rate-threshold:0.8}")
+    private double slowCallRateThreshold;
+
+    @Value("${payment.gateway.circuit-breaker.slow-call-duration:2s}")
+    private Duration slowCallDuration;
+
+    @Value("${payment.gateway.circuit-breaker.window:10s}")
+    private Duration window;
+
+    @Value("${payment.gateway.circuit-breaker.minimum-calls:20}")
+    private int minimumCalls;
+
+    @Value("${payment.gateway.circuit-breaker.open-duration:5s}")
+    private Duration openDuration;
+
+    @Value("${payment.gateway.circuit-breaker.half-open-calls:5}")
+    private int halfOpenCalls;
+
+    @Value("${payment.gateway.bulkhead.max-concurrent-calls:200}")
+    private int maxConcurrentCalls;
+
+    // 예: "PayPal=3,Stripe=1" (목록에 없는 게이트웨이의 가중치는 1)
+    @Value("${payment.routing.weights:}")
+    private String routingWeights;
+
+    @Value("${payment.routing.default-gateway:PayPal}")
+    private String defaultGateway;
+
+    @Value("${payment.routing.ewma-alpha:0.2}")
+    private double ewmaAlpha;
+
+    @Value("${payment.routing.initial-latency:200ms}")
+    private Duration initialLatency;
+
+    // 오류가 멈춘 게이트웨이가 다시 트래픽을 받도록 오류율을 시간에 따라 줄인다
+    @Value("${payment.routing.error-half-life:30s}")
+    private Duration errorHalfLife;
+
+    @Value("${payment.routing.error-penalty:4}")
+    private double errorPenalty;
+
+    @Value("${payment.routing.max-pinned-orders:100000}")
+    private long maxPinnedOrders;
+
+    @Value("${payment.routing.pin-ttl:6h}")
+    private Duration pinTtl;
+
+    // 타임아웃 후 재시도된 캡처에 완료된 결과를 돌려줄 기간
+    @Value("${payment.capture.coalesce.result-ttl:30s}")
+    private Duration captureResultTtl;
+
+    @Value("${payment.capture.coalesce.max-results:100000}")
+    private long maxCaptureResults;
+
+    /**
+     * The PaymentService used by the handlers. Every other PaymentService bean is a gateway;
+     * each is wrapped in a circuit breaker and bulkhead and registered for routing.
+     * This bean is not part of the injected list, since Spring leaves self references out of collections.
+     */
+    @Bean
+    @Primary
+    public RoutingPaymentService paymentService(List<PaymentService> gateways, PaymentOrderService paymentOrderService) {
+        Map<String, Integer> weights = parseWeights(routingWeights);
+
+        List<PaymentGatewayRegistry.Gateway> registered = new ArrayList<>();
+        for (PaymentService gateway : gateways) {
+            PaymentGatewayRegistry.Gateway entry = new PaymentGatewayRegistry.Gateway(
+                    resilient(gateway),
+                    new GatewayStats(ewmaAlpha, initialLatency.toMillis(), errorHalfLife, System::nanoTime),
+                    weights.getOrDefault(gateway.getGatewayName(), 1));
+            // 기본 게이트웨이를 맨 앞에 둔다
+            if (entry.getName().equals(defaultGateway)) {
+                registered.add(0, entry);
+            } else {
+                registered.add(entry);
+            }
+        }
+
+        // 다른 인스턴스나 재시작 전에 만든 주문은 저장된 주문 상태에서 게이트웨이를 찾는다
+        return new RoutingPaymentService(new PaymentGatewayRegistry(registered, errorPenalty), maxPinnedOrders, pinTtl,
+                new CaptureCoalescer(maxCaptureResults, captureResultTtl),
+                orderId -> paymentOrderService.getOrder(orderId).mapNotNull(PaymentPayload.OrderStatusResponse::getGatewayName));
+    }
+
+    static Map<String, Integer> parseWeights(String value) {
+        Map<String, Integer> weights = new HashMap<>();
+        if (Util.isNullOrEmpty(value)) {
+            return weights;
+        }
+        for (String pair : value.split(",")) {
+            String[] parts = pair.split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid payment.routing.weights entry: " + pair);
+            }
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private ResilientPaymentService resilient(PaymentService gateway) {
+        CircuitBreaker.Settings settings = CircuitBreaker.Settings.builder()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDuration(slowCallDuration)
+                .window(window)
+                .minimumCalls(minimumCalls)
+                .openDuration(openDuration)
+                .halfOpenCalls(halfOpenCalls)
+                .build();
+
+        return new ResilientPaymentService(gateway,
+                new CircuitBreaker(gateway.getGatewayName(), settings),
+                new Bulkhead(gateway.getGatewayName(), maxConcurrentCalls));
+    }
+}
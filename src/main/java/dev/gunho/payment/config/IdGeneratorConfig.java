@@ -0,0 +1,61 @@
+package dev.gunho.payment.config;
+
+import dev.gunho.payment.util.IdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+/**
+ * Configures the ID generator.
+ * Every running instance needs its own {@code id.node-id}, or two instances can hand out the same IDs.
+ * Outside the {@code dev} and {@code loadtest} profiles the application refuses to start without one.
+ * On Kubernetes, a StatefulSet can pass the pod ordinal, e.g. {@code ID_NODE_ID} from the
+ * {@code apps.kubernetes.io/pod-index} label through the downward API.
+ * In {@code dev} and {@code loadtest} a node ID derived from the host name is used instead.
+ */
+@Slf4j
+@Configuration
+public class IdGeneratorConfig {
+
+    // 호스트 이름 해시는 인스턴스 사이에 충돌할 수 있으므로 단일 인스턴스로 도는 프로파일에서만 허용한다
+    private static final Profiles HOST_NAME_NODE_ID_PROFILES = Profiles.of("dev", "loadtest");
+
+    @Value("${id.node-id:-1}")
+    private int nodeId;
+
+    @Value("${id.encoding:BASE32}")
+    private IdGenerator.Encoding encoding;
+
+    @Bean
+    public IdGenerator idGenerator(Environment environment) {
+        int node = nodeId >= 0 ? nodeId : hostNameNodeId(environment);
+        log.info("ID generator node id {} ({})", node, encoding);
+        return new IdGenerator(node, encoding);
+    }
+
+    private static int hostNameNodeId(Environment environment) {
+        if (!environment.acceptsProfiles(HOST_NAME_NODE_ID_PROFILES)) {
+            throw new IllegalStateException("id.node-id must be set to a value between 0 and " + IdGenerator.MAX_NODE_ID
+                    + " that no other running instance uses (e.g. the StatefulSet pod ordinal)");
+        }
+        int node = nodeIdFromHostName();
+        log.warn("id.node-id is not set, using node id {} derived from the host name; "
+                + "it may collide with another instance", node);
+        return node;
+    }
+
+    private static int nodeIdFromHostName() {
+        try {
+            return Math.floorMod(InetAddress.getLocalHost().getHostName().hashCode(), IdGenerator.MAX_NODE_ID + 1);
+        } catch (UnknownHostException e) {
+            log.warn("Could not resolve the host name, using node id 0");
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package dev.gunho.payment.config;
+
+import dev.gunho.global.concurrency.AdaptiveConcurrencyLimiter;
+import dev.gunho.global.metrics.RequestMetrics;
+import dev.gunho.global.ratelimit.RateLimitRule;
+import dev.gunho.global.ratelimit.RateLimiter;
+import dev.gunho.payment.gateway.GatewayHttpClients;
+import dev.gunho.payment.model.dto.PayPalPayload;
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.dto.UserPayload;
+import dev.gunho.payment.model.entity.CaptureJobEntity;
+import dev.gunho.payment.model.entity.IdempotencyKeyEntity;
+import dev.gunho.payment.model.entity.PaymentOrderEntity;
+import dev.gunho.payment.model.entity.UserEntity;
+import dev.gunho.payment.model.mapper.UserMapper;
+import dev.gunho.payment.model.money.MoneyAmountSerializer;
+import dev.gunho.payment.service.impl.UserIdFilter;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.stream.Stream;
+
+/**
+ * Reflection hints for a native image build (./gradlew nativeCompile -Pnative).
+ * <p>
+ * The functional routes encode and decode bodies without the controller method signatures Spring AOT infers
+ * binding hints from, so every JSON payload is listed here, including the nested types Jackson reaches from them
+ * (Lombok builders are not used by Jackson; the getters, {@code @JsonCreator} factories and
+ * {@code @JsonSerialize} serializers are). Entities are read and written by Spring Data through their
+ * constructors and fields. {@link UserMapper#INSTANCE} looks up the generated mapper by name.
+ */
+public class PaymentRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String USER_MAPPER_IMPL = UserMapper.class.getName() + "Impl";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindings = new BindingReflectionHintsRegistrar();
+        Stream.of(PaymentPayload.class, UserPayload.class, PayPalPayload.class)
+                .flatMap(payload -> Stream.of(payload.getDeclaredClasses()))
+                .forEach(type -> {
+                    bindings.registerReflectionHints(hints.reflection(), type);
+                    // @JsonCreator 팩터리와 getCurrency() 같은 파생 getter까지 포함한다
+                    hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_METHODS);
+                });
+        bindings.registerReflectionHints(hints.reflection(),
+                RateLimitRule.class,
+                RateLimiter.Snapshot.class,
+                RequestMetrics.RouteSnapshot.class,
+                AdaptiveConcurrencyLimiter.Snapshot.class,
+                GatewayHttpClients.PoolSnapshot.class,
+                UserIdFilter.Snapshot.class);
+        hints.reflection().registerType(MoneyAmountSerializer.class, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+
+        Stream.of(UserEntity.class, CaptureJobEntity.class, IdempotencyKeyEntity.class, PaymentOrderEntity.class)
+                .forEach(entity -> hints.reflection().registerType(entity,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_DECLARED_METHODS,
+                        MemberCategory.DECLARED_FIELDS));
+
+        // Mappers.getMapper()는 구현 클래스를 이름으로 찾아 기본 생성자로 만든다
+        hints.reflection().registerType(TypeReference.of(USER_MAPPER_IMPL),
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+    }
+}
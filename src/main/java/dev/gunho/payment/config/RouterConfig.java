@@ -1,5 +1,9 @@
 package dev.gunho.payment.config;
 
+import dev.gunho.global.timing.StageTimings;
+import dev.gunho.payment.handler.admin.RateLimitHandler;
+import dev.gunho.payment.handler.health.HealthHandler;
+import dev.gunho.payment.handler.metrics.MetricsHandler;
 import dev.gunho.payment.handler.payment.PaymentHandler;
 import dev.gunho.payment.handler.user.UserHandler;
 import org.springframework.context.annotation.Bean;
@@ -8,16 +12,42 @@ import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import static org.springframework.web.reactive.function.server.RequestPredicates.GET;
 import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.PUT;
 
 @Configuration
 public class RouterConfig {
 
     @Bean
-    public RouterFunction<ServerResponse> route(UserHandler userHandler, PaymentHandler paymentHandler) {
+    public RouterFunction<ServerResponse> route(UserHandler userHandler, PaymentHandler paymentHandler,
+                                                MetricsHandler metricsHandler, RateLimitHandler rateLimitHandler,
+                                                HealthHandler healthHandler) {
+        return apiRoutes(userHandler, paymentHandler)
+                .andRoute(GET("/metrics/http"), metricsHandler::getHttpMetrics)
+                .andRoute(GET("/metrics/concurrency"), metricsHandler::getConcurrencyMetrics)
+                .andRoute(GET("/metrics/stages"), metricsHandler::getStageMetrics)
+                .andRoute(GET("/metrics/gateway-pools"), metricsHandler::getGatewayPoolMetrics)
+                .andRoute(GET("/metrics/user-id-filter"), metricsHandler::getUserIdFilterMetrics)
+                .andRoute(GET("/admin/rate-limits"), rateLimitHandler::getRateLimits)
+                .andRoute(PUT("/admin/rate-limits"), rateLimitHandler::putRateLimits)
+                .andRoute(GET("/health/liveness"), healthHandler::liveness)
+                .andRoute(GET("/health/readiness"), healthHandler::readiness)
+                .filter(StageTimings::markHandled);
+    }
+
+    /**
+     * User and payment routes. The startup warmup replays synthetic requests through these routes
+     * with dry-run handlers.
+     */
+    public static RouterFunction<ServerResponse> apiRoutes(UserHandler userHandler, PaymentHandler paymentHandler) {
         return RouterFunctions
                 .route(POST("/user"), userHandler::createUser)
+                .andRoute(POST("/users/bulk"), userHandler::createUsers)
+                .andRoute(GET("/users"), userHandler::listUsers)
                 .andRoute(POST("/payments/orders"), paymentHandler::createOrder)
-                .andRoute(POST("/payments/capture"), paymentHandler::capturePayment);
+                .andRoute(GET("/payments/orders/{orderId}"), paymentHandler::getOrder)
+                .andRoute(POST("/payments/capture"), paymentHandler::capturePayment)
+                .andRoute(GET("/payments/capture/{jobId}"), paymentHandler::getCaptureJob);
     }
 }
@@ -0,0 +1,102 @@
+package dev.gunho.payment.gateway;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent captures of the same order into one gateway call.
+ * Callers that arrive while a capture is in flight share its outcome, and callers that arrive shortly after
+ * a successful capture get the remembered success. Errors and unsuccessful captures are not remembered,
+ * so a retry after a failure goes upstream again.
+ */
+public class CaptureCoalescer {
+
+    private final ConcurrentMap<String, Mono<Boolean>> inFlight = new ConcurrentHashMap<>();
+    private final Cache<String, Boolean> results;
+
+    private final LongAdder upstreamCalls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder resultHits = new LongAdder();
+
+    public CaptureCoalescer(long maxResults, Duration resultTtl) {
+        this.results = Caffeine.newBuilder()
+                .maximumSize(maxResults)
+                .expireAfterWrite(resultTtl)
+                .build();
+    }
+
+    /**
+     * Captures an order, sharing the call with any concurrent capture of the same order.
+     *
+     * @param orderId The order ID
+     * @param capture The upstream capture call
+     * @return A Mono containing the capture outcome
+     */
+    public Mono<Boolean> capture(String orderId, Function<String, Mono<Boolean>> capture) {
+        if (orderId == null) {
+            return capture.apply(null);
+        }
+        return Mono.defer(() -> {
+            Boolean result = results.getIfPresent(orderId);
+            if (result != null) {
+                resultHits.increment();
+                return Mono.just(result);
+            }
+
+            @SuppressWarnings("unchecked")
+            Mono<Boolean>[] created = new Mono[1];
+            Mono<Boolean> shared = inFlight.computeIfAbsent(orderId, id -> {
+                // cache()로 공유하므로 먼저 구독한 호출자가 취소해도 게이트웨이 호출은 끝까지 진행된다
+                created[0] = capture.apply(id)
+                        // 실패한 결과를 기억하면 재시도가 TTL 동안 게이트웨이에 닿지 못한다
+                        .doOnNext(outcome -> {
+                            if (outcome) {
+                                results.put(id, true);
+                            }
+                        })
+                        .doFinally(signal -> inFlight.remove(id, created[0]))
+                        .cache();
+                return created[0];
+            });
+
+            if (shared == created[0]) {
+                upstreamCalls.increment();
+            } else {
+                coalesced.increment();
+            }
+            return shared;
+        });
+    }
+
+    /**
+     * Forgets the remembered outcome of an order.
+     *
+     * @param orderId The order ID
+     */
+    public void evict(String orderId) {
+        results.invalidate(orderId);
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public long getUpstreamCallCount() {
+        return upstreamCalls.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getResultHitCount() {
+        return resultHits.sum();
+    }
+}
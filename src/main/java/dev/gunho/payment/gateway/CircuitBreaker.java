@@ -0,0 +1,295 @@
+package dev.gunho.payment.gateway;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free circuit breaker driven by the failure rate and slow-call rate over a rolling time window.
+ * <p>
+ * The window is a ring of one-second buckets. Each bucket is reset by the first thread that
+ * observes it belongs to an older second, so recording a call is a handful of atomic increments.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final long BUCKET_NANOS = 1_000_000_000L;
+    private static final int CALLS = 0;
+    private static final int FAILURES = 1;
+    private static final int SLOW = 2;
+    private static final int COUNTERS = 3;
+
+    private final String name;
+    private final Settings settings;
+    private final LongSupplier nanoClock;
+
+    private final int bucketCount;
+    private final AtomicLongArray bucketEpochs;
+    private final AtomicLongArray bucketCounters;
+
+    private final AtomicReference<Transition> state;
+    private final LongAdder rejected = new LongAdder();
+
+    public CircuitBreaker(String name, Settings settings) {
+        this(name, settings, System::nanoTime);
+    }
+
+    CircuitBreaker(String name, Settings settings, LongSupplier nanoClock) {
+        this.name = name;
+        this.settings = settings;
+        this.nanoClock = nanoClock;
+        this.bucketCount = (int) Math.max(1, settings.getWindow().toSeconds());
+        this.bucketEpochs = new AtomicLongArray(bucketCount);
+        this.bucketCounters = new AtomicLongArray(bucketCount * COUNTERS);
+        for (int i = 0; i < bucketCount; i++) {
+            bucketEpochs.set(i, Long.MIN_VALUE);
+        }
+        this.state = new AtomicReference<>(Transition.closed());
+    }
+
+    /**
+     * Asks whether a call may go through.
+     * Every granted permission must be followed by exactly one of
+     * {@link #onSuccess(long)}, {@link #onError(long)} or {@link #releasePermission()}.
+     *
+     * @return true if the call is permitted, false if the circuit is open
+     */
+    public boolean tryAcquirePermission() {
+        for (;;) {
+            Transition current = state.get();
+            switch (current.state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (nanoClock.getAsLong() - current.sinceNanos < settings.getOpenDuration().toNanos()) {
+                        rejected.increment();
+                        return false;
+                    }
+                    state.compareAndSet(current, Transition.halfOpen(nanoClock.getAsLong(), settings.getHalfOpenCalls()));
+                    continue;
+                default:
+                    if (current.tryTakeTrialPermit()) {
+                        return true;
+                    }
+                    rejected.increment();
+                    return false;
+            }
+        }
+    }
+
+    /**
+     * Gives back a permission for a call that ended without an outcome (e.g. it was cancelled).
+     */
+    public void releasePermission() {
+        Transition current = state.get();
+        if (current.state == State.HALF_OPEN) {
+            current.returnTrialPermit();
+        }
+    }
+
+    public void onSuccess(long durationNanos) {
+        record(durationNanos, false);
+    }
+
+    public void onError(long durationNanos) {
+        record(durationNanos, true);
+    }
+
+    private void record(long durationNanos, boolean failure) {
+        boolean slow = durationNanos >= settings.getSlowCallDuration().toNanos();
+        Transition current = state.get();
+
+        if (current.state == State.HALF_OPEN) {
+            if (failure || slow) {
+                state.compareAndSet(current, Transition.open(nanoClock.getAsLong()));
+            } else if (current.recordTrialSuccess() >= settings.getHalfOpenCalls()) {
+                resetWindow();
+                state.compareAndSet(current, Transition.closed());
+            }
+            return;
+        }
+
+        long now = nanoClock.getAsLong();
+        int base = bucketFor(now) * COUNTERS;
+        bucketCounters.incrementAndGet(base + CALLS);
+        if (failure) {
+            bucketCounters.incrementAndGet(base + FAILURES);
+        }
+        if (slow) {
+            bucketCounters.incrementAndGet(base + SLOW);
+        }
+
+        if (current.state == State.CLOSED && (failure || slow)) {
+            Snapshot snapshot = snapshot(now);
+            if (snapshot.getCalls() >= settings.getMinimumCalls()
+                    && (snapshot.getFailureRate() >= settings.getFailureRateThreshold()
+                        || snapshot.getSlowCallRate() >= settings.getSlowCallRateThreshold())) {
+                state.compareAndSet(current, Transition.open(now));
+            }
+        }
+    }
+
+    private int bucketFor(long nanos) {
+        long epoch = Math.floorDiv(nanos, BUCKET_NANOS);
+        int index = (int) Math.floorMod(epoch, (long) bucketCount);
+        long seen = bucketEpochs.get(index);
+        if (seen != epoch && bucketEpochs.compareAndSet(index, seen, epoch)) {
+            int base = index * COUNTERS;
+            for (int i = 0; i < COUNTERS; i++) {
+                bucketCounters.set(base + i, 0);
+            }
+        }
+        return index;
+    }
+
+    private void resetWindow() {
+        for (int i = 0; i < bucketCount; i++) {
+            bucketEpochs.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Gets the call statistics over the current rolling window.
+     *
+     * @return The window snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot(nanoClock.getAsLong());
+    }
+
+    private Snapshot snapshot(long now) {
+        long currentEpoch = Math.floorDiv(now, BUCKET_NANOS);
+        long calls = 0;
+        long failures = 0;
+        long slow = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long epoch = bucketEpochs.get(i);
+            if (epoch > currentEpoch - bucketCount && epoch <= currentEpoch) {
+                int base = i * COUNTERS;
+                calls += bucketCounters.get(base + CALLS);
+                failures += bucketCounters.get(base + FAILURES);
+                slow += bucketCounters.get(base + SLOW);
+            }
+        }
+        return new Snapshot(state.get().state, calls, failures, slow, rejected.sum());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state.get().state;
+    }
+
+    /**
+     * Thresholds and timings of a circuit breaker.
+     */
+    @Getter
+    @Builder
+    public static class Settings {
+        @Builder.Default
+        private double failureRateThreshold = 0.5;
+        @Builder.Default
+        private double slowCallRateThreshold = 0.8;
+        @Builder.Default
+        private Duration slowCallDuration = Duration.ofSeconds(2);
+        @Builder.Default
+        private Duration window = Duration.ofSeconds(10);
+        @Builder.Default
+        private int minimumCalls = 20;
+        @Builder.Default
+        private Duration openDuration = Duration.ofSeconds(5);
+        @Builder.Default
+        private int halfOpenCalls = 5;
+    }
+
+    /**
+     * Point-in-time view of the rolling window.
+     */
+    @Getter
+    public static class Snapshot {
+        private final State state;
+        private final long calls;
+        private final long failures;
+        private final long slowCalls;
+        private final long rejected;
+
+        Snapshot(State state, long calls, long failures, long slowCalls, long rejected) {
+            this.state = state;
+            this.calls = calls;
+            this.failures = failures;
+            this.slowCalls = slowCalls;
+            this.rejected = rejected;
+        }
+
+        public double getFailureRate() {
+            return calls == 0 ? 0.0 : (double) failures / calls;
+        }
+
+        public double getSlowCallRate() {
+            return calls == 0 ? 0.0 : (double) slowCalls / calls;
+        }
+    }
+
+    /**
+     * Immutable state plus the mutable trial counters used while half-open.
+     * A state change always installs a new instance, so stale holders never affect the current state.
+     */
+    private static final class Transition {
+        private final State state;
+        private final long sinceNanos;
+        private final AtomicInteger trialPermits;
+        private final AtomicInteger trialSuccesses;
+
+        private Transition(State state, long sinceNanos, int trialPermits) {
+            this.state = state;
+            this.sinceNanos = sinceNanos;
+            this.trialPermits = new AtomicInteger(trialPermits);
+            this.trialSuccesses = new AtomicInteger();
+        }
+
+        static Transition closed() {
+            return new Transition(State.CLOSED, 0L, 0);
+        }
+
+        static Transition open(long nowNanos) {
+            return new Transition(State.OPEN, nowNanos, 0);
+        }
+
+        static Transition halfOpen(long nowNanos, int permits) {
+            return new Transition(State.HALF_OPEN, nowNanos, permits);
+        }
+
+        boolean tryTakeTrialPermit() {
+            for (;;) {
+                int permits = trialPermits.get();
+                if (permits <= 0) {
+                    return false;
+                }
+                if (trialPermits.compareAndSet(permits, permits - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        void returnTrialPermit() {
+            trialPermits.incrementAndGet();
+        }
+
+        int recordTrialSuccess() {
+            return trialSuccesses.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package dev.gunho.payment.gateway;
+
+import dev.gunho.global.metrics.LatencyHistogram;
+import io.netty.channel.ChannelOption;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Builds the HTTP clients used to call payment gateways, each with its own Reactor Netty connection pool,
+ * and keeps the pool metrics.
+ * <p>
+ * Settings are read from {@code payment.gateway.http.<gateway>.*} (gateway name in lower case) and fall back
+ * to {@code payment.gateway.http.*}:
+ * <ul>
+ *     <li>{@code max-connections}, {@code pending-acquire-max-count}, {@code pending-acquire-timeout}:
+ *     pool size and the bounded queue of requests waiting for a connection;</li>
+ *     <li>{@code max-idle-time}, {@code max-life-time}, {@code eviction-interval}: connection recycling;</li>
+ *     <li>{@code connect-timeout}, {@code response-timeout};</li>
+ *     <li>{@code http2}: negotiates HTTP/2 over TLS, falling back to HTTP/1.1. With HTTP/2 requests are
+ *     multiplexed, so {@code max-connections} caps connections rather than concurrent requests;</li>
+ *     <li>{@code max-in-memory-size}: the most a response body may buffer while being decoded.</li>
+ * </ul>
+ * The acquire latency is measured from subscribing to an exchange until the request is ready to be written,
+ * so it includes waiting in the pending queue and, for a new connection, the connect and TLS handshake.
+ */
+@Slf4j
+@Component
+public class GatewayHttpClients {
+
+    private static final String PREFIX = "payment.gateway.http.";
+
+    private final Environment environment;
+    private final ConcurrentMap<String, PoolStats> pools = new ConcurrentHashMap<>();
+
+    public GatewayHttpClients(Environment environment) {
+        this.environment = environment;
+    }
+
+    /**
+     * Creates a WebClient builder for a gateway, backed by the gateway's connection pool.
+     * The pool is created on the first call for a gateway and shared by later calls.
+     *
+     * @param gatewayName The gateway name
+     * @param webClientBuilder The application's WebClient builder, which is not modified
+     * @return A builder with the gateway's connector, codec limits and acquire timing
+     */
+    public WebClient.Builder webClientBuilder(String gatewayName, WebClient.Builder webClientBuilder) {
+        PoolStats stats = pools.computeIfAbsent(gatewayName, name -> {
+            Settings settings = settings(name);
+            log.info("Gateway {} HTTP client: {} connections, {} pending acquires, HTTP/2 {}",
+                    name, settings.getMaxConnections(), settings.getPendingAcquireMaxCount(), settings.isHttp2());
+            return new PoolStats(name, settings);
+        });
+        Settings settings = stats.settings;
+        return webClientBuilder.clone()
+                .clientConnector(new ReactorClientHttpConnector(stats.httpClient))
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(settings.getMaxInMemorySize()))
+                .filter(stats.acquireTimer());
+    }
+
+    @PreDestroy
+    public void stop() {
+        pools.values().forEach(stats -> stats.provider.dispose());
+    }
+
+    /**
+     * Gets the pool metrics of every gateway, summed over the remote addresses each pool connects to.
+     *
+     * @return The snapshot per gateway name
+     */
+    public Map<String, PoolSnapshot> snapshot() {
+        Map<String, PoolSnapshot> snapshot = new TreeMap<>();
+        pools.forEach((name, stats) -> snapshot.put(name, stats.snapshot()));
+        return snapshot;
+    }
+
+    Settings settings(String gatewayName) {
+        String gatewayPrefix = PREFIX + gatewayName.toLowerCase(Locale.ROOT) + ".";
+        return Settings.builder()
+                .maxConnections(property(gatewayPrefix, "max-connections", Integer.class, 200))
+                .pendingAcquireMaxCount(property(gatewayPrefix, "pending-acquire-max-count", Integer.class, 500))
+                .pendingAcquireTimeout(property(gatewayPrefix, "pending-acquire-timeout", Duration.class, Duration.ofSeconds(2)))
+                .maxIdleTime(property(gatewayPrefix, "max-idle-time", Duration.class, Duration.ofSeconds(30)))
+                .maxLifeTime(property(gatewayPrefix, "max-life-time", Duration.class, Duration.ofMinutes(5)))
+                .evictionInterval(property(gatewayPrefix, "eviction-interval", Duration.class, Duration.ofSeconds(30)))
+                .connectTimeout(property(gatewayPrefix, "connect-timeout", Duration.class, Duration.ofSeconds(2)))
+                .responseTimeout(property(gatewayPrefix, "response-timeout", Duration.class, Duration.ofSeconds(10)))
+                .http2(property(gatewayPrefix, "http2", Boolean.class, false))
+                .maxInMemorySize(property(gatewayPrefix, "max-in-memory-size", Integer.class, 256 * 1024))
+                .build();
+    }
+
+    private <T> T property(String gatewayPrefix, String key, Class<T> type, T defaultValue) {
+        T value = environment.getProperty(gatewayPrefix + key, type);
+        return value != null ? value : environment.getProperty(PREFIX + key, type, defaultValue);
+    }
+
+    /**
+     * Connection pool and client settings of one gateway.
+     */
+    @Getter
+    @Builder
+    public static class Settings {
+        private int maxConnections;
+        private int pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictionInterval;
+        private Duration connectTimeout;
+        private Duration responseTimeout;
+        private boolean http2;
+        private int maxInMemorySize;
+    }
+
+    /**
+     * Point-in-time view of a gateway's connection pool.
+     */
+    @Getter
+    @Builder
+    public static class PoolSnapshot {
+        private int maxConnections;
+        private int maxPendingAcquires;
+        /** Connections open, in use or idle. */
+        private int allocated;
+        /** Connections in use by a request. */
+        private int active;
+        private int idle;
+        /** Requests waiting for a connection. */
+        private int pendingAcquires;
+        /** Requests that could not get a connection: pending queue full or acquire timed out. */
+        private long rejectedAcquires;
+        private LatencyHistogram.Snapshot acquireLatency;
+    }
+
+    private static final class PoolStats implements ConnectionProvider.MeterRegistrar {
+
+        private final Settings settings;
+        private final ConnectionProvider provider;
+        private final HttpClient httpClient;
+        // Reactor Netty은 원격 주소마다 별도의 풀을 만든다
+        private final ConcurrentMap<SocketAddress, ConnectionPoolMetrics> remotes = new ConcurrentHashMap<>();
+        private final LatencyHistogram acquireLatency = new LatencyHistogram();
+        private final LongAdder rejectedAcquires = new LongAdder();
+
+        private PoolStats(String gatewayName, Settings settings) {
+            this.settings = settings;
+            this.provider = ConnectionProvider.builder("gateway-" + gatewayName.toLowerCase(Locale.ROOT))
+                    .maxConnections(settings.getMaxConnections())
+                    .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                    .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                    .maxIdleTime(settings.getMaxIdleTime())
+                    .maxLifeTime(settings.getMaxLifeTime())
+                    .evictInBackground(settings.getEvictionInterval())
+                    .metrics(true, () -> this)
+                    .build();
+            this.httpClient = HttpClient.create(provider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                    .option(ChannelOption.SO_KEEPALIVE, true)
+                    .responseTimeout(settings.getResponseTimeout())
+                    .protocol(settings.isHttp2()
+                            ? new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11}
+                            : new HttpProtocol[]{HttpProtocol.HTTP11});
+        }
+
+        @Override
+        public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+            remotes.put(remoteAddress, metrics);
+        }
+
+        @Override
+        public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+            remotes.remove(remoteAddress);
+        }
+
+        private ExchangeFilterFunction acquireTimer() {
+            return (request, next) -> Mono.defer(() -> {
+                long start = System.nanoTime();
+                // 요청을 쓰기 직전에 호출되므로 커넥션을 얻기까지의 시간이 된다
+                ClientRequest timed = ClientRequest.from(request)
+                        .httpRequest(httpRequest -> acquireLatency.recordNanos(System.nanoTime() - start))
+                        .build();
+                return next.exchange(timed)
+                        .doOnError(e -> {
+                            if (isAcquireFailure(e)) {
+                                rejectedAcquires.increment();
+                            }
+                        });
+            });
+        }
+
+        private PoolSnapshot snapshot() {
+            int allocated = 0;
+            int active = 0;
+            int idle = 0;
+            int pending = 0;
+            for (ConnectionPoolMetrics metrics : remotes.values()) {
+                allocated += metrics.allocatedSize();
+                active += metrics.acquiredSize();
+                idle += metrics.idleSize();
+                pending += metrics.pendingAcquireSize();
+            }
+            return PoolSnapshot.builder()
+                    .maxConnections(settings.getMaxConnections())
+                    .maxPendingAcquires(settings.getPendingAcquireMaxCount())
+                    .allocated(allocated)
+                    .active(active)
+                    .idle(idle)
+                    .pendingAcquires(pending)
+                    .rejectedAcquires(rejectedAcquires.sum())
+                    .acquireLatency(acquireLatency.snapshot())
+                    .build();
+        }
+
+        // 풀 예외 클래스는 Reactor Netty 내부에 셰이딩되어 있어 이름으로 판별한다
+        private static boolean isAcquireFailure(Throwable e) {
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause.getClass().getSimpleName().startsWith("PoolAcquire")) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
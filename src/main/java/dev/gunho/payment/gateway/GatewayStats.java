@@ -0,0 +1,115 @@
+package dev.gunho.payment.gateway;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponentially weighted moving averages of a gateway's latency and error rate,
+ * plus the number of calls currently in flight. Updates are lock-free CAS loops.
+ * <p>
+ * The error rate also decays with time (halving every {@code errorHalfLife}). A gateway that failed a burst of
+ * calls gets almost no traffic afterwards, so without the decay it would never collect the successful samples
+ * needed to win traffic back.
+ */
+public class GatewayStats {
+
+    static final Duration DEFAULT_ERROR_HALF_LIFE = Duration.ofSeconds(30);
+
+    private final double alpha;
+    private final double errorHalfLifeNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong latencyMillisBits;
+    private final AtomicReference<ErrorRate> errorRate;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param alpha Weight of each new sample, between 0 and 1
+     * @param initialLatencyMillis Latency assumed before the first sample, so a new gateway still gets traffic
+     */
+    public GatewayStats(double alpha, double initialLatencyMillis) {
+        this(alpha, initialLatencyMillis, DEFAULT_ERROR_HALF_LIFE, System::nanoTime);
+    }
+
+    /**
+     * @param alpha Weight of each new sample, between 0 and 1
+     * @param initialLatencyMillis Latency assumed before the first sample, so a new gateway still gets traffic
+     * @param errorHalfLife How long it takes the error rate to halve without new samples
+     * @param nanoClock Source of {@link System#nanoTime()}-style timestamps
+     */
+    public GatewayStats(double alpha, double initialLatencyMillis, Duration errorHalfLife, LongSupplier nanoClock) {
+        this.alpha = alpha;
+        this.errorHalfLifeNanos = errorHalfLife.toNanos();
+        this.nanoClock = nanoClock;
+        this.latencyMillisBits = new AtomicLong(Double.doubleToRawLongBits(initialLatencyMillis));
+        this.errorRate = new AtomicReference<>(new ErrorRate(0.0, nanoClock.getAsLong()));
+    }
+
+    public void onStart() {
+        inFlight.incrementAndGet();
+    }
+
+    public void onComplete(long durationNanos, boolean failure) {
+        inFlight.decrementAndGet();
+        update(latencyMillisBits, durationNanos / 1_000_000.0);
+        double sample = failure ? 1.0 : 0.0;
+        for (;;) {
+            ErrorRate current = errorRate.get();
+            long now = nanoClock.getAsLong();
+            double average = current.decayed(now, errorHalfLifeNanos);
+            if (errorRate.compareAndSet(current, new ErrorRate(average + alpha * (sample - average), now))) {
+                return;
+            }
+        }
+    }
+
+    public void onCancel() {
+        inFlight.decrementAndGet();
+    }
+
+    private void update(AtomicLong bits, double sample) {
+        for (;;) {
+            long current = bits.get();
+            double average = Double.longBitsToDouble(current);
+            double next = average + alpha * (sample - average);
+            if (bits.compareAndSet(current, Double.doubleToRawLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    public double getLatencyMillis() {
+        return Double.longBitsToDouble(latencyMillisBits.get());
+    }
+
+    public double getErrorRate() {
+        return errorRate.get().decayed(nanoClock.getAsLong(), errorHalfLifeNanos);
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * The error rate as of its last sample.
+     */
+    private static final class ErrorRate {
+        private final double rate;
+        private final long atNanos;
+
+        ErrorRate(double rate, long atNanos) {
+            this.rate = rate;
+            this.atNanos = atNanos;
+        }
+
+        double decayed(long now, double halfLifeNanos) {
+            long elapsed = now - atNanos;
+            if (elapsed <= 0 || rate == 0.0 || halfLifeNanos <= 0) {
+                return rate;
+            }
+            return rate * Math.pow(0.5, elapsed / halfLifeNanos);
+        }
+    }
+}
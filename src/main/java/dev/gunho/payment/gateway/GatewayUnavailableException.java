@@ -0,0 +1,15 @@
+package dev.gunho.payment.gateway;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Thrown when a gateway call is rejected locally, because the circuit is open or the bulkhead is full.
+ * Mapped to 503 so that clients back off instead of retrying immediately.
+ */
+public class GatewayUnavailableException extends ResponseStatusException {
+
+    public GatewayUnavailableException(String reason) {
+        super(HttpStatus.SERVICE_UNAVAILABLE, reason);
+    }
+}
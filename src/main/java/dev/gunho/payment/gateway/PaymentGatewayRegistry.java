@@ -0,0 +1,120 @@
+package dev.gunho.payment.gateway;
+
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registry of the available payment gateways and the routing statistics kept for each of them.
+ */
+public class PaymentGatewayRegistry {
+
+    private final Map<String, Gateway> gateways;
+    private final Gateway defaultGateway;
+    private final double errorPenalty;
+
+    /**
+     * @param gateways The gateways, in order of preference; the first one is the default
+     * @param errorPenalty Exponent applied to the success rate when scoring a gateway
+     */
+    public PaymentGatewayRegistry(List<Gateway> gateways, double errorPenalty) {
+        if (gateways.isEmpty()) {
+            throw new IllegalArgumentException("At least one payment gateway is required");
+        }
+        Map<String, Gateway> byName = new LinkedHashMap<>();
+        for (Gateway gateway : gateways) {
+            byName.put(gateway.getName(), gateway);
+        }
+        this.gateways = Map.copyOf(byName);
+        this.defaultGateway = gateways.get(0);
+        this.errorPenalty = errorPenalty;
+    }
+
+    public Gateway get(String name) {
+        return gateways.get(name);
+    }
+
+    public Gateway getDefaultGateway() {
+        return defaultGateway;
+    }
+
+    public Collection<Gateway> getGateways() {
+        return gateways.values();
+    }
+
+    /**
+     * Picks a gateway for a new order, at random in proportion to each gateway's score.
+     * Gateways whose circuit is open are skipped unless no other gateway is left.
+     *
+     * @return The selected gateway
+     */
+    public Gateway select() {
+        if (gateways.size() == 1) {
+            return defaultGateway;
+        }
+
+        double total = 0.0;
+        int index = 0;
+        double[] scores = new double[gateways.size()];
+        Gateway[] candidates = new Gateway[gateways.size()];
+        for (Gateway gateway : gateways.values()) {
+            if (gateway.getService().getCircuitBreaker().getState() == CircuitBreaker.State.OPEN) {
+                continue;
+            }
+            double score = score(gateway);
+            if (score <= 0.0) {
+                continue;
+            }
+            candidates[index] = gateway;
+            scores[index] = score;
+            total += score;
+            index++;
+        }
+
+        if (index == 0) {
+            return defaultGateway;
+        }
+
+        double pick = ThreadLocalRandom.current().nextDouble(total);
+        for (int i = 0; i < index - 1; i++) {
+            pick -= scores[i];
+            if (pick < 0.0) {
+                return candidates[i];
+            }
+        }
+        return candidates[index - 1];
+    }
+
+    /**
+     * Weight divided by the expected cost of one more call: the latency average scaled by the calls already
+     * in flight, discounted by the recent error rate (which decays while the gateway gets no calls).
+     */
+    double score(Gateway gateway) {
+        GatewayStats stats = gateway.getStats();
+        double cost = Math.max(stats.getLatencyMillis(), 1.0) * (stats.getInFlight() + 1);
+        double successRate = 1.0 - Math.min(stats.getErrorRate(), 1.0);
+        return gateway.getWeight() * Math.pow(successRate, errorPenalty) / cost;
+    }
+
+    /**
+     * A gateway together with its routing weight and statistics.
+     */
+    @Getter
+    public static class Gateway {
+        private final String name;
+        private final ResilientPaymentService service;
+        private final GatewayStats stats;
+        private final int weight;
+
+        public Gateway(ResilientPaymentService service, GatewayStats stats, int weight) {
+            this.name = service.getGatewayName();
+            this.service = service;
+            this.stats = stats;
+            this.weight = weight;
+        }
+    }
+}
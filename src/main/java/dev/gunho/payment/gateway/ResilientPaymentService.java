@@ -0,0 +1,102 @@
+package dev.gunho.payment.gateway;
+
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.service.PaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Decorates a PaymentService with a circuit breaker and a bulkhead.
+ * While the circuit is open, or the bulkhead is full, calls fail fast with {@link GatewayUnavailableException}
+ * instead of waiting on a slow upstream.
+ */
+@Slf4j
+public class ResilientPaymentService implements PaymentService {
+
+    private final PaymentService delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ResilientPaymentService(PaymentService delegate, CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    @Override
+    public Mono<String> createOrder(Money amount, String description) {
+        return guard(() -> delegate.createOrder(amount, description));
+    }
+
+    @Override
+    public Mono<String> createOrder(Money amount, String description, String requestId) {
+        return guard(() -> delegate.createOrder(amount, description, requestId));
+    }
+
+    @Override
+    public Mono<Boolean> capturePayment(String orderId) {
+        return guard(() -> delegate.capturePayment(orderId));
+    }
+
+    @Override
+    public String getGatewayName() {
+        return delegate.getGatewayName();
+    }
+
+    // 준비 호출은 서킷과 벌크헤드 통계에 넣지 않는다
+    @Override
+    public Mono<Integer> warmUp(int connections) {
+        return delegate.warmUp(connections);
+    }
+
+    public PaymentService getDelegate() {
+        return delegate;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    private <T> Mono<T> guard(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            if (!bulkhead.tryAcquire()) {
+                return Mono.error(new GatewayUnavailableException(getGatewayName() + " has too many calls in flight"));
+            }
+            if (!circuitBreaker.tryAcquirePermission()) {
+                bulkhead.release();
+                return Mono.error(new GatewayUnavailableException(getGatewayName() + " circuit is open"));
+            }
+
+            long start = System.nanoTime();
+            return Mono.defer(call)
+                    .doOnSuccess(result -> circuitBreaker.onSuccess(System.nanoTime() - start))
+                    .doOnError(e -> {
+                        if (isGatewayFailure(e)) {
+                            circuitBreaker.onError(System.nanoTime() - start);
+                        } else {
+                            circuitBreaker.onSuccess(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    /**
+     * Client errors other than throttling mean the request was wrong, not that the gateway is unhealthy.
+     */
+    private static boolean isGatewayFailure(Throwable e) {
+        if (e instanceof WebClientResponseException responseException) {
+            int status = responseException.getStatusCode().value();
+            return status >= 500 || status == 429;
+        }
+        return true;
+    }
+}
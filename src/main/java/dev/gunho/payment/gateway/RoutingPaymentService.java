@@ -0,0 +1,154 @@
+package dev.gunho.payment.gateway;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.service.PaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * PaymentService that spreads new orders over the registered gateways and sends each capture
+ * to the gateway that created the order. Concurrent captures of one order are coalesced into a single call.
+ * The creating gateway is remembered in a bounded local cache and, on a miss (after a restart, on another
+ * replica, or after eviction), looked up in the persisted order state. With more than one gateway, a capture
+ * whose gateway cannot be resolved fails instead of guessing.
+ */
+@Slf4j
+public class RoutingPaymentService implements PaymentService {
+
+    private final PaymentGatewayRegistry registry;
+    private final Cache<String, String> orderGateways;
+    private final CaptureCoalescer captureCoalescer;
+    private final Function<String, Mono<String>> orderGatewayLookup;
+
+    public RoutingPaymentService(PaymentGatewayRegistry registry, long maxPinnedOrders, Duration pinTtl) {
+        this(registry, maxPinnedOrders, pinTtl, new CaptureCoalescer(maxPinnedOrders, Duration.ofSeconds(30)),
+                orderId -> Mono.empty());
+    }
+
+    /**
+     * @param orderGatewayLookup Finds the name of the gateway that created an order in persisted state,
+     *                           or completes empty if the order is unknown
+     */
+    public RoutingPaymentService(PaymentGatewayRegistry registry, long maxPinnedOrders, Duration pinTtl,
+                                 CaptureCoalescer captureCoalescer, Function<String, Mono<String>> orderGatewayLookup) {
+        this.registry = registry;
+        this.captureCoalescer = captureCoalescer;
+        this.orderGatewayLookup = orderGatewayLookup;
+        this.orderGateways = Caffeine.newBuilder()
+                .maximumSize(maxPinnedOrders)
+                .expireAfterWrite(pinTtl)
+                .build();
+    }
+
+    @Override
+    public Mono<String> createOrder(Money amount, String description) {
+        return createOrder(amount, description, null);
+    }
+
+    @Override
+    public Mono<String> createOrder(Money amount, String description, String requestId) {
+        return Mono.defer(() -> {
+            PaymentGatewayRegistry.Gateway gateway = registry.select();
+            return call(gateway, service -> service.createOrder(amount, description, requestId))
+                    .doOnNext(orderId -> orderGateways.put(orderId, gateway.getName()));
+        });
+    }
+
+    @Override
+    public Mono<Boolean> capturePayment(String orderId) {
+        return captureCoalescer.capture(orderId,
+                id -> resolveGateway(id).flatMap(gateway -> call(gateway, service -> service.capturePayment(id))));
+    }
+
+    /**
+     * Gets the name of the default gateway. Use {@link #getGatewayName(String)} for a specific order.
+     */
+    @Override
+    public String getGatewayName() {
+        return registry.getDefaultGateway().getName();
+    }
+
+    /**
+     * Gets the name of the gateway an order was created or captured on by this instance.
+     * For other orders this is the default gateway's name; captures resolve the gateway from persisted state instead.
+     */
+    @Override
+    public String getGatewayName(String orderId) {
+        String name = orderId == null ? null : orderGateways.getIfPresent(orderId);
+        return name != null && registry.get(name) != null ? name : getGatewayName();
+    }
+
+    /**
+     * Warms up every registered gateway, since any of them can be selected.
+     *
+     * @return A Mono containing the number of probe requests answered across all gateways
+     */
+    @Override
+    public Mono<Integer> warmUp(int connections) {
+        return Flux.fromIterable(registry.getGateways())
+                .flatMap(gateway -> gateway.getService().warmUp(connections))
+                .reduce(Integer::sum);
+    }
+
+    public PaymentGatewayRegistry getRegistry() {
+        return registry;
+    }
+
+    public CaptureCoalescer getCaptureCoalescer() {
+        return captureCoalescer;
+    }
+
+    Mono<PaymentGatewayRegistry.Gateway> resolveGateway(String orderId) {
+        return Mono.defer(() -> {
+            String name = orderId == null ? null : orderGateways.getIfPresent(orderId);
+            PaymentGatewayRegistry.Gateway pinned = name == null ? null : registry.get(name);
+            if (pinned != null) {
+                return Mono.just(pinned);
+            }
+            // 게이트웨이가 하나뿐이면 주문을 만든 곳도 그 게이트웨이다
+            if (registry.getGateways().size() == 1) {
+                return Mono.just(registry.getDefaultGateway());
+            }
+            if (orderId == null) {
+                return Mono.error(unresolved(null));
+            }
+            return orderGatewayLookup.apply(orderId)
+                    .mapNotNull(registry::get)
+                    .doOnNext(gateway -> orderGateways.put(orderId, gateway.getName()))
+                    .switchIfEmpty(Mono.error(() -> unresolved(orderId)));
+        });
+    }
+
+    private static ResponseStatusException unresolved(String orderId) {
+        log.warn("Cannot resolve the gateway of order {}, refusing to capture", orderId);
+        return new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "The gateway that created order " + orderId + " is unknown");
+    }
+
+    private <T> Mono<T> call(PaymentGatewayRegistry.Gateway gateway, Function<PaymentService, Mono<T>> operation) {
+        GatewayStats stats = gateway.getStats();
+        return Mono.defer(() -> {
+            stats.onStart();
+            long start = System.nanoTime();
+            return operation.apply(gateway.getService())
+                    .doOnSuccess(result -> stats.onComplete(System.nanoTime() - start, false))
+                    .doOnError(e -> {
+                        // 로컬에서 거절된 호출은 지연 시간 표본으로 쓰지 않음
+                        if (e instanceof GatewayUnavailableException) {
+                            stats.onCancel();
+                        } else {
+                            stats.onComplete(System.nanoTime() - start, true);
+                        }
+                    })
+                    .doOnCancel(stats::onCancel);
+        });
+    }
+}
@@ -0,0 +1,79 @@
+package dev.gunho.payment.handler.admin;
+
+import dev.gunho.global.ratelimit.RateLimitRule;
+import dev.gunho.global.ratelimit.RateLimiter;
+import dev.gunho.payment.util.Util;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@Component
+public class RateLimitHandler {
+
+    static final String ADMIN_TOKEN = "X-Admin-Token";
+
+    private final RateLimiter rateLimiter;
+    private final byte[] adminToken;
+
+    public RateLimitHandler(RateLimiter rateLimiter,
+                            @Value("${admin.token:}") String adminToken) {
+        this.rateLimiter = rateLimiter;
+        // 토큰이 설정되지 않으면 규칙 조회와 변경은 항상 거절된다
+        this.adminToken = Util.isNullOrEmpty(adminToken) ? null : adminToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the rate limit rules and counters.
+     * The rules tell a client exactly how fast it may send, so this needs the admin token like the update does.
+     *
+     * @param request The HTTP request
+     * @return A Mono containing the server response, or 401 without a valid admin token
+     */
+    public Mono<ServerResponse> getRateLimits(ServerRequest request) {
+        if (!isAdmin(request)) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return rateLimits();
+    }
+
+    /**
+     * Replaces the per-route rate limit rules with the JSON array in the body, without a restart.
+     * Rules are matched in order; requests matching none fall back to the default rule.
+     * The request must carry the configured {@code admin.token} in {@code X-Admin-Token};
+     * without one configured, the rules cannot be changed at runtime.
+     *
+     * @param request The HTTP request containing the rules
+     * @return A Mono containing the server response with the new rules, or 401 without a valid admin token
+     */
+    public Mono<ServerResponse> putRateLimits(ServerRequest request) {
+        if (!isAdmin(request)) {
+            return ServerResponse.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return request.bodyToFlux(RateLimitRule.class)
+                .collectList()
+                .flatMap(rules -> {
+                    rateLimiter.setRules(rules);
+                    return rateLimits();
+                });
+    }
+
+    private Mono<ServerResponse> rateLimits() {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(rateLimiter.snapshot());
+    }
+
+    private boolean isAdmin(ServerRequest request) {
+        String token = request.headers().firstHeader(ADMIN_TOKEN);
+        // 길이 외의 정보가 응답 시간으로 새지 않게 상수 시간으로 비교한다
+        return adminToken != null && token != null
+                && MessageDigest.isEqual(adminToken, token.getBytes(StandardCharsets.UTF_8));
+    }
+}
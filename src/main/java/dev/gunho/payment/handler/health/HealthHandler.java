@@ -0,0 +1,41 @@
+package dev.gunho.payment.handler.health;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Liveness and readiness probes. The application accepts traffic only after the startup warmup has finished,
+ * so a new replica is not put behind the load balancer while it is still cold.
+ */
+@Component
+@RequiredArgsConstructor
+public class HealthHandler {
+
+    private final ApplicationAvailability availability;
+
+    public Mono<ServerResponse> liveness(ServerRequest request) {
+        LivenessState state = availability.getLivenessState();
+        return respond(state == LivenessState.CORRECT, state.name());
+    }
+
+    public Mono<ServerResponse> readiness(ServerRequest request) {
+        ReadinessState state = availability.getReadinessState();
+        return respond(state == ReadinessState.ACCEPTING_TRAFFIC, state.name());
+    }
+
+    private static Mono<ServerResponse> respond(boolean up, String state) {
+        return ServerResponse.status(up ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("state", state));
+    }
+}
@@ -0,0 +1,83 @@
+package dev.gunho.payment.handler.metrics;
+
+import dev.gunho.global.concurrency.AdaptiveConcurrencyLimiter;
+import dev.gunho.global.metrics.RequestMetrics;
+import dev.gunho.payment.gateway.GatewayHttpClients;
+import dev.gunho.payment.service.impl.UserIdFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+@Component
+@RequiredArgsConstructor
+public class MetricsHandler {
+
+    private final RequestMetrics requestMetrics;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final GatewayHttpClients gatewayHttpClients;
+    private final UserIdFilter userIdFilter;
+
+    /**
+     * Gets the per-route latency percentiles and status-code counts since startup.
+     *
+     * @param request The HTTP request
+     * @return A Mono containing the snapshot, keyed by route
+     */
+    public Mono<ServerResponse> getHttpMetrics(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestMetrics.snapshot());
+    }
+
+    /**
+     * Gets the latency percentiles per request stage (decode, token, gateway, encode) since startup.
+     *
+     * @param request The HTTP request
+     * @return A Mono containing the snapshot, keyed by stage
+     */
+    public Mono<ServerResponse> getStageMetrics(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(requestMetrics.stageSnapshot());
+    }
+
+    /**
+     * Gets the adaptive concurrency limit, requests in flight, latency estimates and shed counts.
+     *
+     * @param request The HTTP request
+     * @return A Mono containing the snapshot
+     */
+    public Mono<ServerResponse> getConcurrencyMetrics(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(concurrencyLimiter.snapshot());
+    }
+
+    /**
+     * Gets the connection pool of every gateway: active, idle and pending connections, rejected acquires
+     * and the connection acquire latency percentiles.
+     *
+     * @param request The HTTP request
+     * @return A Mono containing the snapshot, keyed by gateway
+     */
+    public Mono<ServerResponse> getGatewayPoolMetrics(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(gatewayHttpClients.snapshot());
+    }
+
+    /**
+     * Gets the userId filter's size, skipped existence queries and observed and expected false-positive rates.
+     *
+     * @param request The HTTP request
+     * @return A Mono containing the snapshot
+     */
+    public Mono<ServerResponse> getUserIdFilterMetrics(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(userIdFilter.snapshot());
+    }
+}
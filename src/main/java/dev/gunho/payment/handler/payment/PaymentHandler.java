@@ -1,15 +1,21 @@
 package dev.gunho.payment.handler.payment;
 
+import dev.gunho.global.timing.StageTimings;
 import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.service.CaptureJobService;
+import dev.gunho.payment.service.IdempotencyService;
+import dev.gunho.payment.service.PaymentOrderService;
 import dev.gunho.payment.service.PaymentService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
 import java.net.URI;
+import java.util.Arrays;
 
 /**
  * Handler for payment-related HTTP requests.
@@ -18,52 +24,84 @@ import java.net.URI;
 @RequiredArgsConstructor
 public class PaymentHandler {
 
+    private static final String RESPOND_ASYNC = "respond-async";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 64;
+
     private final PaymentService paymentService;
+    private final CaptureJobService captureJobService;
+    private final IdempotencyService idempotencyService;
+    private final PaymentOrderService paymentOrderService;
 
     /**
      * Creates a payment order.
+     * With an {@code Idempotency-Key} header, a retried request returns the order created by the first one;
+     * the order store is then updated by the idempotency service, only when the order is actually created.
      *
      * @param request The HTTP request containing the order details
      * @return A Mono containing the server response
      */
     public Mono<ServerResponse> createOrder(ServerRequest request) {
-        return request.bodyToMono(PaymentPayload.OrderRequest.class)
+        String idempotencyKey = request.headers().firstHeader(IDEMPOTENCY_KEY);
+        if (idempotencyKey != null) {
+            if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+                return ServerResponse.badRequest().build();
+            }
+            return decode(request, PaymentPayload.OrderRequest.class)
+                    .flatMap(orderRequest -> idempotencyService.createOrder(idempotencyKey, orderRequest))
+                    .flatMap(this::created);
+        }
+
+        return decode(request, PaymentPayload.OrderRequest.class)
                 .flatMap(orderRequest -> 
                     paymentService.createOrder(
                             orderRequest.getAmount(),
-                            orderRequest.getCurrency(),
                             orderRequest.getDescription()
                     )
                     .map(orderId -> PaymentPayload.OrderResponse.builder()
                             .orderId(orderId)
-                            .gatewayName(paymentService.getGatewayName())
+                            .gatewayName(paymentService.getGatewayName(orderId))
                             .amount(orderRequest.getAmount())
-                            .currency(orderRequest.getCurrency())
                             .description(orderRequest.getDescription())
                             .userId(orderRequest.getUserId())
                             .build()
                     )
                 )
-                .flatMap(orderResponse -> 
-                    ServerResponse.created(URI.create("/payments/orders/" + orderResponse.getOrderId()))
-                            .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue(orderResponse)
-                );
+                .doOnNext(paymentOrderService::recordCreated)
+                .flatMap(this::created);
     }
 
     /**
      * Captures a payment for a previously created order.
+     * With {@code Prefer: respond-async} the capture is queued and 202 Accepted is returned
+     * with the location of the job; otherwise the capture runs inline. The order is marked failed only when the
+     * gateway answered with an error; local rejections (open circuit, full bulkhead, unknown gateway) and errors
+     * with an unknown outcome, such as timeouts, leave it as it was.
      *
      * @param request The HTTP request containing the capture details
      * @return A Mono containing the server response
      */
     public Mono<ServerResponse> capturePayment(ServerRequest request) {
-        return request.bodyToMono(PaymentPayload.CaptureRequest.class)
+        if (prefersAsync(request)) {
+            return decode(request, PaymentPayload.CaptureRequest.class)
+                    .flatMap(captureJobService::submit)
+                    .flatMap(job ->
+                        ServerResponse.accepted()
+                                .location(URI.create("/payments/capture/" + job.getJobId()))
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .bodyValue(job)
+                    );
+        }
+
+        return decode(request, PaymentPayload.CaptureRequest.class)
                 .flatMap(captureRequest -> 
                     paymentService.capturePayment(captureRequest.getOrderId())
+                    .doOnNext(success -> recordCapture(captureRequest, success))
+                    .doOnError(WebClientResponseException.class, e -> paymentOrderService.recordFailed(
+                            captureRequest.getOrderId(), captureRequest.getUserId(), e.toString()))
                     .map(success -> PaymentPayload.CaptureResponse.builder()
                             .orderId(captureRequest.getOrderId())
-                            .gatewayName(paymentService.getGatewayName())
+                            .gatewayName(paymentService.getGatewayName(captureRequest.getOrderId()))
                             .success(success)
                             .userId(captureRequest.getUserId())
                             .build()
@@ -75,4 +113,62 @@ public class PaymentHandler {
                             .bodyValue(captureResponse)
                 );
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the state of a queued capture.
+     *
+     * @param request The HTTP request containing the job ID
+     * @return A Mono containing the server response
+     */
+    public Mono<ServerResponse> getCaptureJob(ServerRequest request) {
+        return captureJobService.getJob(request.pathVariable("jobId"))
+                .flatMap(job ->
+                    ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(job)
+                )
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    /**
+     * Returns the last known state of an order from the local store, without calling the gateway.
+     *
+     * @param request The HTTP request containing the order ID
+     * @return A Mono containing the server response
+     */
+    public Mono<ServerResponse> getOrder(ServerRequest request) {
+        return paymentOrderService.getOrder(request.pathVariable("orderId"))
+                .flatMap(order ->
+                    ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(order)
+                )
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    private void recordCapture(PaymentPayload.CaptureRequest captureRequest, boolean success) {
+        if (success) {
+            paymentOrderService.recordCaptured(captureRequest.getOrderId(), captureRequest.getUserId());
+        } else {
+            paymentOrderService.recordFailed(captureRequest.getOrderId(), captureRequest.getUserId(),
+                    "Gateway did not complete the capture");
+        }
+    }
+
+    private Mono<ServerResponse> created(PaymentPayload.OrderResponse orderResponse) {
+        return ServerResponse.created(URI.create("/payments/orders/" + orderResponse.getOrderId()))
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(orderResponse);
+    }
+
+    // 요청 본문 읽기/역직렬화 시간을 decode 단계로 기록한다
+    private static <T> Mono<T> decode(ServerRequest request, Class<T> type) {
+        return StageTimings.time(StageTimings.Stage.DECODE, request.bodyToMono(type));
+    }
+
+    private static boolean prefersAsync(ServerRequest request) {
+        return request.headers().header("Prefer").stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .anyMatch(value -> RESPOND_ASYNC.equalsIgnoreCase(value.trim()));
+    }
+}
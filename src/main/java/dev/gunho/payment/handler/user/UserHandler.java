@@ -1,9 +1,12 @@
 package dev.gunho.payment.handler.user;
 
 import dev.gunho.payment.model.dto.UserPayload;
+import dev.gunho.payment.model.entity.Status;
 import dev.gunho.payment.service.UserService;
+import dev.gunho.payment.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
@@ -15,6 +18,8 @@ import java.net.URI;
 @RequiredArgsConstructor
 public class UserHandler {
 
+    static final String LAST_EVENT_ID = "Last-Event-ID";
+
     private final UserService userService;
 
     public Mono<ServerResponse> createUser(ServerRequest request) {
@@ -24,4 +29,50 @@ public class UserHandler {
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(savedUser));
     }
+
+    /**
+     * Streams users in registration order, as NDJSON or, when the client accepts {@code text/event-stream}, as SSE.
+     * Query parameters: {@code status} to filter, {@code cursor} to resume after a previously returned user,
+     * and {@code limit} to stop early. SSE events carry the cursor as their id, so a reconnecting
+     * EventSource resumes through {@code Last-Event-ID}. Rows never include the payKey.
+     *
+     * @param request The HTTP request
+     * @return A Mono containing the streaming server response
+     */
+    public Mono<ServerResponse> listUsers(ServerRequest request) {
+        Status status;
+        long afterIdx;
+        long limit;
+        try {
+            status = request.queryParam("status").map(Status::valueOf).orElse(null);
+            String cursor = request.queryParam("cursor")
+                    .orElse(request.headers().firstHeader(LAST_EVENT_ID));
+            afterIdx = cursor == null || cursor.isEmpty() ? 0L : KeysetCursor.decode(cursor);
+            limit = request.queryParam("limit").map(Long::parseLong).orElse(Long.MAX_VALUE);
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+        if (limit <= 0) {
+            return ServerResponse.badRequest().build();
+        }
+
+        if (request.headers().accept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return ServerResponse.ok()
+                    .contentType(MediaType.TEXT_EVENT_STREAM)
+                    .body(userService.listUsers(status, afterIdx, limit)
+                            .map(user -> ServerSentEvent.builder(user).id(user.getCursor()).build()), ServerSentEvent.class);
+        }
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService.listUsers(status, afterIdx, limit), UserPayload.Summary.class);
+    }
+
+    /**
+     * Creates users from an NDJSON (or JSON array) body and streams one NDJSON result line per user, in input order.
+     */
+    public Mono<ServerResponse> createUsers(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(userService.createUsers(request.bodyToFlux(UserPayload.Request.class)), UserPayload.BulkResult.class);
+    }
 }
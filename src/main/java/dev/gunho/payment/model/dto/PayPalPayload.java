@@ -0,0 +1,69 @@
+package dev.gunho.payment.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Wire models for the PayPal Orders v2 and OAuth APIs.
+ * Only the fields this service sends or reads are modelled.
+ */
+public class PayPalPayload {
+
+    /**
+     * Request body for {@code POST /v2/checkout/orders}.
+     */
+    @Getter
+    @Builder
+    public static class OrderRequest {
+        private String intent;
+        @JsonProperty("purchase_units")
+        private List<PurchaseUnit> purchaseUnits;
+    }
+
+    /**
+     * A single purchase unit of an order request.
+     */
+    @Getter
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class PurchaseUnit {
+        private Amount amount;
+        private String description;
+    }
+
+    /**
+     * Amount of a purchase unit, with the value already in PayPal's decimal string format.
+     */
+    @Getter
+    @Builder
+    public static class Amount {
+        @JsonProperty("currency_code")
+        private String currencyCode;
+        private String value;
+    }
+
+    /**
+     * Fields read from the {@code /v1/oauth2/token} response.
+     */
+    @Getter
+    @Builder
+    public static class TokenResponse {
+        private String accessToken;
+        private long expiresIn;
+    }
+
+    /**
+     * Fields read from an order or capture response.
+     */
+    @Getter
+    @Builder
+    public static class OrderResult {
+        private String id;
+        private String status;
+        private List<String> captureIds;
+    }
+}
@@ -1,8 +1,19 @@
 package dev.gunho.payment.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import dev.gunho.payment.model.entity.CaptureJobStatus;
+import dev.gunho.payment.model.entity.PaymentOrderStatus;
+import dev.gunho.payment.model.money.CurrencyUnit;
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.model.money.MoneyAmountSerializer;
 import lombok.Builder;
 import lombok.Getter;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
 /**
  * Data transfer objects for payment operations.
  */
@@ -10,14 +21,32 @@ public class PaymentPayload {
 
     /**
      * Request payload for creating a payment order.
+     * On the wire the amount is a decimal number and the currency a separate ISO-4217 code.
      */
     @Getter
     @Builder
     public static class OrderRequest {
-        private Double amount;
-        private String currency;
+        @JsonSerialize(using = MoneyAmountSerializer.class)
+        private Money amount;
         private String description;
         private String userId;
+
+        // 금액은 double을 거치지 않도록 BigDecimal로 받는다
+        @JsonCreator
+        static OrderRequest of(@JsonProperty("amount") BigDecimal amount,
+                               @JsonProperty("currency") String currency,
+                               @JsonProperty("description") String description,
+                               @JsonProperty("userId") String userId) {
+            return OrderRequest.builder()
+                    .amount(Money.of(amount, CurrencyUnit.of(currency)))
+                    .description(description)
+                    .userId(userId)
+                    .build();
+        }
+
+        public String getCurrency() {
+            return amount == null ? null : amount.getCurrency().getCode();
+        }
     }
 
     /**
@@ -28,10 +57,14 @@ public class PaymentPayload {
     public static class OrderResponse {
         private String orderId;
         private String gatewayName;
-        private Double amount;
-        private String currency;
+        @JsonSerialize(using = MoneyAmountSerializer.class)
+        private Money amount;
         private String description;
         private String userId;
+
+        public String getCurrency() {
+            return amount == null ? null : amount.getCurrency().getCode();
+        }
     }
 
     /**
@@ -55,4 +88,42 @@ public class PaymentPayload {
         private Boolean success;
         private String userId;
     }
-}
\ No newline at end of file
+
+    /**
+     * Response payload for an asynchronous capture job.
+     */
+    @Getter
+    @Builder
+    public static class CaptureJobResponse {
+        private String jobId;
+        private String orderId;
+        private String userId;
+        private CaptureJobStatus status;
+        private Integer attempts;
+        private String lastError;
+        private LocalDateTime regDate;
+        private LocalDateTime updDate;
+    }
+
+    /**
+     * Response payload for the stored state of a payment order.
+     */
+    @Getter
+    @Builder
+    public static class OrderStatusResponse {
+        private String orderId;
+        private String gatewayName;
+        private String userId;
+        @JsonSerialize(using = MoneyAmountSerializer.class)
+        private Money amount;
+        private String description;
+        private PaymentOrderStatus status;
+        private String lastError;
+        private LocalDateTime regDate;
+        private LocalDateTime updDate;
+
+        public String getCurrency() {
+            return amount == null ? null : amount.getCurrency().getCode();
+        }
+    }
+}
@@ -31,4 +31,35 @@ public class UserPayload {
         private Status status;
         private LocalDateTime regDate;
     }
+
+    /**
+     * One row of the user listing. It never carries the payKey, since the listing is not tied to a single user.
+     */
+    @Getter
+    @Builder
+    public static class Summary {
+        private String userId;
+        private Status status;
+        private LocalDateTime regDate;
+        // 이 유저 다음부터 이어서 읽을 커서
+        private String cursor;
+    }
+
+    /**
+     * Per-row result of a bulk user creation.
+     */
+    @Getter
+    @Builder
+    public static class BulkResult {
+        private String userId;
+        private BulkStatus status;
+        private String payKey;
+        private String error;
+    }
+
+    public enum BulkStatus {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
 }
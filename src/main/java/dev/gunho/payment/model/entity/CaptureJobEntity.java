@@ -0,0 +1,32 @@
+package dev.gunho.payment.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * A capture request queued for the asynchronous capture workers.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table(name = "capture_job")
+public class CaptureJobEntity {
+
+    @Id
+    private Long idx;
+    private String jobId;
+    private String orderId;
+    private String userId;
+    private CaptureJobStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private String claimToken;
+    private String lastError;
+    private LocalDateTime regDate;
+    private LocalDateTime updDate;
+
+}
@@ -0,0 +1,8 @@
+package dev.gunho.payment.model.entity;
+
+public enum CaptureJobStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
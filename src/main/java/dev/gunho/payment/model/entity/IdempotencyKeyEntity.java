@@ -0,0 +1,27 @@
+package dev.gunho.payment.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * The order created for a client's Idempotency-Key.
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table(name = "idempotency_key")
+public class IdempotencyKeyEntity {
+
+    @Id
+    private Long idx;
+    private String idempotencyKey;
+    private String requestHash;
+    private String orderId;
+    private String gatewayName;
+    private LocalDateTime regDate;
+
+}
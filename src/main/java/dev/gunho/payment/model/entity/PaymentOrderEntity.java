@@ -0,0 +1,33 @@
+package dev.gunho.payment.model.entity;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Local record of a payment order and its last known state.
+ * The amount is null for orders first seen at capture (created before the store existed).
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@Table(name = "payment_order")
+public class PaymentOrderEntity {
+
+    @Id
+    private Long idx;
+    private String orderId;
+    private String gatewayName;
+    private String userId;
+    private Long amountMinor;
+    private String currency;
+    private String description;
+    private PaymentOrderStatus status;
+    private String lastError;
+    private LocalDateTime regDate;
+    private LocalDateTime updDate;
+
+}
@@ -0,0 +1,11 @@
+package dev.gunho.payment.model.entity;
+
+/**
+ * Lifecycle of a payment order, in precedence order: a later state never goes back to an earlier one
+ * (a failed capture can still be captured by a retry, a captured order stays captured).
+ */
+public enum PaymentOrderStatus {
+    CREATED,
+    FAILED,
+    CAPTURED
+}
@@ -13,6 +13,9 @@ public interface UserMapper {
 
     UserPayload.Response toDto(UserEntity user);
 
+    // 목록 조회용: payKey 없이 커서를 함께 채운다
+    UserPayload.Summary toSummary(UserEntity user, String cursor);
+
     // DTO -> Entity 변환
     @Mapping(target = "idx", ignore = true)
     UserEntity toEntity(UserPayload.Request dto);
@@ -0,0 +1,86 @@
+package dev.gunho.payment.model.money;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An ISO-4217 currency and the number of minor-unit digits it uses.
+ * Instances are created once per currency when the class is loaded and shared, so they can be compared
+ * with {@code ==} and looking one up does not allocate.
+ */
+public final class CurrencyUnit {
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L
+    };
+
+    private static final Map<String, CurrencyUnit> UNITS;
+
+    static {
+        Map<String, CurrencyUnit> units = new HashMap<>();
+        for (Currency currency : Currency.getAvailableCurrencies()) {
+            int digits = currency.getDefaultFractionDigits();
+            // 금·은(XAU 등)처럼 보조 단위가 없는 코드는 결제 통화로 쓰지 않는다
+            if (digits >= 0 && digits < POWERS_OF_TEN.length) {
+                units.put(currency.getCurrencyCode(), new CurrencyUnit(currency.getCurrencyCode(), digits));
+            }
+        }
+        UNITS = Map.copyOf(units);
+    }
+
+    public static final CurrencyUnit USD = of("USD");
+    public static final CurrencyUnit EUR = of("EUR");
+    public static final CurrencyUnit KRW = of("KRW");
+
+    private final String code;
+    private final int minorDigits;
+    private final long minorPerMajor;
+
+    private CurrencyUnit(String code, int minorDigits) {
+        this.code = code;
+        this.minorDigits = minorDigits;
+        this.minorPerMajor = POWERS_OF_TEN[minorDigits];
+    }
+
+    /**
+     * Looks up a currency by its ISO-4217 code.
+     *
+     * @param code The three-letter currency code (e.g. USD, KRW)
+     * @return The shared instance for the currency
+     * @throws IllegalArgumentException if the code is missing or unknown
+     */
+    public static CurrencyUnit of(String code) {
+        if (code == null) {
+            throw new IllegalArgumentException("currency is required");
+        }
+        CurrencyUnit unit = UNITS.get(code);
+        if (unit == null) {
+            throw new IllegalArgumentException("Unsupported currency: " + code);
+        }
+        return unit;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * Gets the number of digits after the decimal point (2 for USD, 0 for KRW, 3 for BHD).
+     */
+    public int getMinorDigits() {
+        return minorDigits;
+    }
+
+    /**
+     * Gets the number of minor units in one major unit (100 for USD, 1 for KRW).
+     */
+    public long getMinorPerMajor() {
+        return minorPerMajor;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
@@ -0,0 +1,217 @@
+package dev.gunho.payment.model.money;
+
+import java.math.BigDecimal;
+
+/**
+ * An immutable amount of money, held as a whole number of minor units (cents for USD, won for KRW).
+ * Amounts are parsed and formatted exactly, so a value such as 0.30 never passes through a binary double.
+ */
+public final class Money implements Comparable<Money> {
+
+    private final long minorUnits;
+    private final CurrencyUnit currency;
+
+    private Money(long minorUnits, CurrencyUnit currency) {
+        this.minorUnits = minorUnits;
+        this.currency = currency;
+    }
+
+    /**
+     * Creates an amount from minor units.
+     *
+     * @param minorUnits The amount in minor units (e.g. 1050 for USD 10.50)
+     * @param currency The currency
+     * @return The amount
+     */
+    public static Money ofMinor(long minorUnits, CurrencyUnit currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("currency is required");
+        }
+        return new Money(minorUnits, currency);
+    }
+
+    /**
+     * Creates an amount from a decimal value.
+     *
+     * @param amount The amount in major units
+     * @param currency The currency
+     * @return The amount
+     * @throws IllegalArgumentException if the amount has more decimals than the currency allows or does not fit
+     */
+    public static Money of(BigDecimal amount, CurrencyUnit currency) {
+        if (amount == null) {
+            throw new IllegalArgumentException("amount is required");
+        }
+        if (currency == null) {
+            throw new IllegalArgumentException("currency is required");
+        }
+        try {
+            return new Money(amount.movePointRight(currency.getMinorDigits()).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid " + currency.getCode() + " amount: " + amount.toPlainString());
+        }
+    }
+
+    /**
+     * Parses an amount such as {@code "10.5"} or {@code "-3.25"} without going through BigDecimal.
+     *
+     * @param amount The amount in major units
+     * @param currencyCode The ISO-4217 currency code
+     * @return The amount
+     * @throws IllegalArgumentException if the amount is malformed, has too many decimals or does not fit
+     */
+    public static Money parse(String amount, String currencyCode) {
+        CurrencyUnit currency = CurrencyUnit.of(currencyCode);
+        if (amount == null || amount.isEmpty()) {
+            throw new IllegalArgumentException("amount is required");
+        }
+
+        int length = amount.length();
+        int index = 0;
+        boolean negative = false;
+        if (amount.charAt(0) == '-' || amount.charAt(0) == '+') {
+            negative = amount.charAt(0) == '-';
+            index++;
+        }
+
+        long major = 0;
+        int integerDigits = 0;
+        for (; index < length && amount.charAt(index) != '.'; index++, integerDigits++) {
+            major = appendDigit(major, amount.charAt(index), amount);
+        }
+
+        long minor = 0;
+        int fractionDigits = 0;
+        if (index < length) {
+            index++;
+            for (; index < length; index++, fractionDigits++) {
+                minor = appendDigit(minor, amount.charAt(index), amount);
+            }
+            if (fractionDigits == 0 || fractionDigits > currency.getMinorDigits()) {
+                throw new IllegalArgumentException("Invalid " + currency.getCode() + " amount: " + amount);
+            }
+        }
+        if (integerDigits == 0 && fractionDigits == 0) {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+
+        // "10.5" -> 1050 (USD)
+        for (int i = fractionDigits; i < currency.getMinorDigits(); i++) {
+            minor *= 10;
+        }
+        try {
+            long units = Math.addExact(Math.multiplyExact(major, currency.getMinorPerMajor()), minor);
+            return new Money(negative ? -units : units, currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range: " + amount);
+        }
+    }
+
+    public static Money parse(String amount, CurrencyUnit currency) {
+        return parse(amount, currency.getCode());
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public CurrencyUnit getCurrency() {
+        return currency;
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getMinorDigits());
+    }
+
+    /**
+     * Appends the amount in major units with exactly the currency's number of decimals
+     * (e.g. {@code 10.50}, {@code 1000}), which is the format PayPal expects in {@code amount.value}.
+     *
+     * @param target The builder to append to
+     * @return The same builder
+     */
+    public StringBuilder appendAmount(StringBuilder target) {
+        int digits = currency.getMinorDigits();
+        if (minorUnits < 0) {
+            target.append('-');
+        }
+        // Long.MIN_VALUE의 절댓값은 long으로 표현되지 않으므로 음수 상태에서 나눈다
+        long major = -(minorUnits / currency.getMinorPerMajor());
+        long minor = -(minorUnits % currency.getMinorPerMajor());
+        if (minorUnits >= 0) {
+            major = -major;
+            minor = -minor;
+        }
+        target.append(major);
+        if (digits > 0) {
+            target.append('.');
+            for (long scale = currency.getMinorPerMajor() / 10; scale > minor && scale > 1; scale /= 10) {
+                target.append('0');
+            }
+            target.append(minor);
+        }
+        return target;
+    }
+
+    /**
+     * Formats the amount in major units without the currency, e.g. {@code 10.50}.
+     */
+    public String toPlainString() {
+        return appendAmount(new StringBuilder(24)).toString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        requireSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof Money other && minorUnits == other.minorUnits && currency == other.currency;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return appendAmount(new StringBuilder(28).append(currency.getCode()).append(' ')).toString();
+    }
+
+    private void requireSameCurrency(Money other) {
+        if (other.currency != currency) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    private static long appendDigit(long value, char c, String amount) {
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Invalid amount: " + amount);
+        }
+        try {
+            return Math.addExact(Math.multiplyExact(value, 10), c - '0');
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount out of range: " + amount);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package dev.gunho.payment.model.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Writes a Money as a bare JSON number in major units (e.g. {@code 10.50}).
+ * The currency is written by the enclosing payload as a separate property.
+ */
+public class MoneyAmountSerializer extends StdSerializer<Money> {
+
+    public MoneyAmountSerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeNumber(value.toPlainString());
+    }
+}
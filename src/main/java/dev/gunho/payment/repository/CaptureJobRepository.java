@@ -0,0 +1,73 @@
+package dev.gunho.payment.repository;
+
+import dev.gunho.payment.model.entity.CaptureJobEntity;
+import dev.gunho.payment.model.entity.CaptureJobStatus;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository for asynchronous capture jobs.
+ */
+@Repository
+public interface CaptureJobRepository extends ReactiveCrudRepository<CaptureJobEntity, Long> {
+
+    /**
+     * Finds a capture job by its public job ID.
+     *
+     * @param jobId The job ID returned to the client
+     * @return A Mono containing the job, or empty if not found
+     */
+    Mono<CaptureJobEntity> findByJobId(String jobId);
+
+    /**
+     * Claims up to {@code limit} jobs that are due, or whose previous claim has expired, by stamping them
+     * with a claim token in a single statement, so that concurrent workers never claim the same job.
+     *
+     * @param claimToken A token unique to this batch
+     * @param now The current time
+     * @param leaseExpiredBefore In-progress jobs last updated before this time are reclaimed
+     * @param limit The maximum number of jobs to claim
+     * @return A Mono containing the number of jobs claimed
+     */
+    @Modifying
+    @Query("UPDATE capture_job SET status = 'IN_PROGRESS', claim_token = :claimToken, upd_date = :now "
+            + "WHERE (status = 'PENDING' AND next_attempt_at <= :now) "
+            + "OR (status = 'IN_PROGRESS' AND upd_date < :leaseExpiredBefore) "
+            + "ORDER BY next_attempt_at LIMIT :limit")
+    Mono<Long> claimBatch(String claimToken, LocalDateTime now, LocalDateTime leaseExpiredBefore, int limit);
+
+    /**
+     * Finds the jobs stamped with a claim token.
+     *
+     * @param claimToken The claim token
+     * @param status The status of the claimed jobs
+     * @return A Flux of the claimed jobs
+     */
+    Flux<CaptureJobEntity> findByClaimTokenAndStatus(String claimToken, CaptureJobStatus status);
+
+    /**
+     * Writes the outcome of a claimed job and clears its claim, but only while the job still carries the given
+     * claim token. A worker whose lease expired and whose job was claimed again updates nothing.
+     *
+     * @param jobId The job ID
+     * @param claimToken The claim token the job was processed under
+     * @param status The new status
+     * @param attempts The new attempt count
+     * @param nextAttemptAt When the job is due again
+     * @param lastError The last error, or null
+     * @param updDate The update time
+     * @return A Mono containing the number of rows updated: 1, or 0 if the claim was lost
+     */
+    @Modifying
+    @Query("UPDATE capture_job SET status = :status, attempts = :attempts, next_attempt_at = :nextAttemptAt, "
+            + "claim_token = NULL, last_error = :lastError, upd_date = :updDate "
+            + "WHERE job_id = :jobId AND claim_token = :claimToken")
+    Mono<Long> releaseClaim(String jobId, String claimToken, String status, int attempts,
+                            LocalDateTime nextAttemptAt, String lastError, LocalDateTime updDate);
+}
@@ -0,0 +1,21 @@
+package dev.gunho.payment.repository;
+
+import dev.gunho.payment.model.entity.IdempotencyKeyEntity;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository for idempotency keys of order creation requests.
+ */
+@Repository
+public interface IdempotencyKeyRepository extends ReactiveCrudRepository<IdempotencyKeyEntity, Long> {
+
+    /**
+     * Finds the record of an idempotency key.
+     *
+     * @param idempotencyKey The key sent by the client, scoped to the user (SHA-256 hex of userId and key)
+     * @return A Mono containing the record, or empty if the key has not been used
+     */
+    Mono<IdempotencyKeyEntity> findByIdempotencyKey(String idempotencyKey);
+}
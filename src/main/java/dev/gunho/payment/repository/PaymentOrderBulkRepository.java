@@ -0,0 +1,95 @@
+package dev.gunho.payment.repository;
+
+import dev.gunho.payment.model.entity.PaymentOrderEntity;
+import dev.gunho.payment.model.entity.PaymentOrderStatus;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Batched upserts of payment order records for the write-behind order store.
+ */
+@Repository
+@RequiredArgsConstructor
+public class PaymentOrderBulkRepository {
+
+    // 새 상태가 기존 상태보다 앞서지 않으면(CREATED < FAILED < CAPTURED) 상태 관련 열을 그대로 둔다
+    private static final String ADVANCES = rank("VALUES(status)") + " >= " + rank("status");
+
+    // MariaDB는 ON DUPLICATE KEY UPDATE의 대입을 왼쪽부터 적용하므로 상태에 따라 바뀌는 열을 status보다 먼저 갱신한다.
+    // 값이 없는 열은 기존 값을 유지한다.
+    private static final String UPSERT =
+            "INSERT INTO payment_order (order_id, gateway_name, user_id, amount_minor, currency, description, "
+                    + "status, last_error, reg_date, upd_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE "
+                    + "gateway_name = COALESCE(VALUES(gateway_name), gateway_name), "
+                    + "user_id = COALESCE(VALUES(user_id), user_id), "
+                    + "amount_minor = COALESCE(VALUES(amount_minor), amount_minor), "
+                    + "currency = COALESCE(VALUES(currency), currency), "
+                    + "description = COALESCE(VALUES(description), description), "
+                    + "last_error = CASE WHEN " + ADVANCES + " THEN VALUES(last_error) ELSE last_error END, "
+                    + "upd_date = CASE WHEN " + ADVANCES + " THEN VALUES(upd_date) ELSE upd_date END, "
+                    + "status = CASE WHEN " + ADVANCES + " THEN VALUES(status) ELSE status END";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts or updates orders with one statement and one parameter binding per order, sent as a single batch.
+     *
+     * @param orders The orders to write, at most one per orderId
+     * @return A Mono containing the number of orders written
+     */
+    public Mono<Long> upsert(List<PaymentOrderEntity> orders) {
+        if (orders.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return databaseClient.inConnectionMany(connection -> {
+                    Statement statement = connection.createStatement(UPSERT);
+                    for (int i = 0; i < orders.size(); i++) {
+                        if (i > 0) {
+                            statement.add();
+                        }
+                        PaymentOrderEntity order = orders.get(i);
+                        statement.bind(0, order.getOrderId());
+                        bind(statement, 1, order.getGatewayName(), String.class);
+                        bind(statement, 2, order.getUserId(), String.class);
+                        bind(statement, 3, order.getAmountMinor(), Long.class);
+                        bind(statement, 4, order.getCurrency(), String.class);
+                        bind(statement, 5, order.getDescription(), String.class);
+                        statement.bind(6, order.getStatus().name());
+                        bind(statement, 7, order.getLastError(), String.class);
+                        statement.bind(8, order.getRegDate());
+                        bind(statement, 9, order.getUpdDate(), LocalDateTime.class);
+                    }
+                    return Flux.from(statement.execute())
+                            .concatMap(Result::getRowsUpdated);
+                })
+                .then(Mono.just((long) orders.size()));
+    }
+
+    /**
+     * SQL expression for the precedence of a status column, the same order {@link PaymentOrderStatus} declares.
+     */
+    static String rank(String column) {
+        StringBuilder sql = new StringBuilder("CASE ").append(column);
+        for (PaymentOrderStatus status : PaymentOrderStatus.values()) {
+            sql.append(" WHEN '").append(status.name()).append("' THEN ").append(status.ordinal());
+        }
+        return sql.append(" END").toString();
+    }
+
+    private static void bind(Statement statement, int index, Object value, Class<?> type) {
+        if (value == null) {
+            statement.bindNull(index, type);
+        } else {
+            statement.bind(index, value);
+        }
+    }
+}
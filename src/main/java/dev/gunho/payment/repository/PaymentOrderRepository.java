@@ -0,0 +1,21 @@
+package dev.gunho.payment.repository;
+
+import dev.gunho.payment.model.entity.PaymentOrderEntity;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Repository for payment order records.
+ */
+@Repository
+public interface PaymentOrderRepository extends ReactiveCrudRepository<PaymentOrderEntity, Long> {
+
+    /**
+     * Finds an order by its gateway order ID.
+     *
+     * @param orderId The order ID
+     * @return A Mono containing the order, or empty if not found
+     */
+    Mono<PaymentOrderEntity> findByOrderId(String orderId);
+}
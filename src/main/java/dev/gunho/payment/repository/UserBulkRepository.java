@@ -0,0 +1,51 @@
+package dev.gunho.payment.repository;
+
+import dev.gunho.payment.model.entity.UserEntity;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Batched user inserts for bulk provisioning.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UserBulkRepository {
+
+    // 이미 있는 user_id는 오류 대신 0건으로 처리된다 (uk_user_user_id)
+    private static final String INSERT_IGNORE =
+            "INSERT IGNORE INTO `user` (user_id, status, pay_key) VALUES (?, ?, ?)";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts users with one statement and one parameter binding per user, sent as a single batch.
+     *
+     * @param users The users to insert
+     * @return A Flux of the rows inserted per user, in input order: 1 if inserted, 0 if the userId already existed
+     */
+    public Flux<Long> insertIgnoringDuplicates(List<UserEntity> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.inConnectionMany(connection -> {
+            Statement statement = connection.createStatement(INSERT_IGNORE);
+            for (int i = 0; i < users.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                UserEntity user = users.get(i);
+                statement.bind(0, user.getUserId())
+                        .bind(1, user.getStatus().name())
+                        .bind(2, user.getPayKey());
+            }
+            return Flux.from(statement.execute())
+                    .concatMap(Result::getRowsUpdated);
+        });
+    }
+}
@@ -1,8 +1,10 @@
 package dev.gunho.payment.repository;
 
 import dev.gunho.payment.model.entity.UserEntity;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -25,4 +27,36 @@ public interface UserRepository extends ReactiveCrudRepository<UserEntity, Long>
      * @return A Mono containing the user entity, or empty if not found
      */
     Mono<UserEntity> findByUserId(String userId);
+
+    /**
+     * Reads one chunk of userIds in idx order, starting after the given idx (keyset pagination).
+     * Only idx and userId are populated.
+     *
+     * @param afterIdx The last idx of the previous chunk, or 0 for the first chunk
+     * @param limit The maximum number of rows in the chunk
+     * @return A Flux of users with only idx and userId set
+     */
+    @Query("SELECT idx, user_id FROM `user` WHERE idx > :afterIdx ORDER BY idx LIMIT :limit")
+    Flux<UserEntity> findUserIdsAfter(long afterIdx, int limit);
+
+    /**
+     * Reads one page of users in idx order, starting after the given idx (keyset pagination).
+     *
+     * @param afterIdx The last idx of the previous page, or 0 for the first page
+     * @param limit The maximum number of rows in the page
+     * @return A Flux of users
+     */
+    @Query("SELECT * FROM `user` WHERE idx > :afterIdx ORDER BY idx LIMIT :limit")
+    Flux<UserEntity> findPageAfter(long afterIdx, int limit);
+
+    /**
+     * Reads one page of users with the given status in idx order, starting after the given idx.
+     *
+     * @param status The status name
+     * @param afterIdx The last idx of the previous page, or 0 for the first page
+     * @param limit The maximum number of rows in the page
+     * @return A Flux of users
+     */
+    @Query("SELECT * FROM `user` WHERE status = :status AND idx > :afterIdx ORDER BY idx LIMIT :limit")
+    Flux<UserEntity> findPageByStatusAfter(String status, long afterIdx, int limit);
 }
@@ -0,0 +1,26 @@
+package dev.gunho.payment.service;
+
+import dev.gunho.payment.model.dto.PaymentPayload;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service for asynchronous payment captures.
+ */
+public interface CaptureJobService {
+
+    /**
+     * Queues a capture to be processed by the capture workers.
+     *
+     * @param request The capture request
+     * @return A Mono containing the queued job
+     */
+    Mono<PaymentPayload.CaptureJobResponse> submit(PaymentPayload.CaptureRequest request);
+
+    /**
+     * Gets the progress of a queued capture.
+     *
+     * @param jobId The job ID
+     * @return A Mono containing the job, or empty if not found
+     */
+    Mono<PaymentPayload.CaptureJobResponse> getJob(String jobId);
+}
@@ -0,0 +1,21 @@
+package dev.gunho.payment.service;
+
+import dev.gunho.payment.model.dto.PaymentPayload;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface for idempotent order creation.
+ */
+public interface IdempotencyService {
+
+    /**
+     * Creates a payment order at most once per idempotency key and user.
+     * A repeated key returns the order created by the first request; concurrent requests with the same key
+     * wait for the first one instead of creating their own.
+     *
+     * @param idempotencyKey The key sent by the client
+     * @param request The order details
+     * @return A Mono containing the order response
+     */
+    Mono<PaymentPayload.OrderResponse> createOrder(String idempotencyKey, PaymentPayload.OrderRequest request);
+}
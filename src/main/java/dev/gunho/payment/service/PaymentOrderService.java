@@ -0,0 +1,44 @@
+package dev.gunho.payment.service;
+
+import dev.gunho.payment.model.dto.PaymentPayload;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface for the local store of payment order states.
+ * Recording never blocks or fails the caller: records are visible to {@link #getOrder(String)} right away
+ * and written to the database behind the request path.
+ */
+public interface PaymentOrderService {
+
+    /**
+     * Records a newly created order.
+     *
+     * @param order The created order
+     */
+    void recordCreated(PaymentPayload.OrderResponse order);
+
+    /**
+     * Records a successful capture.
+     *
+     * @param orderId The order ID
+     * @param userId The user ID, if known
+     */
+    void recordCaptured(String orderId, String userId);
+
+    /**
+     * Records a failed capture. Does not override an earlier successful capture.
+     *
+     * @param orderId The order ID
+     * @param userId The user ID, if known
+     * @param error What went wrong
+     */
+    void recordFailed(String orderId, String userId, String error);
+
+    /**
+     * Gets the last known state of an order without contacting the gateway.
+     *
+     * @param orderId The order ID
+     * @return A Mono containing the order state, or empty if the order is unknown
+     */
+    Mono<PaymentPayload.OrderStatusResponse> getOrder(String orderId);
+}
@@ -1,5 +1,6 @@
 package dev.gunho.payment.service;
 
+import dev.gunho.payment.model.money.Money;
 import reactor.core.publisher.Mono;
 
 /**
@@ -11,18 +12,31 @@ public interface PaymentService {
     /**
      * Creates a payment order.
      *
-     * @param amount The amount to be charged
-     * @param currency The currency code (e.g., USD, EUR)
+     * @param amount The amount to be charged, in its currency
      * @param description A description of the payment
      * @return A Mono containing the order ID
      */
-    Mono<String> createOrder(Double amount, String currency, String description);
+    Mono<String> createOrder(Money amount, String description);
+
+    /**
+     * Creates a payment order idempotently. Gateways that support it forward the request ID so that
+     * a retried request returns the order created by the first one; others ignore it.
+     *
+     * @param amount The amount to be charged, in its currency
+     * @param description A description of the payment
+     * @param requestId The client's idempotency key, or null
+     * @return A Mono containing the order ID
+     */
+    default Mono<String> createOrder(Money amount, String description, String requestId) {
+        return createOrder(amount, description);
+    }
 
     /**
      * Captures a payment for a previously created order.
      *
      * @param orderId The ID of the order to capture
-     * @return A Mono containing true if the capture was successful, false otherwise
+     * @return A Mono containing true if the capture was successful, false if the gateway did not complete it.
+     *         Errors reaching the gateway are signalled as errors rather than as false.
      */
     Mono<Boolean> capturePayment(String orderId);
 
@@ -32,4 +46,27 @@ public interface PaymentService {
      * @return The name of the payment gateway (e.g., "PayPal", "Stripe")
      */
     String getGatewayName();
-}
\ No newline at end of file
+
+    /**
+     * Gets the name of the payment gateway that handled an order.
+     * Implementations that spread orders over several gateways override this.
+     *
+     * @param orderId The ID of an order created through this service
+     * @return The name of the payment gateway that owns the order
+     */
+    default String getGatewayName(String orderId) {
+        return getGatewayName();
+    }
+
+    /**
+     * Prepares the gateway for traffic before the application reports itself ready, e.g. by fetching
+     * credentials and opening connections. Gateways without anything to prepare do nothing.
+     *
+     * @param connections The number of connections to open
+     * @return A Mono containing the number of probe requests that got a response, or empty if the gateway
+     * has nothing to probe
+     */
+    default Mono<Integer> warmUp(int connections) {
+        return Mono.empty();
+    }
+}
@@ -1,7 +1,9 @@
 package dev.gunho.payment.service;
 
 import dev.gunho.payment.model.dto.UserPayload;
+import dev.gunho.payment.model.entity.Status;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -9,4 +11,24 @@ public interface UserService {
 
     Mono<UserPayload.Response> createUser(UserPayload.Request user);
 
+    /**
+     * Creates users from a stream, inserting them in batches.
+     * UserIds repeated within the stream, or already registered, are reported as duplicates.
+     *
+     * @param users The users to create
+     * @return A Flux of per-user results, in input order
+     */
+    Flux<UserPayload.BulkResult> createUsers(Flux<UserPayload.Request> users);
+
+    /**
+     * Streams users in registration order, reading the table page by page on demand.
+     * Each response carries a cursor to resume after it.
+     *
+     * @param status The status to filter by, or null for all users
+     * @param afterIdx The idx to continue after, or 0 to start from the beginning
+     * @param limit The maximum number of users to return
+     * @return A Flux of users
+     */
+    Flux<UserPayload.Summary> listUsers(Status status, long afterIdx, long limit);
+
 }
@@ -11,6 +11,7 @@ import reactor.core.publisher.Mono;
 
 /**
  * Implementation of the AuthService interface.
+ * PayKey validation reads users through {@link UserCache}, since it runs on every payment request.
  */
 @Slf4j
 @Service
@@ -18,6 +19,7 @@ import reactor.core.publisher.Mono;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
+    private final UserCache userCache;
 
     @Override
     public Mono<Boolean> validatePayKey(String userId, String payKey) {
@@ -25,7 +27,7 @@ public class AuthServiceImpl implements AuthService {
             return Mono.just(false);
         }
 
-        return userRepository.findByUserId(userId)
+        return userCache.get(userId)
                 .map(user -> {
                     boolean isValid = user.getStatus() == Status.ACTIVE && 
                                      payKey.equals(user.getPayKey());
@@ -0,0 +1,71 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.entity.CaptureJobEntity;
+import dev.gunho.payment.model.entity.CaptureJobStatus;
+import dev.gunho.payment.repository.CaptureJobRepository;
+import dev.gunho.payment.service.CaptureJobService;
+import dev.gunho.payment.util.IdGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+/**
+ * Implementation of the CaptureJobService interface.
+ * Jobs are persisted as PENDING and picked up by {@link CaptureJobWorker}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CaptureJobServiceImpl implements CaptureJobService {
+
+    private final CaptureJobRepository captureJobRepository;
+    private final IdGenerator idGenerator;
+
+    @Override
+    public Mono<PaymentPayload.CaptureJobResponse> submit(PaymentPayload.CaptureRequest request) {
+        // 잘못된 요청 본문은 역직렬화 오류와 같이 400으로 응답한다
+        if (request.getOrderId() == null || request.getOrderId().isBlank()) {
+            return Mono.error(new ServerWebInputException("orderId is required"));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        CaptureJobEntity job = CaptureJobEntity.builder()
+                .jobId(idGenerator.nextString())
+                .orderId(request.getOrderId())
+                .userId(request.getUserId())
+                .status(CaptureJobStatus.PENDING)
+                .attempts(0)
+                .nextAttemptAt(now)
+                .regDate(now)
+                .updDate(now)
+                .build();
+
+        return captureJobRepository.save(job)
+                .doOnNext(saved -> log.info("Queued capture job {} for order {}", saved.getJobId(), saved.getOrderId()))
+                .map(CaptureJobServiceImpl::toResponse);
+    }
+
+    @Override
+    public Mono<PaymentPayload.CaptureJobResponse> getJob(String jobId) {
+        return captureJobRepository.findByJobId(jobId)
+                .map(CaptureJobServiceImpl::toResponse);
+    }
+
+    static PaymentPayload.CaptureJobResponse toResponse(CaptureJobEntity job) {
+        return PaymentPayload.CaptureJobResponse.builder()
+                .jobId(job.getJobId())
+                .orderId(job.getOrderId())
+                .userId(job.getUserId())
+                .status(job.getStatus())
+                .attempts(job.getAttempts())
+                .lastError(job.getLastError())
+                .regDate(job.getRegDate())
+                .updDate(job.getUpdDate())
+                .build();
+    }
+}
@@ -0,0 +1,259 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.entity.CaptureJobEntity;
+import dev.gunho.payment.model.entity.CaptureJobStatus;
+import dev.gunho.payment.repository.CaptureJobRepository;
+import dev.gunho.payment.service.PaymentOrderService;
+import dev.gunho.payment.service.PaymentService;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the capture job queue. Each poll claims a batch of due jobs with a single UPDATE, captures them with
+ * bounded concurrency, and keeps claiming while batches come back full. Failed captures are rescheduled with
+ * exponential backoff and jitter until the attempt limit is reached; permanent 4xx gateway errors fail at once.
+ * Outcomes are written only while the job still carries this worker's claim token, so a worker whose lease
+ * expired cannot overwrite the outcome written by the worker that claimed the job again.
+ */
+@Slf4j
+@Component
+public class CaptureJobWorker {
+
+    static final int MAX_ERROR_LENGTH = 512;
+
+    private final CaptureJobRepository captureJobRepository;
+    private final PaymentService paymentService;
+    private final PaymentOrderService paymentOrderService;
+    private final boolean enabled;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+
+    @Getter
+    private final AtomicLong completedCount = new AtomicLong();
+    @Getter
+    private final AtomicLong retriedCount = new AtomicLong();
+    @Getter
+    private final AtomicLong failedCount = new AtomicLong();
+    @Getter
+    private final AtomicLong lostClaimCount = new AtomicLong();
+
+    private volatile Disposable subscription;
+
+    public CaptureJobWorker(CaptureJobRepository captureJobRepository,
+                            PaymentService paymentService,
+                            PaymentOrderService paymentOrderService,
+                            @Value("${payment.capture.worker.enabled:true}") boolean enabled,
+                            @Value("${payment.capture.worker.poll-interval:500ms}") Duration pollInterval,
+                            @Value("${payment.capture.worker.batch-size:50}") int batchSize,
+                            @Value("${payment.capture.worker.concurrency:16}") int concurrency,
+                            @Value("${payment.capture.worker.max-attempts:8}") int maxAttempts,
+                            @Value("${payment.capture.worker.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${payment.capture.worker.max-backoff:5m}") Duration maxBackoff,
+                            @Value("${payment.capture.worker.lease:2m}") Duration lease) {
+        this.captureJobRepository = captureJobRepository;
+        this.paymentService = paymentService;
+        this.paymentOrderService = paymentOrderService;
+        this.enabled = enabled;
+        this.pollInterval = pollInterval;
+        this.batchSize = batchSize;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || subscription != null) {
+            return;
+        }
+        // 이전 드레인이 끝나기 전의 틱은 버린다
+        subscription = Flux.interval(pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .onErrorResume(e -> {
+                            log.error("Capture job drain failed", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+        log.info("Capture job worker started (batch={}, concurrency={})", batchSize, concurrency);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+            subscription = null;
+        }
+    }
+
+    /**
+     * Claims and processes batches until a batch comes back short.
+     *
+     * @return A Mono containing the number of jobs processed
+     */
+    public Mono<Long> drain() {
+        return drainOnce()
+                .expand(processed -> processed >= batchSize ? drainOnce() : Mono.empty())
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Claims and processes a single batch.
+     *
+     * @return A Mono containing the number of jobs processed
+     */
+    Mono<Long> drainOnce() {
+        String claimToken = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        return captureJobRepository.claimBatch(claimToken, now, now.minus(lease), batchSize)
+                .flatMap(claimed -> claimed == 0
+                        ? Mono.just(0L)
+                        : captureJobRepository.findByClaimTokenAndStatus(claimToken, CaptureJobStatus.IN_PROGRESS)
+                                .flatMap(this::process, concurrency)
+                                .count());
+    }
+
+    Mono<CaptureJobEntity> process(CaptureJobEntity job) {
+        return paymentService.capturePayment(job.getOrderId())
+                .map(success -> success
+                        ? complete(job)
+                        : fail(job, "Gateway did not complete the capture"))
+                .onErrorResume(e -> Mono.just(isAlreadyCaptured(e) ? complete(job)
+                        : isPermanent(e) ? fail(job, e.toString())
+                        : retryOrFail(job, e)))
+                .flatMap(next -> release(job, next));
+    }
+
+    /**
+     * Writes the outcome under the job's claim token and applies its side effects only if the claim still holds.
+     */
+    private Mono<CaptureJobEntity> release(CaptureJobEntity claimed, CaptureJobEntity next) {
+        return captureJobRepository.releaseClaim(next.getJobId(), claimed.getClaimToken(), next.getStatus().name(),
+                        next.getAttempts(), next.getNextAttemptAt(), next.getLastError(), next.getUpdDate())
+                .map(updated -> {
+                    if (next.getStatus() == CaptureJobStatus.COMPLETED) {
+                        // 캡처는 실제로 일어났으므로 클레임을 잃었어도 주문 상태에는 남긴다
+                        paymentOrderService.recordCaptured(next.getOrderId(), next.getUserId());
+                    }
+                    if (updated == 0) {
+                        lostClaimCount.incrementAndGet();
+                        log.warn("Capture job {} was claimed again by another worker, discarding the {} outcome",
+                                next.getJobId(), next.getStatus());
+                        return next;
+                    }
+                    switch (next.getStatus()) {
+                        case COMPLETED -> completedCount.incrementAndGet();
+                        case FAILED -> {
+                            failedCount.incrementAndGet();
+                            log.warn("Capture job {} for order {} failed: {}", next.getJobId(), next.getOrderId(), next.getLastError());
+                            paymentOrderService.recordFailed(next.getOrderId(), next.getUserId(), next.getLastError());
+                        }
+                        default -> retriedCount.incrementAndGet();
+                    }
+                    return next;
+                });
+    }
+
+    private CaptureJobEntity complete(CaptureJobEntity job) {
+        return job.toBuilder()
+                .status(CaptureJobStatus.COMPLETED)
+                .attempts(job.getAttempts() + 1)
+                .claimToken(null)
+                .lastError(null)
+                .updDate(LocalDateTime.now())
+                .build();
+    }
+
+    private CaptureJobEntity fail(CaptureJobEntity job, String error) {
+        return job.toBuilder()
+                .status(CaptureJobStatus.FAILED)
+                .attempts(job.getAttempts() + 1)
+                .claimToken(null)
+                .lastError(truncate(error))
+                .updDate(LocalDateTime.now())
+                .build();
+    }
+
+    private CaptureJobEntity retryOrFail(CaptureJobEntity job, Throwable e) {
+        int attempts = job.getAttempts() + 1;
+        if (attempts >= maxAttempts) {
+            return fail(job, e.toString());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return job.toBuilder()
+                .status(CaptureJobStatus.PENDING)
+                .attempts(attempts)
+                .nextAttemptAt(now.plus(backoff(attempts)))
+                .claimToken(null)
+                .lastError(truncate(e.toString()))
+                .updDate(now)
+                .build();
+    }
+
+    /**
+     * Exponential backoff capped at the maximum, with up to 50% jitter so that jobs failed by the same
+     * outage do not all come back at once.
+     */
+    Duration backoff(int attempts) {
+        long initial = initialBackoff.toMillis();
+        long max = maxBackoff.toMillis();
+        long delay = attempts >= 31 ? max : Math.min(max, initial << (attempts - 1));
+        long jitter = ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        return Duration.ofMillis(delay - jitter);
+    }
+
+    // 재시도 중 이전 시도가 실제로 성공한 경우 PayPal은 422 ORDER_ALREADY_CAPTURED를 돌려준다
+    private static boolean isAlreadyCaptured(Throwable e) {
+        return e instanceof WebClientResponseException ex
+                && ex.getStatusCode().value() == HttpStatus.UNPROCESSABLE_ENTITY.value()
+                && ex.getResponseBodyAsString().contains("ORDER_ALREADY_CAPTURED");
+    }
+
+    // 4xx는 다시 보내도 같은 결과다. 단 401(토큰 만료 후 재발급), 408, 409, 425, 429는 일시적인 오류로 본다
+    static boolean isPermanent(Throwable e) {
+        int status;
+        if (e instanceof WebClientResponseException ex) {
+            status = ex.getStatusCode().value();
+        } else if (e instanceof ResponseStatusException ex) {
+            status = ex.getStatusCode().value();
+        } else {
+            return false;
+        }
+        return status >= 400 && status < 500
+                && status != 401 && status != 408 && status != 409 && status != 425 && status != 429;
+    }
+
+    private static String truncate(String error) {
+        if (error == null || error.length() <= MAX_ERROR_LENGTH) {
+            return error;
+        }
+        return error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
@@ -0,0 +1,173 @@
+package dev.gunho.payment.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.entity.IdempotencyKeyEntity;
+import dev.gunho.payment.repository.IdempotencyKeyRepository;
+import dev.gunho.payment.service.IdempotencyService;
+import dev.gunho.payment.service.PaymentOrderService;
+import dev.gunho.payment.service.PaymentService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the IdempotencyService interface.
+ * Keys are scoped to the user, so two users who happen to pick the same key never see each other's orders.
+ * The scoped key is the SHA-256 hex of the length-prefixed userId and key: always 64 characters, and no two
+ * (userId, key) pairs share it. Scoped keys are looked up in a bounded in-memory LRU first and in the
+ * idempotency_key table after that. The scoped key is also forwarded to the gateway as PayPal-Request-Id,
+ * which fits its 108-character limit, so two instances racing on the same key still end up with the same order. Only the request that created the order records it in the
+ * order store; replays return the stored result without touching the order's state.
+ */
+@Slf4j
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+
+    private final PaymentService paymentService;
+    private final PaymentOrderService paymentOrderService;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, IdempotencyKeyEntity> recentKeys;
+    private final ConcurrentMap<String, Mono<IdempotencyKeyEntity>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder storeHits = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder created = new LongAdder();
+
+    public IdempotencyServiceImpl(
+            PaymentService paymentService,
+            PaymentOrderService paymentOrderService,
+            IdempotencyKeyRepository idempotencyKeyRepository,
+            @Value("${payment.idempotency.max-cached-keys:10000}") long maxCachedKeys,
+            @Value("${payment.idempotency.cache-ttl:24h}") Duration cacheTtl) {
+        this.paymentService = paymentService;
+        this.paymentOrderService = paymentOrderService;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(maxCachedKeys)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @Override
+    public Mono<PaymentPayload.OrderResponse> createOrder(String idempotencyKey, PaymentPayload.OrderRequest request) {
+        String requestHash = requestHash(request);
+        String scopedKey = scopedKey(request.getUserId(), idempotencyKey);
+
+        return Mono.defer(() -> {
+                    IdempotencyKeyEntity recent = recentKeys.getIfPresent(scopedKey);
+                    if (recent != null) {
+                        memoryHits.increment();
+                        return Mono.just(recent);
+                    }
+
+                    @SuppressWarnings("unchecked")
+                    Mono<IdempotencyKeyEntity>[] first = new Mono[1];
+                    Mono<IdempotencyKeyEntity> shared = inFlight.computeIfAbsent(scopedKey, key -> {
+                        first[0] = resolve(key, requestHash, request)
+                                .doOnNext(record -> recentKeys.put(key, record))
+                                .doFinally(signal -> inFlight.remove(key, first[0]))
+                                .cache();
+                        return first[0];
+                    });
+                    if (shared != first[0]) {
+                        waited.increment();
+                    }
+                    return shared;
+                })
+                .map(record -> {
+                    if (!record.getRequestHash().equals(requestHash)) {
+                        throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                                "Idempotency-Key was already used for a different request");
+                    }
+                    return toResponse(record, request);
+                });
+    }
+
+    public long getMemoryHitCount() {
+        return memoryHits.sum();
+    }
+
+    public long getStoreHitCount() {
+        return storeHits.sum();
+    }
+
+    public long getWaitedCount() {
+        return waited.sum();
+    }
+
+    public long getCreatedCount() {
+        return created.sum();
+    }
+
+    private Mono<IdempotencyKeyEntity> resolve(String idempotencyKey, String requestHash, PaymentPayload.OrderRequest request) {
+        return idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey)
+                .doOnNext(record -> storeHits.increment())
+                .switchIfEmpty(Mono.defer(() -> paymentService.createOrder(
+                                request.getAmount(), request.getDescription(), idempotencyKey)
+                        .flatMap(orderId -> {
+                            created.increment();
+                            return idempotencyKeyRepository.save(IdempotencyKeyEntity.builder()
+                                    .idempotencyKey(idempotencyKey)
+                                    .requestHash(requestHash)
+                                    .orderId(orderId)
+                                    .gatewayName(paymentService.getGatewayName(orderId))
+                                    .regDate(LocalDateTime.now())
+                                    .build())
+                                    // 주문 저장소에는 실제로 주문을 만든 요청만 기록한다 (재요청은 상태를 되돌리지 않는다)
+                                    .doOnNext(record -> paymentOrderService.recordCreated(toResponse(record, request)));
+                        })
+                        // 다른 인스턴스가 같은 키를 먼저 저장한 경우 그 결과를 따른다
+                        .onErrorResume(DuplicateKeyException.class, e -> {
+                            log.info("Idempotency-Key {} was stored concurrently, reading it back", idempotencyKey);
+                            return idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey);
+                        })));
+    }
+
+    // 클라이언트가 고른 키는 사용자 간에 겹칠 수 있으므로 사용자별로 나눈다.
+    // userId 앞에 길이를 붙여 ("a:b", "c")와 ("a", "b:c")를 구분하고, null은 길이가 올 수 없는 "-"로 표시한다
+    static String scopedKey(String userId, String idempotencyKey) {
+        String canonical = (userId == null ? "-" : userId.length() + ":" + userId) + ":" + idempotencyKey;
+        return sha256Hex(canonical);
+    }
+
+    private static PaymentPayload.OrderResponse toResponse(IdempotencyKeyEntity record, PaymentPayload.OrderRequest request) {
+        return PaymentPayload.OrderResponse.builder()
+                .orderId(record.getOrderId())
+                .gatewayName(record.getGatewayName())
+                .amount(request.getAmount())
+                .description(request.getDescription())
+                .userId(request.getUserId())
+                .build();
+    }
+
+    static String requestHash(PaymentPayload.OrderRequest request) {
+        String canonical = request.getAmount() + "|" + request.getDescription() + "|" + request.getUserId();
+        return sha256Hex(canonical);
+    }
+
+    private static String sha256Hex(String canonical) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package dev.gunho.payment.service.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import dev.gunho.payment.model.dto.PayPalPayload;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JSON codec for PayPal request and response bodies.
+ * Requests are written with a pre-built writer, and responses are read with a streaming parser
+ * that stops as soon as the fields we need have been seen instead of building the whole tree.
+ */
+public final class PayPalJsonCodec {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final ObjectWriter ORDER_REQUEST_WRITER = MAPPER.writerFor(PayPalPayload.OrderRequest.class);
+    private static final JsonFactory JSON_FACTORY = MAPPER.getFactory();
+
+    private PayPalJsonCodec() {
+    }
+
+    /**
+     * Serializes an order request.
+     *
+     * @param request The order request
+     * @return The UTF-8 encoded JSON body
+     */
+    public static byte[] writeOrderRequest(PayPalPayload.OrderRequest request) {
+        try {
+            return ORDER_REQUEST_WRITER.writeValueAsBytes(request);
+        } catch (JsonProcessingException e) {
+            throw new EncodingException("Failed to encode PayPal order request", e);
+        }
+    }
+
+    /**
+     * Reads {@code access_token} and {@code expires_in} from a token response and releases the buffer.
+     *
+     * @param buffer The response body
+     * @return The token response
+     */
+    public static PayPalPayload.TokenResponse readToken(DataBuffer buffer) {
+        try (InputStream in = buffer.asInputStream(true); JsonParser parser = JSON_FACTORY.createParser(in)) {
+            expectObject(parser);
+            String accessToken = null;
+            long expiresIn = -1;
+
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                switch (field) {
+                    case "access_token" -> accessToken = parser.getValueAsString();
+                    case "expires_in" -> expiresIn = parser.getValueAsLong(-1);
+                    default -> parser.skipChildren();
+                }
+                if (accessToken != null && expiresIn >= 0) {
+                    break;
+                }
+            }
+
+            return PayPalPayload.TokenResponse.builder()
+                    .accessToken(accessToken)
+                    .expiresIn(expiresIn)
+                    .build();
+        } catch (IOException e) {
+            throw new DecodingException("Failed to decode PayPal token response", e);
+        }
+    }
+
+    /**
+     * Reads {@code id} and {@code status} from an order response and releases the buffer.
+     *
+     * @param buffer The response body
+     * @return The order result, without capture IDs
+     */
+    public static PayPalPayload.OrderResult readOrder(DataBuffer buffer) {
+        return readOrderResult(buffer, false);
+    }
+
+    /**
+     * Reads {@code id}, {@code status} and the capture IDs under
+     * {@code purchase_units[].payments.captures[]} from a capture response and releases the buffer.
+     *
+     * @param buffer The response body
+     * @return The order result including capture IDs
+     */
+    public static PayPalPayload.OrderResult readCapture(DataBuffer buffer) {
+        return readOrderResult(buffer, true);
+    }
+
+    private static PayPalPayload.OrderResult readOrderResult(DataBuffer buffer, boolean withCaptures) {
+        try (InputStream in = buffer.asInputStream(true); JsonParser parser = JSON_FACTORY.createParser(in)) {
+            expectObject(parser);
+            String id = null;
+            String status = null;
+            List<String> captureIds = withCaptures ? new ArrayList<>(1) : List.of();
+            boolean capturesRead = !withCaptures;
+
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                parser.nextToken();
+                switch (field) {
+                    case "id" -> id = parser.getValueAsString();
+                    case "status" -> status = parser.getValueAsString();
+                    case "purchase_units" -> {
+                        if (withCaptures) {
+                            readCaptureIds(parser, captureIds);
+                            capturesRead = true;
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+                // 필요한 필드를 모두 읽었으면 나머지(links, payer 등)는 파싱하지 않음
+                if (id != null && status != null && capturesRead) {
+                    break;
+                }
+            }
+
+            return PayPalPayload.OrderResult.builder()
+                    .id(id)
+                    .status(status)
+                    .captureIds(captureIds)
+                    .build();
+        } catch (IOException e) {
+            throw new DecodingException("Failed to decode PayPal order response", e);
+        }
+    }
+
+    private static void readCaptureIds(JsonParser parser, List<String> captureIds) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String unitField;
+            while ((unitField = parser.nextFieldName()) != null) {
+                if (parser.nextToken() != JsonToken.START_OBJECT || !"payments".equals(unitField)) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                String paymentsField;
+                while ((paymentsField = parser.nextFieldName()) != null) {
+                    if (parser.nextToken() != JsonToken.START_ARRAY || !"captures".equals(paymentsField)) {
+                        parser.skipChildren();
+                        continue;
+                    }
+
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        String captureField;
+                        while ((captureField = parser.nextFieldName()) != null) {
+                            parser.nextToken();
+                            if ("id".equals(captureField)) {
+                                captureIds.add(parser.getValueAsString());
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static void expectObject(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new DecodingException("Expected a JSON object from PayPal");
+        }
+    }
+}
@@ -1,15 +1,25 @@
 package dev.gunho.payment.service.impl;
 
+import dev.gunho.global.timing.StageTimings;
+import dev.gunho.payment.gateway.GatewayHttpClients;
+import dev.gunho.payment.model.dto.PayPalPayload;
+import dev.gunho.payment.model.money.Money;
 import dev.gunho.payment.service.PaymentService;
+import dev.gunho.payment.util.Util;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.Base64;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 /**
  * PayPal implementation of the PaymentService interface.
@@ -19,91 +29,178 @@ import java.util.Map;
 @Service
 public class PayPalPaymentService implements PaymentService {
 
+    // expires_in이 없는 응답에 대한 보수적인 기본값 (PayPal은 보통 32400초를 내려준다)
+    private static final long DEFAULT_TOKEN_TTL_SECONDS = 900;
+
+    static final String PAYPAL_REQUEST_ID = "PayPal-Request-Id";
+    static final String GATEWAY_NAME = "PayPal";
+
     private final WebClient webClient;
     private final String clientId;
     private final String clientSecret;
     private final String baseUrl;
+    private final String basicCredentials;
+    private final PayPalTokenManager tokenManager;
 
+    /**
+     * Creates the service on the gateway's own tuned, instrumented connection pool.
+     */
+    @Autowired
     public PayPalPaymentService(
             WebClient.Builder webClientBuilder,
+            GatewayHttpClients gatewayHttpClients,
             @Value("${api.paypal.client}") String clientId,
             @Value("${api.paypal.secret}") String clientSecret,
             @Value("${api.paypal.base-url:https://api-m.sandbox.paypal.com}") String baseUrl) {
+        this(gatewayHttpClients.webClientBuilder(GATEWAY_NAME, webClientBuilder), clientId, clientSecret, baseUrl);
+    }
+
+    /**
+     * Creates the service on the given WebClient builder as is.
+     */
+    public PayPalPaymentService(WebClient.Builder webClientBuilder, String clientId, String clientSecret, String baseUrl) {
         this.clientId = clientId;
         this.clientSecret = clientSecret;
         this.baseUrl = baseUrl;
         this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+        // 자격 증명은 변하지 않으므로 한 번만 인코딩
+        this.basicCredentials = "Basic " + Base64.getEncoder()
+                .encodeToString((clientId + ":" + clientSecret).getBytes(StandardCharsets.UTF_8));
+        this.tokenManager = new PayPalTokenManager(this::requestAccessToken);
     }
 
     @Override
-    public Mono<String> createOrder(Double amount, String currency, String description) {
-        return getAccessToken()
+    public Mono<String> createOrder(Money amount, String description) {
+        return createOrder(amount, description, null);
+    }
+
+    /**
+     * Creates a PayPal order. A non-empty request ID is sent as {@code PayPal-Request-Id},
+     * so PayPal returns the original order when the same request is retried.
+     */
+    @Override
+    public Mono<String> createOrder(Money amount, String description, String requestId) {
+        return token()
                 .flatMap(token -> {
-                    Map<String, Object> orderRequest = new HashMap<>();
-                    orderRequest.put("intent", "CAPTURE");
-                    
-                    Map<String, Object> amountMap = new HashMap<>();
-                    amountMap.put("currency_code", currency);
-                    amountMap.put("value", amount.toString());
-                    
-                    Map<String, Object> purchaseUnit = new HashMap<>();
-                    purchaseUnit.put("amount", amountMap);
-                    if (description != null && !description.isEmpty()) {
-                        purchaseUnit.put("description", description);
-                    }
-                    
-                    orderRequest.put("purchase_units", new Object[]{purchaseUnit});
-                    
-                    return webClient.post()
+                    byte[] body = PayPalJsonCodec.writeOrderRequest(buildOrderRequest(amount, description));
+
+                    WebClient.RequestBodySpec request = webClient.post()
                             .uri("/v2/checkout/orders")
                             .header("Authorization", "Bearer " + token)
-                            .header("Content-Type", "application/json")
-                            .bodyValue(orderRequest)
-                            .retrieve()
-                            .bodyToMono(Map.class)
-                            .map(response -> (String) response.get("id"))
+                            .header("Content-Type", "application/json");
+                    if (!Util.isNullOrEmpty(requestId)) {
+                        request = request.header(PAYPAL_REQUEST_ID, requestId);
+                    }
+
+                    return StageTimings.time(StageTimings.Stage.GATEWAY, request.bodyValue(body)
+                                    .retrieve()
+                                    .bodyToMono(DataBuffer.class)
+                                    .map(PayPalJsonCodec::readOrder))
+                            .map(PayPalPayload.OrderResult::getId)
+                            .doOnError(WebClientResponseException.Unauthorized.class, e -> tokenManager.invalidate())
                             .doOnError(e -> log.error("Error creating PayPal order: {}", e.getMessage()));
                 });
     }
 
     @Override
     public Mono<Boolean> capturePayment(String orderId) {
-        return getAccessToken()
-                .flatMap(token -> webClient.post()
-                        .uri("/v2/checkout/orders/" + orderId + "/capture")
-                        .header("Authorization", "Bearer " + token)
-                        .header("Content-Type", "application/json")
-                        .retrieve()
-                        .bodyToMono(Map.class)
-                        .map(response -> {
-                            String status = (String) response.get("status");
-                            return "COMPLETED".equals(status);
-                        })
-                        .doOnError(e -> log.error("Error capturing PayPal payment: {}", e.getMessage()))
-                        .onErrorReturn(false));
+        return token()
+                .flatMap(token -> StageTimings.time(StageTimings.Stage.GATEWAY, webClient.post()
+                                .uri("/v2/checkout/orders/" + orderId + "/capture")
+                                .header("Authorization", "Bearer " + token)
+                                .header("Content-Type", "application/json")
+                                .retrieve()
+                                .bodyToMono(DataBuffer.class)
+                                .map(PayPalJsonCodec::readCapture))
+                        .map(result -> "COMPLETED".equals(result.getStatus()))
+                        .doOnError(WebClientResponseException.Unauthorized.class, e -> tokenManager.invalidate())
+                        .doOnError(e -> log.error("Error capturing PayPal payment: {}", e.getMessage())));
     }
 
     @Override
     public String getGatewayName() {
-        return "PayPal";
+        return GATEWAY_NAME;
     }
 
     /**
-     * Gets an access token from the PayPal API.
+     * Fetches the access token and opens connections to the API host, so the first payments skip the
+     * OAuth round trip and the TLS handshakes. A probe counts as answered whatever its status, since any
+     * response means the connection was opened; probes that fail to connect are logged and not counted.
      *
-     * @return A Mono containing the access token
+     * @return A Mono containing the number of probe requests that got a response
      */
-    private Mono<String> getAccessToken() {
-        String credentials = Base64.getEncoder().encodeToString((clientId + ":" + clientSecret).getBytes());
-        
+    @Override
+    public Mono<Integer> warmUp(int connections) {
+        // 동시에 요청해야 커넥션이 재사용되지 않고 새로 열린다
+        return tokenManager.getToken()
+                .thenMany(Flux.range(0, connections)
+                        .flatMap(i -> webClient.head()
+                                .uri("/")
+                                .exchangeToMono(response -> response.releaseBody().thenReturn(1))
+                                .onErrorResume(e -> {
+                                    log.warn("PayPal warmup probe failed: {}", e.toString());
+                                    return Mono.just(0);
+                                }), Math.max(1, connections)))
+                .reduce(0, Integer::sum);
+    }
+
+    /**
+     * Gets the token manager that caches this gateway's OAuth access token.
+     *
+     * @return The token manager
+     */
+    public PayPalTokenManager getTokenManager() {
+        return tokenManager;
+    }
+
+    private Mono<String> token() {
+        return StageTimings.time(StageTimings.Stage.TOKEN, tokenManager.getToken());
+    }
+
+    /**
+     * Builds the typed order request sent to PayPal.
+     *
+     * @param amount The amount to be charged
+     * @param description A description of the payment, omitted when empty
+     * @return The order request
+     */
+    static PayPalPayload.OrderRequest buildOrderRequest(Money amount, String description) {
+        PayPalPayload.PurchaseUnit purchaseUnit = PayPalPayload.PurchaseUnit.builder()
+                .amount(PayPalPayload.Amount.builder()
+                        .currencyCode(amount.getCurrency().getCode())
+                        // PayPal은 통화의 소수 자릿수에 맞춘 문자열을 요구한다 (USD 10.50, JPY 1000)
+                        .value(amount.toPlainString())
+                        .build())
+                .description(Util.isNullOrEmpty(description) ? null : description)
+                .build();
+
+        return PayPalPayload.OrderRequest.builder()
+                .intent("CAPTURE")
+                .purchaseUnits(List.of(purchaseUnit))
+                .build();
+    }
+
+    /**
+     * Requests a new access token from the PayPal API.
+     *
+     * @return A Mono containing the access token and its expiry
+     */
+    private Mono<PayPalTokenManager.AccessToken> requestAccessToken() {
         return webClient.post()
                 .uri("/v1/oauth2/token")
-                .header("Authorization", "Basic " + credentials)
+                .header("Authorization", basicCredentials)
                 .header("Content-Type", "application/x-www-form-urlencoded")
                 .bodyValue("grant_type=client_credentials")
                 .retrieve()
-                .bodyToMono(Map.class)
-                .map(response -> (String) response.get("access_token"))
+                .bodyToMono(DataBuffer.class)
+                .map(PayPalJsonCodec::readToken)
+                .map(response -> {
+                    if (response.getAccessToken() == null) {
+                        throw new IllegalStateException("PayPal token response has no access_token");
+                    }
+                    long ttlSeconds = response.getExpiresIn() >= 0 ? response.getExpiresIn() : DEFAULT_TOKEN_TTL_SECONDS;
+                    return tokenManager.expiringIn(response.getAccessToken(), Duration.ofSeconds(ttlSeconds));
+                })
                 .doOnError(e -> log.error("Error getting PayPal access token: {}", e.getMessage()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package dev.gunho.payment.service.impl;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caches the PayPal OAuth access token and refreshes it before it expires.
+ * Concurrent refreshes are coalesced so that only one token request is in flight at a time.
+ */
+@Slf4j
+public class PayPalTokenManager {
+
+    static final Duration DEFAULT_EXPIRY_SKEW = Duration.ofSeconds(30);
+    static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(5);
+
+    private final Supplier<Mono<AccessToken>> tokenFetcher;
+    private final Clock clock;
+    private final long expirySkewMillis;
+    private final long refreshAheadMillis;
+
+    private final AtomicReference<AccessToken> current = new AtomicReference<>();
+    private final AtomicReference<Mono<AccessToken>> inFlight = new AtomicReference<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder refreshNanos = new LongAdder();
+
+    public PayPalTokenManager(Supplier<Mono<AccessToken>> tokenFetcher) {
+        this(tokenFetcher, Clock.systemUTC(), DEFAULT_EXPIRY_SKEW, DEFAULT_REFRESH_AHEAD);
+    }
+
+    public PayPalTokenManager(Supplier<Mono<AccessToken>> tokenFetcher, Clock clock,
+                              Duration expirySkew, Duration refreshAhead) {
+        this.tokenFetcher = tokenFetcher;
+        this.clock = clock;
+        this.expirySkewMillis = expirySkew.toMillis();
+        this.refreshAheadMillis = Math.max(refreshAhead.toMillis(), expirySkewMillis);
+    }
+
+    /**
+     * Gets a valid access token, fetching a new one only when the cached token is missing or expired.
+     * A token that is close to expiry is still returned, while a refresh is started in the background.
+     *
+     * @return A Mono containing the access token
+     */
+    public Mono<String> getToken() {
+        AccessToken token = current.get();
+        long now = clock.millis();
+
+        if (token != null && now < token.getExpiresAtMillis() - expirySkewMillis) {
+            hits.increment();
+            if (now >= token.getExpiresAtMillis() - refreshAheadMillis && inFlight.get() == null) {
+                refresh().subscribe(
+                        t -> log.debug("PayPal access token refreshed in background"),
+                        e -> log.warn("Background PayPal token refresh failed: {}", e.getMessage()));
+            }
+            return Mono.just(token.getValue());
+        }
+
+        misses.increment();
+        return refresh().map(AccessToken::getValue);
+    }
+
+    /**
+     * Creates a token that expires the given time from now, measured with this manager's clock, so that the
+     * expiry and the freshness checks in {@link #getToken()} use the same time source.
+     *
+     * @param value The token value
+     * @param ttl How long the token is valid, as advertised by the gateway
+     * @return The access token
+     */
+    public AccessToken expiringIn(String value, Duration ttl) {
+        return new AccessToken(value, clock.millis() + ttl.toMillis());
+    }
+
+    /**
+     * Drops the cached token so that the next call fetches a new one.
+     * Used when the gateway rejects a token before its advertised expiry.
+     */
+    public void invalidate() {
+        current.set(null);
+    }
+
+    /**
+     * Starts a token request unless one is already running, in which case the running one is shared.
+     */
+    private Mono<AccessToken> refresh() {
+        for (;;) {
+            Mono<AccessToken> pending = inFlight.get();
+            if (pending != null) {
+                coalesced.increment();
+                return pending;
+            }
+
+            Sinks.One<AccessToken> sink = Sinks.one();
+            Mono<AccessToken> candidate = sink.asMono();
+            if (!inFlight.compareAndSet(null, candidate)) {
+                continue;
+            }
+
+            long start = System.nanoTime();
+            Mono.defer(tokenFetcher).subscribe(
+                    token -> {
+                        refreshNanos.add(System.nanoTime() - start);
+                        refreshes.increment();
+                        current.set(token);
+                        inFlight.set(null);
+                        sink.tryEmitValue(token);
+                    },
+                    e -> {
+                        refreshFailures.increment();
+                        inFlight.set(null);
+                        sink.tryEmitError(e);
+                    },
+                    () -> {
+                        if (inFlight.compareAndSet(candidate, null)) {
+                            sink.tryEmitError(new IllegalStateException("PayPal returned no access token"));
+                        }
+                    });
+            return candidate;
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getRefreshCount() {
+        return refreshes.sum();
+    }
+
+    public long getRefreshFailureCount() {
+        return refreshFailures.sum();
+    }
+
+    /**
+     * Gets the mean latency of successful token requests.
+     *
+     * @return The mean refresh latency in milliseconds, or 0 if no refresh has completed yet
+     */
+    public double getAverageRefreshLatencyMillis() {
+        long count = refreshes.sum();
+        return count == 0 ? 0.0 : refreshNanos.sum() / (count * 1_000_000.0);
+    }
+
+    /**
+     * An access token together with the instant it expires.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static final class AccessToken {
+        private final String value;
+        private final long expiresAtMillis;
+    }
+}
@@ -0,0 +1,258 @@
+package dev.gunho.payment.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.entity.PaymentOrderEntity;
+import dev.gunho.payment.model.entity.PaymentOrderStatus;
+import dev.gunho.payment.model.money.CurrencyUnit;
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.repository.PaymentOrderBulkRepository;
+import dev.gunho.payment.repository.PaymentOrderRepository;
+import dev.gunho.payment.service.PaymentOrderService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Implementation of the PaymentOrderService interface.
+ * Records are merged into a bounded cache of recent orders (so reads see them at once) and into a map of
+ * pending writes. Every flush interval the pending map is written with batched upserts, one row per order
+ * however many times it changed. A failed batch is merged back and retried on the next flush.
+ */
+@Slf4j
+@Service
+public class PaymentOrderServiceImpl implements PaymentOrderService {
+
+    static final int MAX_ERROR_LENGTH = 512;
+
+    private final PaymentOrderRepository paymentOrderRepository;
+    private final PaymentOrderBulkRepository paymentOrderBulkRepository;
+    private final Duration flushInterval;
+    private final int batchSize;
+    private final Cache<String, PaymentOrderEntity> recentOrders;
+    private final ConcurrentMap<String, PaymentOrderEntity> pending = new ConcurrentHashMap<>();
+    private volatile Disposable flushJob;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failedFlushes = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder storeReads = new LongAdder();
+
+    public PaymentOrderServiceImpl(
+            PaymentOrderRepository paymentOrderRepository,
+            PaymentOrderBulkRepository paymentOrderBulkRepository,
+            @Value("${payment.order-store.flush-interval:200ms}") Duration flushInterval,
+            @Value("${payment.order-store.batch-size:500}") int batchSize,
+            @Value("${payment.order-store.cache-max-size:100000}") long cacheMaxSize,
+            @Value("${payment.order-store.cache-ttl:1h}") Duration cacheTtl) {
+        this.paymentOrderRepository = paymentOrderRepository;
+        this.paymentOrderBulkRepository = paymentOrderBulkRepository;
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.recentOrders = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (flushJob != null) {
+            return;
+        }
+        // 이전 flush가 끝나기 전의 틱은 버린다
+        flushJob = Flux.interval(flushInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = flushJob;
+        if (current != null) {
+            current.dispose();
+            flushJob = null;
+        }
+        // 종료 전에 남은 기록을 내려쓴다
+        flush().block(Duration.ofSeconds(10));
+    }
+
+    @Override
+    public void recordCreated(PaymentPayload.OrderResponse order) {
+        LocalDateTime now = LocalDateTime.now();
+        Money amount = order.getAmount();
+        record(PaymentOrderEntity.builder()
+                .orderId(order.getOrderId())
+                .gatewayName(order.getGatewayName())
+                .userId(order.getUserId())
+                .amountMinor(amount == null ? null : amount.getMinorUnits())
+                .currency(order.getCurrency())
+                .description(order.getDescription())
+                .status(PaymentOrderStatus.CREATED)
+                .regDate(now)
+                .updDate(now)
+                .build());
+    }
+
+    @Override
+    public void recordCaptured(String orderId, String userId) {
+        record(transition(orderId, userId, PaymentOrderStatus.CAPTURED, null));
+    }
+
+    @Override
+    public void recordFailed(String orderId, String userId, String error) {
+        record(transition(orderId, userId, PaymentOrderStatus.FAILED, error));
+    }
+
+    @Override
+    public Mono<PaymentPayload.OrderStatusResponse> getOrder(String orderId) {
+        return Mono.defer(() -> {
+                    PaymentOrderEntity recent = recentOrders.getIfPresent(orderId);
+                    if (recent == null) {
+                        recent = pending.get(orderId);
+                    }
+                    if (recent != null) {
+                        cacheHits.increment();
+                        return Mono.just(recent);
+                    }
+                    storeReads.increment();
+                    return paymentOrderRepository.findByOrderId(orderId)
+                            .map(stored -> recentOrders.asMap().merge(orderId, stored, PaymentOrderServiceImpl::merge));
+                })
+                .map(PaymentOrderServiceImpl::toResponse);
+    }
+
+    /**
+     * Writes pending records in batches until none are left or a batch fails.
+     *
+     * @return A Mono containing the number of orders written
+     */
+    public Mono<Long> flush() {
+        return flushOnce()
+                .expand(flushed -> flushed >= batchSize ? flushOnce() : Mono.empty())
+                .reduce(0L, Long::sum);
+    }
+
+    Mono<Long> flushOnce() {
+        return Mono.defer(() -> {
+            List<PaymentOrderEntity> batch = new ArrayList<>(Math.min(pending.size(), batchSize));
+            for (String orderId : pending.keySet()) {
+                PaymentOrderEntity order = pending.remove(orderId);
+                if (order != null) {
+                    batch.add(order);
+                }
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+            }
+            if (batch.isEmpty()) {
+                return Mono.just(0L);
+            }
+            return paymentOrderBulkRepository.upsert(batch)
+                    .doOnNext(written::add)
+                    .onErrorResume(e -> {
+                        // 그 사이 들어온 기록과 합쳐서 다음 flush에서 다시 쓴다
+                        log.warn("Failed to write {} payment orders, will retry: {}", batch.size(), e.toString());
+                        failedFlushes.increment();
+                        batch.forEach(order -> pending.merge(order.getOrderId(), order, PaymentOrderServiceImpl::merge));
+                        return Mono.just(0L);
+                    });
+        });
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedFlushCount() {
+        return failedFlushes.sum();
+    }
+
+    public long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    public long getStoreReadCount() {
+        return storeReads.sum();
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void record(PaymentOrderEntity order) {
+        if (order.getOrderId() == null) {
+            return;
+        }
+        recentOrders.asMap().merge(order.getOrderId(), order, PaymentOrderServiceImpl::merge);
+        pending.merge(order.getOrderId(), order, PaymentOrderServiceImpl::merge);
+    }
+
+    private static PaymentOrderEntity transition(String orderId, String userId, PaymentOrderStatus status, String error) {
+        LocalDateTime now = LocalDateTime.now();
+        return PaymentOrderEntity.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .status(status)
+                .lastError(error == null || error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH))
+                .regDate(now)
+                .updDate(now)
+                .build();
+    }
+
+    /**
+     * Combines two records of the same order: the later lifecycle state wins, and fields missing from
+     * the newer record are kept from the older one.
+     */
+    static PaymentOrderEntity merge(PaymentOrderEntity older, PaymentOrderEntity newer) {
+        boolean advance = newer.getStatus().compareTo(older.getStatus()) >= 0;
+        PaymentOrderEntity state = advance ? newer : older;
+        return older.toBuilder()
+                .gatewayName(coalesce(newer.getGatewayName(), older.getGatewayName()))
+                .userId(coalesce(newer.getUserId(), older.getUserId()))
+                .amountMinor(coalesce(newer.getAmountMinor(), older.getAmountMinor()))
+                .currency(coalesce(newer.getCurrency(), older.getCurrency()))
+                .description(coalesce(newer.getDescription(), older.getDescription()))
+                .status(state.getStatus())
+                .lastError(state.getLastError())
+                .regDate(older.getRegDate().isBefore(newer.getRegDate()) ? older.getRegDate() : newer.getRegDate())
+                .updDate(state.getUpdDate())
+                .build();
+    }
+
+    private static <T> T coalesce(T preferred, T fallback) {
+        return preferred != null ? preferred : fallback;
+    }
+
+    static PaymentPayload.OrderStatusResponse toResponse(PaymentOrderEntity order) {
+        return PaymentPayload.OrderStatusResponse.builder()
+                .orderId(order.getOrderId())
+                .gatewayName(order.getGatewayName())
+                .userId(order.getUserId())
+                .amount(order.getAmountMinor() == null || order.getCurrency() == null
+                        ? null
+                        : Money.ofMinor(order.getAmountMinor(), CurrencyUnit.of(order.getCurrency())))
+                .description(order.getDescription())
+                .status(order.getStatus())
+                .lastError(order.getLastError())
+                .regDate(order.getRegDate())
+                .updDate(order.getUpdDate())
+                .build();
+    }
+}
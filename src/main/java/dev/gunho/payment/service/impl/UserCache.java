@@ -0,0 +1,119 @@
+package dev.gunho.payment.service.impl;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import dev.gunho.payment.model.entity.UserEntity;
+import dev.gunho.payment.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-based cache of users by userId, in front of {@link UserRepository#findByUserId(String)}.
+ * Unknown users are cached too, for a shorter time, so that guessing userIds does not reach the database.
+ * Concurrent misses for the same userId share one query.
+ * Anything that changes a user's status or payKey must call {@link #invalidate(String)}.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, Optional<UserEntity>> users;
+
+    public UserCache(
+            UserRepository userRepository,
+            @Value("${auth.user-cache.maximum-size:100000}") long maximumSize,
+            @Value("${auth.user-cache.ttl:60s}") Duration ttl,
+            @Value("${auth.user-cache.negative-ttl:5s}") Duration negativeTtl) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new FoundOrMissingExpiry(ttl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Gets a user, loading it from the database on a miss.
+     *
+     * @param userId The user ID
+     * @return A Mono containing the user, or empty if the user does not exist
+     */
+    public Mono<UserEntity> get(String userId) {
+        return Mono.defer(() -> Mono.fromFuture(users.get(userId, (key, executor) ->
+                                userRepository.findByUserId(key)
+                                        .map(Optional::of)
+                                        .defaultIfEmpty(Optional.empty())
+                                        .toFuture()),
+                        // 다른 호출자와 공유하는 조회이므로 한 구독자의 취소가 조회를 취소하지 않게 한다
+                        true))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Drops the cached entry of a user, so the next lookup reads the database again.
+     *
+     * @param userId The user ID
+     */
+    public void invalidate(String userId) {
+        if (userId != null) {
+            users.synchronous().invalidate(userId);
+        }
+    }
+
+    public void invalidateAll() {
+        users.synchronous().invalidateAll();
+    }
+
+    /**
+     * Gets hit, miss and load statistics. The load time covers the database round trip.
+     *
+     * @return A snapshot of the cache statistics
+     */
+    public CacheStats getStats() {
+        return users.synchronous().stats();
+    }
+
+    public double getHitRate() {
+        return getStats().hitRate();
+    }
+
+    public double getAverageLoadMillis() {
+        return getStats().averageLoadPenalty() / 1_000_000.0;
+    }
+
+    public long getSize() {
+        return users.synchronous().estimatedSize();
+    }
+
+    private static final class FoundOrMissingExpiry implements Expiry<String, Optional<UserEntity>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        private FoundOrMissingExpiry(long ttlNanos, long negativeTtlNanos) {
+            this.ttlNanos = ttlNanos;
+            this.negativeTtlNanos = negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, Optional<UserEntity> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Optional<UserEntity> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Optional<UserEntity> value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
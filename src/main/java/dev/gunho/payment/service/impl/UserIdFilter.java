@@ -0,0 +1,262 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.entity.UserEntity;
+import dev.gunho.payment.repository.UserRepository;
+import dev.gunho.payment.util.BloomFilter;
+import jakarta.annotation.PreDestroy;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory Bloom filter of existing userIds, so that signups with a new userId can skip the exists query.
+ * The filter is built at startup by reading the user table in keyset-paginated chunks, updated on every save,
+ * and rebuilt periodically (or when it fills past its size) to keep the false-positive rate down.
+ * Until the first build finishes every userId is treated as possibly existing.
+ * <p>
+ * The filter is local to this process. With several instances, a userId created on another instance is not in
+ * this filter until the next rebuild, so "definitely not" only means "not created here or before the last
+ * rebuild". Skipping the exists query is therefore only safe because the unique index on user_id rejects the
+ * duplicate insert; {@link UserServiceImpl} takes the shortcut only once {@link UserIdUniqueIndex} has confirmed
+ * the index exists. Counters are exposed at {@code /metrics/user-id-filter}.
+ */
+@Slf4j
+@Component
+public class UserIdFilter {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final double falsePositiveProbability;
+    private final long minExpectedInsertions;
+    private final int chunkSize;
+    private final Duration rebuildInterval;
+
+    private volatile BloomFilter filter;
+    // 재구성 중에 저장된 userId는 새 필터에도 넣는다
+    private volatile BloomFilter building;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Disposable rebuildJob;
+
+    private final LongAdder definiteMisses = new LongAdder();
+    private final LongAdder possibleHits = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+
+    public UserIdFilter(UserRepository userRepository,
+                        @Value("${user.id-filter.enabled:true}") boolean enabled,
+                        @Value("${user.id-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+                        @Value("${user.id-filter.min-expected-insertions:100000}") long minExpectedInsertions,
+                        @Value("${user.id-filter.chunk-size:5000}") int chunkSize,
+                        @Value("${user.id-filter.rebuild-interval:6h}") Duration rebuildInterval) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.minExpectedInsertions = minExpectedInsertions;
+        this.chunkSize = chunkSize;
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || rebuildJob != null) {
+            return;
+        }
+        rebuildJob = Flux.interval(Duration.ZERO, rebuildInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuild()
+                        .onErrorResume(e -> {
+                            log.error("UserId filter rebuild failed", e);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Disposable current = rebuildJob;
+        if (current != null) {
+            current.dispose();
+            rebuildJob = null;
+        }
+    }
+
+    /**
+     * Checks whether a userId may already exist.
+     *
+     * @param userId The user ID
+     * @return false only if the userId definitely does not exist
+     */
+    public boolean mightContain(String userId) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(userId)) {
+            definiteMisses.increment();
+            return false;
+        }
+        possibleHits.increment();
+        return true;
+    }
+
+    /**
+     * Records the database answer for a userId the filter reported as possibly existing,
+     * to measure the real false-positive rate.
+     *
+     * @param exists Whether the userId exists
+     */
+    public void recordLookup(boolean exists) {
+        if (!exists && filter != null) {
+            falsePositives.increment();
+        }
+    }
+
+    /**
+     * Adds a saved userId.
+     *
+     * @param userId The user ID
+     */
+    public void put(String userId) {
+        // 재구성 중인 필터를 먼저 읽는다: 교체(filter = next)가 building 해제보다 먼저 일어나므로,
+        // building이 이미 비었다면 아래에서 읽는 filter는 새 필터다. 순서가 반대면 교체 직후의 userId가 빠질 수 있다
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(userId);
+        }
+        BloomFilter current = filter;
+        if (current != null && current != next) {
+            current.put(userId);
+            if (current.getInsertions() > current.getExpectedInsertions() && !rebuilding.get()) {
+                log.info("UserId filter is past its expected size ({}), rebuilding", current.getExpectedInsertions());
+                rebuild().subscribe(null, e -> log.error("UserId filter rebuild failed", e));
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the filter from the user table and swaps it in. Does nothing if a rebuild is already running.
+     *
+     * @return A Mono containing the number of userIds loaded
+     */
+    public Mono<Long> rebuild() {
+        return Mono.defer(() -> {
+            if (!rebuilding.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            long start = System.nanoTime();
+            return userRepository.count()
+                    .flatMap(count -> {
+                        // 다음 재구성까지 늘어날 사용자를 감안해 두 배로 잡는다
+                        BloomFilter next = new BloomFilter(Math.max(minExpectedInsertions, count * 2), falsePositiveProbability);
+                        building = next;
+                        return load(next).doOnNext(loaded -> {
+                            filter = next;
+                            rebuilds.increment();
+                            log.info("UserId filter rebuilt with {} userIds in {} ms ({} bits, {} hashes)",
+                                    loaded, (System.nanoTime() - start) / 1_000_000, next.getBitCount(), next.getHashCount());
+                        });
+                    })
+                    .doFinally(signal -> {
+                        building = null;
+                        rebuilding.set(false);
+                    });
+        });
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    /**
+     * Gets the number of exists queries skipped because the filter answered "definitely not".
+     */
+    public long getSkippedQueryCount() {
+        return definiteMisses.sum();
+    }
+
+    public long getPossibleHitCount() {
+        return possibleHits.sum();
+    }
+
+    public long getFalsePositiveCount() {
+        return falsePositives.sum();
+    }
+
+    public long getRebuildCount() {
+        return rebuilds.sum();
+    }
+
+    /**
+     * Gets the measured false-positive rate: new userIds the filter could not rule out,
+     * over all new userIds checked.
+     */
+    public double getObservedFalsePositiveRate() {
+        long fp = falsePositives.sum();
+        long negatives = fp + definiteMisses.sum();
+        return negatives == 0 ? 0.0 : (double) fp / negatives;
+    }
+
+    /**
+     * Gets the false-positive rate estimated from how full the filter is.
+     */
+    public double getExpectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? 1.0 : current.expectedFalsePositiveProbability();
+    }
+
+    /**
+     * Gets the filter's size, skipped queries and measured and expected false-positive rates.
+     */
+    public Snapshot snapshot() {
+        BloomFilter current = filter;
+        return Snapshot.builder()
+                .enabled(enabled)
+                .ready(current != null)
+                .insertions(current == null ? 0 : current.getInsertions())
+                .expectedInsertions(current == null ? 0 : current.getExpectedInsertions())
+                .skippedQueries(definiteMisses.sum())
+                .possibleHits(possibleHits.sum())
+                .falsePositives(falsePositives.sum())
+                .observedFalsePositiveRate(getObservedFalsePositiveRate())
+                .expectedFalsePositiveRate(getExpectedFalsePositiveRate())
+                .rebuilds(rebuilds.sum())
+                .build();
+    }
+
+    private Mono<Long> load(BloomFilter next) {
+        return readChunk(0L)
+                .expand(chunk -> chunk.size() < chunkSize
+                        ? Mono.empty()
+                        : readChunk(chunk.get(chunk.size() - 1).getIdx()))
+                .doOnNext(chunk -> chunk.forEach(user -> next.put(user.getUserId())))
+                .reduce(0L, (loaded, chunk) -> loaded + chunk.size());
+    }
+
+    private Mono<List<UserEntity>> readChunk(long afterIdx) {
+        return userRepository.findUserIdsAfter(afterIdx, chunkSize).collectList();
+    }
+
+    @Getter
+    @Builder
+    public static class Snapshot {
+        private boolean enabled;
+        private boolean ready;
+        private long insertions;
+        private long expectedInsertions;
+        private long skippedQueries;
+        private long possibleHits;
+        private long falsePositives;
+        private double observedFalsePositiveRate;
+        private double expectedFalsePositiveRate;
+        private long rebuilds;
+    }
+}
@@ -0,0 +1,85 @@
+package dev.gunho.payment.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Checks at startup that the user table has a single-column unique index on user_id.
+ * <p>
+ * Insert-only signups, the "definitely not" shortcut of {@link UserIdFilter} and INSERT IGNORE bulk signups all
+ * rely on that index to reject duplicates; without it they would silently create duplicate users. Until the check
+ * has passed, those paths stay off and signups fall back to querying for the userId first. The index is added by
+ * {@code db/migration/001_user_unique_user_id.sql}.
+ * <p>
+ * {@code user.unique-index.verify=false} skips the query and trusts the index, for databases created from
+ * {@code schema.sql} whose catalog cannot be queried the MariaDB way (the load test's H2).
+ */
+@Slf4j
+@Component
+public class UserIdUniqueIndex implements ApplicationRunner {
+
+    // user_id 하나로만 이루어진 유니크 인덱스 수
+    private static final String QUERY =
+            "SELECT COUNT(*) FROM (SELECT INDEX_NAME FROM information_schema.STATISTICS "
+                    + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'user' AND NON_UNIQUE = 0 "
+                    + "GROUP BY INDEX_NAME HAVING COUNT(*) = 1 AND MAX(COLUMN_NAME) = 'user_id') unique_user_id";
+
+    private final DatabaseClient databaseClient;
+    private final boolean verify;
+    private final Duration timeout;
+
+    private volatile boolean present;
+
+    public UserIdUniqueIndex(DatabaseClient databaseClient,
+                             @Value("${user.unique-index.verify:true}") boolean verify,
+                             @Value("${user.unique-index.timeout:10s}") Duration timeout) {
+        this.databaseClient = databaseClient;
+        this.verify = verify;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        present = check()
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.error("Could not check the unique index on user.user_id: {}", e.toString());
+                    return Mono.just(false);
+                })
+                .blockOptional()
+                .orElse(false);
+        if (!present) {
+            log.error("user.user_id has no unique index: insert-only signups, the userId filter shortcut and bulk "
+                    + "signups are disabled until db/migration/001_user_unique_user_id.sql is applied");
+        }
+    }
+
+    /**
+     * Queries the catalog for the index.
+     *
+     * @return A Mono containing whether the index exists
+     */
+    Mono<Boolean> check() {
+        if (!verify) {
+            return Mono.just(true);
+        }
+        return databaseClient.sql(QUERY)
+                .map((row, metadata) -> row.get(0, Long.class))
+                .one()
+                .map(count -> count != null && count > 0);
+    }
+
+    /**
+     * Whether the index was found at startup. False until the check has run.
+     */
+    public boolean isPresent() {
+        return present;
+    }
+}
@@ -4,48 +4,197 @@ import dev.gunho.payment.model.dto.UserPayload;
 import dev.gunho.payment.model.entity.Status;
 import dev.gunho.payment.model.entity.UserEntity;
 import dev.gunho.payment.model.mapper.UserMapper;
+import dev.gunho.payment.repository.UserBulkRepository;
 import dev.gunho.payment.repository.UserRepository;
 import dev.gunho.payment.service.UserService;
+import dev.gunho.payment.util.IdGenerator;
+import dev.gunho.payment.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    static final int MAX_USER_ID_LENGTH = 64;
+
     private final UserRepository userRepository;
+    private final UserBulkRepository userBulkRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final UserIdFilter userIdFilter;
+    private final UserIdUniqueIndex userIdUniqueIndex;
+    private final IdGenerator idGenerator;
+
+    // true이면 존재 여부 조회 없이 바로 INSERT하고 user_id 유니크 인덱스로 중복을 판정한다 (인덱스가 확인된 경우만)
+    @Value("${user.create.insert-only:false}")
+    private boolean insertOnly;
+
+    @Value("${user.bulk.chunk-size:1000}")
+    private int bulkChunkSize = 1000;
+
+    // 동시에 실행하는 배치 INSERT 수 (커넥션 풀 크기보다 작게)
+    @Value("${user.bulk.concurrency:4}")
+    private int bulkConcurrency = 4;
+
+    @Value("${user.list.page-size:500}")
+    private int listPageSize = 500;
 
     @Override
     @Transactional
     public Mono<UserPayload.Response> createUser(UserPayload.Request request) {
-        return userRepository.existsByUserId(request.getUserId())
-                .flatMap(exists -> {
-                    if (exists) {
-                        return Mono.error(new IllegalArgumentException("userId is already exists"));
-                    }
-
-                    // DTO -> Entity 반환
-                    UserEntity userEntity = userMapper.toEntity(request)
-                            .withStatus(Status.ACTIVE)
-                            .withPayKey(getPayKey());
+        Mono<UserEntity> savedUser = insertOnly && userIdUniqueIndex.isPresent()
+                ? insert(request)
+                : existsByUserId(request.getUserId())
+                        .flatMap(exists -> {
+                            if (exists) {
+                                return Mono.error(new IllegalArgumentException("userId is already exists"));
+                            }
+                            return insert(request);
+                        });
 
-                    return userRepository.save(userEntity);
+        return savedUser
+                // 조회 실패로 캐시된 항목이 남아 있으면 지운다
+                .doOnNext(user -> {
+                    userIdFilter.put(user.getUserId());
+                    userCache.invalidate(user.getUserId());
                 })
                 .map(userMapper::toDto);
     }
 
+    @Override
+    public Flux<UserPayload.BulkResult> createUsers(Flux<UserPayload.Request> requests) {
+        // 인덱스 없이 INSERT IGNORE를 쓰면 중복 사용자가 그대로 들어간다
+        if (!userIdUniqueIndex.isPresent()) {
+            return Flux.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Bulk user creation requires the unique index on user.user_id"));
+        }
+        // 청크 단위로 요청을 당겨오므로 업로드 속도가 INSERT 속도에 맞춰진다
+        return requests
+                .buffer(bulkChunkSize)
+                .flatMapSequential(this::insertChunk, bulkConcurrency);
+    }
+
+    /**
+     * Inserts one chunk with a single batched statement.
+     * Repeats within the chunk are dropped before the insert; repeats across chunks and existing users
+     * are caught by INSERT IGNORE on the user_id unique index.
+     * The chunk fails if the driver does not return exactly one update count per row,
+     * since the counts could then not be matched back to the users.
+     */
+    private Flux<UserPayload.BulkResult> insertChunk(List<UserPayload.Request> chunk) {
+        UserPayload.BulkResult[] results = new UserPayload.BulkResult[chunk.size()];
+        List<UserEntity> rows = new ArrayList<>(chunk.size());
+        int[] rowPositions = new int[chunk.size()];
+        Set<String> seen = new HashSet<>();
+
+        for (int i = 0; i < chunk.size(); i++) {
+            String userId = chunk.get(i).getUserId();
+            if (userId == null || userId.isBlank() || userId.length() > MAX_USER_ID_LENGTH) {
+                results[i] = bulkResult(userId, UserPayload.BulkStatus.INVALID, null,
+                        "userId must be 1-" + MAX_USER_ID_LENGTH + " characters");
+            } else if (!seen.add(userId)) {
+                results[i] = bulkResult(userId, UserPayload.BulkStatus.DUPLICATE, null, "userId is already exists");
+            } else {
+                rowPositions[rows.size()] = i;
+                rows.add(UserEntity.builder()
+                        .userId(userId)
+                        .status(Status.ACTIVE)
+                        .payKey(getPayKey())
+                        .build());
+            }
+        }
+
+        return userBulkRepository.insertIgnoringDuplicates(rows)
+                .collectList()
+                .flatMapMany(counts -> {
+                    // 드라이버가 배치를 합친 건수 하나만 돌려주면 어느 유저가 들어갔는지 알 수 없다
+                    if (counts.size() != rows.size()) {
+                        return Flux.error(new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                                "Bulk insert returned " + counts.size() + " update counts for " + rows.size()
+                                        + " users; the chunk starting with userId " + chunk.get(0).getUserId()
+                                        + " has an unknown outcome"));
+                    }
+                    for (int i = 0; i < rows.size(); i++) {
+                        UserEntity user = rows.get(i);
+                        if (counts.get(i) > 0) {
+                            userIdFilter.put(user.getUserId());
+                            userCache.invalidate(user.getUserId());
+                            results[rowPositions[i]] = bulkResult(user.getUserId(), UserPayload.BulkStatus.CREATED, user.getPayKey(), null);
+                        } else {
+                            results[rowPositions[i]] = bulkResult(user.getUserId(), UserPayload.BulkStatus.DUPLICATE, null, "userId is already exists");
+                        }
+                    }
+                    return Flux.fromArray(results);
+                });
+    }
+
+    @Override
+    public Flux<UserPayload.Summary> listUsers(Status status, long afterIdx, long limit) {
+        // 다음 페이지는 앞 페이지가 소비되는 만큼만 읽으므로 테이블 크기와 상관없이 메모리에는 최대 두 페이지만 남는다
+        return readPage(status, afterIdx)
+                .expand(page -> page.size() < listPageSize
+                        ? Mono.empty()
+                        : readPage(status, page.get(page.size() - 1).getIdx()))
+                .concatMapIterable(page -> page, 1)
+                .take(limit, true)
+                .map(user -> userMapper.toSummary(user, KeysetCursor.encode(user.getIdx())));
+    }
+
+    private Mono<List<UserEntity>> readPage(Status status, long afterIdx) {
+        Flux<UserEntity> page = status == null
+                ? userRepository.findPageAfter(afterIdx, listPageSize)
+                : userRepository.findPageByStatusAfter(status.name(), afterIdx, listPageSize);
+        return page.collectList();
+    }
+
+    private static UserPayload.BulkResult bulkResult(String userId, UserPayload.BulkStatus status, String payKey, String error) {
+        return UserPayload.BulkResult.builder()
+                .userId(userId)
+                .status(status)
+                .payKey(payKey)
+                .error(error)
+                .build();
+    }
+
+    private Mono<UserEntity> insert(UserPayload.Request request) {
+        // DTO -> Entity 반환
+        UserEntity userEntity = userMapper.toEntity(request)
+                .withStatus(Status.ACTIVE)
+                .withPayKey(getPayKey());
+
+        // 동시에 같은 userId가 들어와 조회를 모두 통과한 경우도 여기서 걸러진다
+        // NOT NULL, 길이 등 다른 무결성 오류는 중복이 아니므로 그대로 전파한다
+        return userRepository.save(userEntity)
+                .onErrorMap(DuplicateKeyException.class,
+                        e -> new IllegalArgumentException("userId is already exists"));
+    }
+
+    // 필터가 확실히 없다고 하면 DB 조회를 건너뛴다. 중복은 유니크 인덱스가 막으므로 인덱스가 확인된 경우만
+    private Mono<Boolean> existsByUserId(String userId) {
+        if (userIdUniqueIndex.isPresent() && !userIdFilter.mightContain(userId)) {
+            return Mono.just(false);
+        }
+        return userRepository.existsByUserId(userId)
+                .doOnNext(userIdFilter::recordLookup);
+    }
+
     protected String getPayKey() {
-        return LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss")) +
-                UUID.randomUUID().toString().replace("-", "").substring(2, 5);
+        return idGenerator.nextString();
     }
 
 }
@@ -0,0 +1,146 @@
+package dev.gunho.payment.util;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, Snowflake-style generator of 63-bit IDs that are unique across nodes and roughly time ordered.
+ * <pre>
+ *  41 bits  milliseconds since 2024-01-01T00:00:00Z  (~69 years)
+ *  10 bits  node id                                  (0-1023)
+ *  12 bits  sequence within the millisecond          (4096 per ms per node)
+ * </pre>
+ * When the sequence runs out the generator moves on to the next millisecond. If the wall clock goes backwards
+ * it keeps counting from the last timestamp it issued, so IDs never repeat.
+ */
+public class IdGenerator {
+
+    public static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    public static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    /**
+     * Text encodings of an ID. Every encoding has a fixed width, so encoded IDs sort like the numbers.
+     */
+    public enum Encoding {
+        /** 19 decimal digits */
+        DECIMAL(10, 19),
+        /** 16 lowercase hex digits */
+        HEX(16, 16),
+        /** 13 Crockford base32 characters (no I, L, O, U) */
+        BASE32(32, 13),
+        /** 11 base62 characters */
+        BASE62(62, 11);
+
+        private static final char[] DIGITS =
+                "0123456789abcdefghjkmnpqrstvwxyz".toCharArray();
+        private static final char[] BASE62_DIGITS =
+                "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+        private final int radix;
+        private final int width;
+
+        Encoding(int radix, int width) {
+            this.radix = radix;
+            this.width = width;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public String encode(long id) {
+            char[] digits = this == BASE62 ? BASE62_DIGITS : DIGITS;
+            char[] out = new char[width];
+            long remaining = id;
+            for (int i = width - 1; i >= 0; i--) {
+                out[i] = digits[(int) (remaining % radix)];
+                remaining /= radix;
+            }
+            return new String(out);
+        }
+    }
+
+    // 상위 비트: 마지막으로 발급한 타임스탬프, 하위 12비트: 시퀀스
+    private final AtomicLong state = new AtomicLong();
+    private final long nodeBits;
+    private final int nodeId;
+    private final Encoding encoding;
+    private final LongSupplier clock;
+
+    public IdGenerator(int nodeId, Encoding encoding) {
+        this(nodeId, encoding, System::currentTimeMillis);
+    }
+
+    IdGenerator(int nodeId, Encoding encoding, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.encoding = encoding;
+        this.clock = clock;
+    }
+
+    /**
+     * Generates the next ID.
+     *
+     * @return A positive ID, unique for this node id
+     */
+    public long nextId() {
+        for (;;) {
+            long current = state.get();
+            long lastTimestamp = current >>> SEQUENCE_BITS;
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((current & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // 같은 밀리초이거나 시계가 뒤로 간 경우 마지막 타임스탬프에서 시퀀스만 올린다
+                next = current + 1;
+            } else {
+                // 시퀀스 소진: 다음 밀리초 값을 미리 사용한다
+                next = (lastTimestamp + 1) << SEQUENCE_BITS;
+            }
+
+            if (state.compareAndSet(current, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Generates the next ID in the configured encoding.
+     */
+    public String nextString() {
+        return encoding.encode(nextId());
+    }
+
+    public int getNodeId() {
+        return nodeId;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Gets the time an ID was generated.
+     *
+     * @param id An ID from this generator
+     * @return The generation time in epoch milliseconds
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH_MILLIS;
+    }
+
+    public static int nodeIdOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
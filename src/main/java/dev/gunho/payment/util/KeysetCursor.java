@@ -0,0 +1,47 @@
+package dev.gunho.payment.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque cursor tokens for keyset pagination on a numeric key.
+ * Clients pass the token back as is; the encoding may change without notice.
+ */
+public final class KeysetCursor {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private KeysetCursor() {
+    }
+
+    /**
+     * Encodes the last key a client has seen.
+     *
+     * @param key The key of the last row returned
+     * @return A URL-safe cursor token
+     */
+    public static String encode(long key) {
+        return ENCODER.encodeToString(Long.toString(key).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Decodes a cursor token.
+     *
+     * @param token A token from {@link #encode(long)}
+     * @return The key to continue after
+     * @throws IllegalArgumentException If the token is malformed
+     */
+    public static long decode(String token) {
+        long key;
+        try {
+            key = Long.parseLong(new String(DECODER.decode(token), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+        if (key < 0) {
+            throw new IllegalArgumentException("Invalid cursor: " + token);
+        }
+        return key;
+    }
+}
@@ -0,0 +1,103 @@
+package dev.gunho.payment.warmup;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.AbstractServerHttpRequest;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+import org.springframework.http.server.reactive.SslInfo;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-memory request and response for replaying synthetic requests through an HttpHandler without a socket.
+ * The response body is read and discarded.
+ */
+final class DryRunExchange {
+
+    private static final DefaultDataBufferFactory BUFFERS = DefaultDataBufferFactory.sharedInstance;
+
+    private DryRunExchange() {
+    }
+
+    static Request request(HttpMethod method, String uri, HttpHeaders headers, String body) {
+        return new Request(method, URI.create("http://warmup" + uri), headers, body);
+    }
+
+    static Response response() {
+        return new Response();
+    }
+
+    static class Request extends AbstractServerHttpRequest {
+
+        private final byte[] body;
+
+        private Request(HttpMethod method, URI uri, HttpHeaders headers, String body) {
+            super(method, uri, null, headers);
+            this.body = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        protected MultiValueMap<String, HttpCookie> initCookies() {
+            return new LinkedMultiValueMap<>();
+        }
+
+        @Override
+        protected SslInfo initSslInfo() {
+            return null;
+        }
+
+        @Override
+        public <T> T getNativeRequest() {
+            throw new IllegalStateException("A dry-run request has no native request");
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return body.length == 0 ? Flux.empty() : Flux.defer(() -> Flux.just(BUFFERS.wrap(body)));
+        }
+    }
+
+    static class Response extends AbstractServerHttpResponse {
+
+        private Response() {
+            super(BUFFERS, new HttpHeaders());
+        }
+
+        @Override
+        public <T> T getNativeResponse() {
+            throw new IllegalStateException("A dry-run response has no native response");
+        }
+
+        @Override
+        protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+            return Flux.from(body).doOnNext(DataBufferUtils::release).then();
+        }
+
+        @Override
+        protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return Flux.from(body).concatMap(this::writeWithInternal).then();
+        }
+
+        @Override
+        protected void applyStatusCode() {
+        }
+
+        @Override
+        protected void applyHeaders() {
+        }
+
+        @Override
+        protected void applyCookies() {
+        }
+    }
+}
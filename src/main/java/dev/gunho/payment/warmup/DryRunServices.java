@@ -0,0 +1,165 @@
+package dev.gunho.payment.warmup;
+
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.dto.UserPayload;
+import dev.gunho.payment.model.entity.CaptureJobStatus;
+import dev.gunho.payment.model.entity.PaymentOrderStatus;
+import dev.gunho.payment.model.entity.Status;
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.service.CaptureJobService;
+import dev.gunho.payment.service.IdempotencyService;
+import dev.gunho.payment.service.PaymentOrderService;
+import dev.gunho.payment.service.PaymentService;
+import dev.gunho.payment.service.UserService;
+import dev.gunho.payment.util.KeysetCursor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service stand-ins for the startup warmup. They answer like the real services without touching the database
+ * or a gateway, so synthetic requests exercise the handlers, routing and codecs and nothing else.
+ */
+final class DryRunServices {
+
+    static final String GATEWAY_NAME = "DryRun";
+    static final String JOB_ID = "WARMUP-JOB";
+    static final String USER_ID = "warmup";
+
+    private DryRunServices() {
+    }
+
+    static class Payments implements PaymentService {
+
+        private final AtomicLong sequence = new AtomicLong();
+
+        @Override
+        public Mono<String> createOrder(Money amount, String description) {
+            return Mono.fromSupplier(() -> "WARMUP-" + sequence.incrementAndGet());
+        }
+
+        @Override
+        public Mono<Boolean> capturePayment(String orderId) {
+            return Mono.just(true);
+        }
+
+        @Override
+        public String getGatewayName() {
+            return GATEWAY_NAME;
+        }
+    }
+
+    static class CaptureJobs implements CaptureJobService {
+
+        @Override
+        public Mono<PaymentPayload.CaptureJobResponse> submit(PaymentPayload.CaptureRequest request) {
+            return Mono.just(job(request.getOrderId(), CaptureJobStatus.PENDING));
+        }
+
+        @Override
+        public Mono<PaymentPayload.CaptureJobResponse> getJob(String jobId) {
+            return Mono.just(job("WARMUP-1", CaptureJobStatus.COMPLETED));
+        }
+
+        private static PaymentPayload.CaptureJobResponse job(String orderId, CaptureJobStatus status) {
+            LocalDateTime now = LocalDateTime.now();
+            return PaymentPayload.CaptureJobResponse.builder()
+                    .jobId(JOB_ID)
+                    .orderId(orderId)
+                    .userId(USER_ID)
+                    .status(status)
+                    .attempts(status == CaptureJobStatus.PENDING ? 0 : 1)
+                    .regDate(now)
+                    .updDate(now)
+                    .build();
+        }
+    }
+
+    static class Idempotency implements IdempotencyService {
+
+        private final PaymentService payments;
+
+        Idempotency(PaymentService payments) {
+            this.payments = payments;
+        }
+
+        @Override
+        public Mono<PaymentPayload.OrderResponse> createOrder(String idempotencyKey, PaymentPayload.OrderRequest request) {
+            return payments.createOrder(request.getAmount(), request.getDescription(), idempotencyKey)
+                    .map(orderId -> PaymentPayload.OrderResponse.builder()
+                            .orderId(orderId)
+                            .gatewayName(GATEWAY_NAME)
+                            .amount(request.getAmount())
+                            .description(request.getDescription())
+                            .userId(request.getUserId())
+                            .build());
+        }
+    }
+
+    static class Orders implements PaymentOrderService {
+
+        private static final Money AMOUNT = Money.parse("10.00", "USD");
+
+        @Override
+        public void recordCreated(PaymentPayload.OrderResponse order) {
+        }
+
+        @Override
+        public void recordCaptured(String orderId, String userId) {
+        }
+
+        @Override
+        public void recordFailed(String orderId, String userId, String error) {
+        }
+
+        @Override
+        public Mono<PaymentPayload.OrderStatusResponse> getOrder(String orderId) {
+            LocalDateTime now = LocalDateTime.now();
+            return Mono.just(PaymentPayload.OrderStatusResponse.builder()
+                    .orderId(orderId)
+                    .gatewayName(GATEWAY_NAME)
+                    .userId(USER_ID)
+                    .amount(AMOUNT)
+                    .description("warmup")
+                    .status(PaymentOrderStatus.CAPTURED)
+                    .regDate(now)
+                    .updDate(now)
+                    .build());
+        }
+    }
+
+    static class Users implements UserService {
+
+        @Override
+        public Mono<UserPayload.Response> createUser(UserPayload.Request user) {
+            return Mono.just(UserPayload.Response.builder()
+                    .userId(user.getUserId())
+                    .payKey("0000000000000")
+                    .status(Status.ACTIVE)
+                    .regDate(LocalDateTime.now())
+                    .build());
+        }
+
+        @Override
+        public Flux<UserPayload.BulkResult> createUsers(Flux<UserPayload.Request> users) {
+            return users.map(user -> UserPayload.BulkResult.builder()
+                    .userId(user.getUserId())
+                    .status(UserPayload.BulkStatus.CREATED)
+                    .payKey("0000000000000")
+                    .build());
+        }
+
+        @Override
+        public Flux<UserPayload.Summary> listUsers(Status status, long afterIdx, long limit) {
+            return Flux.range(1, (int) Math.min(limit, 100))
+                    .map(i -> UserPayload.Summary.builder()
+                            .userId(USER_ID + "-" + i)
+                            .status(Status.ACTIVE)
+                            .regDate(LocalDateTime.now())
+                            .cursor(KeysetCursor.encode(afterIdx + i))
+                            .build());
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package dev.gunho.payment.warmup;
+
+import dev.gunho.global.timing.StageTimings;
+import dev.gunho.payment.config.RouterConfig;
+import dev.gunho.payment.handler.payment.PaymentHandler;
+import dev.gunho.payment.handler.user.UserHandler;
+import dev.gunho.payment.service.PaymentService;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Warms the application up before it reports itself ready. Application runners finish before Spring Boot
+ * publishes {@code ReadinessState.ACCEPTING_TRAFFIC}, so the readiness probe stays down until this is done.
+ * <ul>
+ *     <li>opens {@code warmup.db-connections} connections from the R2DBC pool, capped at the pool's maximum size,
+ *     and validates them;</li>
+ *     <li>prefetches the gateway OAuth token and opens {@code warmup.gateway-connections} connections
+ *     to each gateway;</li>
+ *     <li>replays {@code warmup.iterations} rounds of synthetic user and payment requests through the real
+ *     handlers, routes and codecs, backed by {@link DryRunServices} so nothing is written or charged.</li>
+ * </ul>
+ * Failures are logged and do not stop startup; a cold replica is better than no replica.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final String ORDER_BODY =
+            "{\"amount\":10.00,\"currency\":\"USD\",\"description\":\"warmup\",\"userId\":\"warmup\"}";
+
+    private final ConnectionFactory connectionFactory;
+    private final PaymentService paymentService;
+    private final HttpHandler dryRunHandler;
+    private final boolean enabled;
+    private final int dbConnections;
+    private final int gatewayConnections;
+    private final int iterations;
+    private final int concurrency;
+    private final Duration timeout;
+
+    public StartupWarmup(ConnectionFactory connectionFactory,
+                         PaymentService paymentService,
+                         ObjectProvider<CodecCustomizer> codecCustomizers,
+                         @Value("${warmup.enabled:true}") boolean enabled,
+                         @Value("${warmup.db-connections:10}") int dbConnections,
+                         @Value("${warmup.gateway-connections:4}") int gatewayConnections,
+                         @Value("${warmup.iterations:2000}") int iterations,
+                         @Value("${warmup.concurrency:4}") int concurrency,
+                         @Value("${warmup.timeout:30s}") Duration timeout) {
+        this.connectionFactory = connectionFactory;
+        this.paymentService = paymentService;
+        this.enabled = enabled;
+        this.dbConnections = clampToPool(connectionFactory, dbConnections);
+        this.gatewayConnections = gatewayConnections;
+        this.iterations = iterations;
+        this.concurrency = concurrency;
+        this.timeout = timeout;
+
+        // 실제 서버와 같은 코덱 설정으로, 대역 서비스를 붙인 핸들러를 같은 라우트에 연결한다
+        DryRunServices.Payments payments = new DryRunServices.Payments();
+        PaymentHandler paymentHandler = new PaymentHandler(payments, new DryRunServices.CaptureJobs(),
+                new DryRunServices.Idempotency(payments), new DryRunServices.Orders());
+        UserHandler userHandler = new UserHandler(new DryRunServices.Users());
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(configurer -> codecCustomizers.orderedStream().forEach(customizer -> customizer.customize(configurer)))
+                .build();
+        this.dryRunHandler = RouterFunctions.toHttpHandler(
+                RouterConfig.apiRoutes(userHandler, paymentHandler).filter(StageTimings::markHandled), strategies);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+
+        Mono<Integer> db = openDbConnections()
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Warmup could not open database connections: {}", e.toString());
+                    return Mono.just(0);
+                });
+        // 어떤 응답이든 받은 프로브가 하나도 없으면 게이트웨이에 닿지 못한 것이다
+        Mono<String> gateway = paymentService.warmUp(gatewayConnections)
+                .timeout(timeout)
+                .map(answered -> answered > 0
+                        ? "ready (" + answered + " probes answered)"
+                        : "not ready (no probe answered)")
+                .defaultIfEmpty("ready")
+                .onErrorResume(e -> {
+                    log.warn("Warmup could not prepare the payment gateway: {}", e.toString());
+                    return Mono.just("not ready");
+                });
+        // 커넥션 준비는 I/O 대기가 대부분이므로 합성 요청 재생과 동시에 진행한다
+        Mono<long[]> replay = replay()
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.warn("Warmup replay stopped early: {}", e.toString());
+                    return Mono.just(new long[]{0, 0});
+                });
+
+        Mono.zip(db, gateway, replay)
+                .doOnNext(result -> log.info(
+                        "Warmup finished in {} ms: {} database connections, gateway {}, {} synthetic requests ({} failed)",
+                        (System.nanoTime() - start) / 1_000_000, result.getT1(),
+                        result.getT2(), result.getT3()[0], result.getT3()[1]))
+                .block();
+    }
+
+    /**
+     * Holds the configured number of pool connections at once, so the pool has to open that many,
+     * and runs a trivial query on each before handing them back.
+     */
+    Mono<Integer> openDbConnections() {
+        if (dbConnections <= 0) {
+            return Mono.just(0);
+        }
+        return Mono.usingWhen(
+                Mono.fromSupplier(() -> new CopyOnWriteArrayList<Connection>()),
+                acquired -> Flux.range(0, dbConnections)
+                        .flatMap(i -> Mono.from(connectionFactory.create()).doOnNext(acquired::add), dbConnections)
+                        .flatMap(connection -> Flux.from(connection.createStatement("SELECT 1").execute())
+                                .flatMap(result -> result.map((row, metadata) -> 1)))
+                        .then(Mono.fromSupplier(acquired::size)),
+                StartupWarmup::closeAll);
+    }
+
+    /**
+     * Caps the number of connections to hold at the pool's maximum size. Holding more than the pool can hand out
+     * would leave the extra acquires waiting for a connection that is never released until the warmup times out.
+     *
+     * @param connectionFactory The connection factory, usually an R2DBC {@link ConnectionPool}
+     * @param requested The configured number of connections
+     * @return The number of connections to open
+     */
+    static int clampToPool(ConnectionFactory connectionFactory, int requested) {
+        if (!(connectionFactory instanceof ConnectionPool pool)) {
+            return requested;
+        }
+        int maxSize = pool.getMetrics().map(PoolMetrics::getMaxAllocatedSize).orElse(Integer.MAX_VALUE);
+        if (requested > maxSize) {
+            log.info("Warmup database connections capped at the pool max size {} (requested {})", maxSize, requested);
+            return maxSize;
+        }
+        return requested;
+    }
+
+    /**
+     * Replays rounds of synthetic requests.
+     *
+     * @return A Mono containing the number of requests sent and the number that did not answer 2xx
+     */
+    Mono<long[]> replay() {
+        LongAdder sent = new LongAdder();
+        LongAdder failed = new LongAdder();
+        return Flux.range(0, iterations)
+                .flatMap(i -> Flux.fromIterable(round(i))
+                        .concatMap(request -> {
+                            DryRunExchange.Response response = DryRunExchange.response();
+                            return dryRunHandler.handle(request, response)
+                                    .then(Mono.fromRunnable(() -> {
+                                        sent.increment();
+                                        if (response.getStatusCode() == null || !response.getStatusCode().is2xxSuccessful()) {
+                                            failed.increment();
+                                        }
+                                    }));
+                        }), Math.max(1, concurrency))
+                .then(Mono.fromSupplier(() -> new long[]{sent.sum(), failed.sum()}));
+    }
+
+    private static List<DryRunExchange.Request> round(int i) {
+        HttpHeaders json = headers(MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+        HttpHeaders idempotent = headers(MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+        idempotent.set("Idempotency-Key", "warmup-" + i);
+        HttpHeaders async = headers(MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+        async.set("Prefer", "respond-async");
+        String orderId = "WARMUP-" + i;
+
+        return List.of(
+                DryRunExchange.request(HttpMethod.POST, "/user", json, "{\"userId\":\"warmup-" + i + "\"}"),
+                DryRunExchange.request(HttpMethod.POST, "/users/bulk",
+                        headers(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_NDJSON),
+                        "{\"userId\":\"warmup-" + i + "-a\"}\n{\"userId\":\"warmup-" + i + "-b\"}\n"),
+                DryRunExchange.request(HttpMethod.GET, "/users?limit=20", headers(null, MediaType.APPLICATION_NDJSON), null),
+                DryRunExchange.request(HttpMethod.POST, "/payments/orders", json, ORDER_BODY),
+                DryRunExchange.request(HttpMethod.POST, "/payments/orders", idempotent, ORDER_BODY),
+                DryRunExchange.request(HttpMethod.GET, "/payments/orders/" + orderId, headers(null, MediaType.APPLICATION_JSON), null),
+                DryRunExchange.request(HttpMethod.POST, "/payments/capture", json,
+                        "{\"orderId\":\"" + orderId + "\",\"userId\":\"warmup\"}"),
+                DryRunExchange.request(HttpMethod.POST, "/payments/capture", async,
+                        "{\"orderId\":\"" + orderId + "\",\"userId\":\"warmup\"}"),
+                DryRunExchange.request(HttpMethod.GET, "/payments/capture/" + DryRunServices.JOB_ID,
+                        headers(null, MediaType.APPLICATION_JSON), null));
+    }
+
+    private static HttpHeaders headers(MediaType contentType, MediaType accept) {
+        HttpHeaders headers = new HttpHeaders();
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        headers.setAccept(List.of(accept));
+        return headers;
+    }
+
+    private static Mono<Void> closeAll(List<Connection> connections) {
+        return Flux.fromIterable(connections)
+                .flatMap(Connection::close)
+                .then();
+    }
+}
@@ -0,0 +1,13 @@
+-- user.user_id 유니크 인덱스 (MariaDB 10.5+)
+-- insert-only 가입, userId 필터의 조회 생략, 대량 가입의 INSERT IGNORE가 이 인덱스로 중복을 막는다.
+-- schema.sql은 없는 테이블만 만들므로 기존 user 테이블에는 이 스크립트로 인덱스를 추가한다.
+-- 애플리케이션은 기동 시 인덱스를 확인하고, 없으면 위 기능을 끈 채 조회 후 INSERT로 동작한다.
+
+-- 1. 중복된 user_id가 있으면 인덱스 생성이 실패한다. 먼저 확인하고 정리한다.
+SELECT user_id, COUNT(*) AS duplicates
+FROM `user`
+GROUP BY user_id
+HAVING COUNT(*) > 1;
+
+-- 2. 인덱스 추가 (이미 있으면 건너뛴다)
+ALTER TABLE `user` ADD UNIQUE KEY IF NOT EXISTS uk_user_user_id (user_id);
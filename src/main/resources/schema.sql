@@ -0,0 +1,55 @@
+-- 비동기 캡처 작업 큐
+CREATE TABLE IF NOT EXISTS capture_job (
+    idx             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    job_id          VARCHAR(36)  NOT NULL,
+    order_id        VARCHAR(64)  NOT NULL,
+    user_id         VARCHAR(64),
+    status          VARCHAR(16)  NOT NULL,
+    attempts        INT          NOT NULL DEFAULT 0,
+    next_attempt_at DATETIME(6)  NOT NULL,
+    claim_token     VARCHAR(36),
+    last_error      VARCHAR(512),
+    reg_date        DATETIME(6)  NOT NULL,
+    upd_date        DATETIME(6)  NOT NULL,
+    UNIQUE KEY uk_capture_job_job_id (job_id),
+    KEY idx_capture_job_status_next_attempt (status, next_attempt_at),
+    KEY idx_capture_job_claim_token (claim_token)
+);
+
+-- 주문 생성 멱등성 키
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idx             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    idempotency_key VARCHAR(64)  NOT NULL, -- SHA-256(user_id, 클라이언트 키) hex
+    request_hash    CHAR(64)     NOT NULL,
+    order_id        VARCHAR(64)  NOT NULL,
+    gateway_name    VARCHAR(32)  NOT NULL,
+    reg_date        DATETIME(6)  NOT NULL,
+    UNIQUE KEY uk_idempotency_key (idempotency_key)
+);
+
+-- 사용자 (user_id 유니크 인덱스가 중복 가입을 막는다. 기존 테이블에는 db/migration/001_user_unique_user_id.sql로 추가)
+CREATE TABLE IF NOT EXISTS `user` (
+    idx      BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    user_id  VARCHAR(64)  NOT NULL,
+    status   VARCHAR(16)  NOT NULL,
+    pay_key  VARCHAR(32)  NOT NULL,
+    reg_date DATETIME(6)  DEFAULT CURRENT_TIMESTAMP(6),
+    UNIQUE KEY uk_user_user_id (user_id),
+    KEY idx_user_status (status, idx)
+);
+
+-- 결제 주문 상태 (쓰기 지연 저장소, 상태 조회는 PayPal 대신 여기서 한다)
+CREATE TABLE IF NOT EXISTS payment_order (
+    idx          BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    order_id     VARCHAR(64)  NOT NULL,
+    gateway_name VARCHAR(32),
+    user_id      VARCHAR(64),
+    amount_minor BIGINT,
+    currency     CHAR(3),
+    description  VARCHAR(127),
+    status       VARCHAR(16)  NOT NULL,
+    last_error   VARCHAR(512),
+    reg_date     DATETIME(6)  NOT NULL,
+    upd_date     DATETIME(6)  NOT NULL,
+    UNIQUE KEY uk_payment_order_order_id (order_id)
+);
@@ -0,0 +1,123 @@
+package dev.gunho.global.concurrency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long WINDOW_NANOS = 100_000_000L;
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter(true,
+                List.of("POST /payments/capture"), List.of("/payments/orders", "/user"),
+                initialLimit, 10, 1000, 0.8, 2.0, 0.2, Duration.ofNanos(WINDOW_NANOS), 100, clock::get);
+    }
+
+    // 한도까지 채운 뒤 모두 같은 지연시간으로 끝내고 다음 윈도우로 넘긴다
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, long rttNanos) {
+        int admitted = 0;
+        while (limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.HIGH)) {
+            admitted++;
+        }
+        clock.addAndGet(WINDOW_NANOS);
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(rttNanos, true);
+        }
+    }
+
+    @Test
+    @DisplayName("메서드와 경로별 우선순위 분류: 캡처 상태 조회는 높은 우선순위가 아님")
+    void classify() {
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        assertThat(limiter.classify("POST", PathContainer.parsePath("/payments/capture")).getPriority())
+                .isEqualTo(AdaptiveConcurrencyLimiter.Priority.HIGH);
+        assertThat(limiter.classify("GET", PathContainer.parsePath("/payments/capture"))).isNull();
+        assertThat(limiter.classify("GET", PathContainer.parsePath("/payments/capture/job-1"))).isNull();
+        assertThat(limiter.classify("POST", PathContainer.parsePath("/payments/orders")).getPriority())
+                .isEqualTo(AdaptiveConcurrencyLimiter.Priority.NORMAL);
+        assertThat(limiter.classify("POST", PathContainer.parsePath("/user")).getPriority())
+                .isEqualTo(AdaptiveConcurrencyLimiter.Priority.NORMAL);
+        assertThat(limiter.classify("GET", PathContainer.parsePath("/metrics/http"))).isNull();
+        assertThat(limiter.classify("POST", PathContainer.parsePath("/payments/capture")).nameFor("POST"))
+                .isEqualTo("POST /payments/capture");
+    }
+
+    @Test
+    @DisplayName("일반 요청은 한도의 일부만 쓰고 나머지는 캡처 요청에 남김")
+    void tryAcquire_ReservesHeadroomForHighPriority() {
+        // given: 한도 100, 일반 요청 비율 0.8
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        // when
+        int normal = 0;
+        while (limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.NORMAL)) {
+            normal++;
+        }
+        int high = 0;
+        while (limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.HIGH)) {
+            high++;
+        }
+
+        // then
+        assertThat(normal).isEqualTo(80);
+        assertThat(high).isEqualTo(20);
+        assertThat(limiter.getShedCount(AdaptiveConcurrencyLimiter.Priority.NORMAL)).isEqualTo(1);
+        assertThat(limiter.getInFlight()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("상류 지연이 급증하면 한도를 줄이고 회복되면 다시 늘림")
+    void limit_FollowsLatency() {
+        // given: 지연 10ms로 안정
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+        for (int i = 0; i < 20; i++) {
+            runWindow(limiter, 10_000_000L);
+        }
+        int steady = limiter.getLimit();
+        assertThat(steady).isGreaterThan(100);
+
+        // when: 지연 200ms (브라운아웃)
+        for (int i = 0; i < 20; i++) {
+            runWindow(limiter, 200_000_000L);
+        }
+        int brownout = limiter.getLimit();
+
+        // then
+        assertThat(brownout).isLessThan(steady / 2);
+
+        // when: 다시 10ms
+        for (int i = 0; i < 40; i++) {
+            runWindow(limiter, 10_000_000L);
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isGreaterThan(brownout);
+    }
+
+    @Test
+    @DisplayName("한도의 절반도 쓰지 않는 동안에는 한도를 늘리지 않음")
+    void limit_DoesNotGrowWhenIdle() {
+        // given
+        AdaptiveConcurrencyLimiter limiter = limiter(100);
+
+        // when: 윈도우마다 요청 1건
+        for (int i = 0; i < 50; i++) {
+            assertThat(limiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.NORMAL)).isTrue();
+            clock.addAndGet(WINDOW_NANOS);
+            limiter.release(10_000_000L, true);
+        }
+
+        // then
+        assertThat(limiter.getLimit()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,91 @@
+package dev.gunho.global.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ClientKeyResolverTest {
+
+    // 로드 밸런서 대역
+    private final ClientKeyResolver resolver = new ClientKeyResolver(List.of("10.0.0.0/8", "192.168.1.1"));
+
+    private static MockServerHttpRequest.BaseBuilder<?> from(String peer) {
+        return MockServerHttpRequest.get("/payments/orders").remoteAddress(new InetSocketAddress(peer, 443));
+    }
+
+    @Test
+    @DisplayName("신뢰하는 프록시를 거친 요청은 전달 헤더의 클라이언트 IP로 구분")
+    void ipKey_TrustedProxy_UsesForwardedClient() {
+        // given: 클라이언트 -> 10.0.0.7 -> 10.0.0.5(로드 밸런서) -> 서버
+        MockServerHttpRequest request = from("10.0.0.5")
+                .header(ClientKeyResolver.X_FORWARDED_FOR, "203.0.113.9, 10.0.0.7")
+                .build();
+
+        // when/then
+        assertThat(resolver.ipKey(request)).isEqualTo("ip:203.0.113.9");
+    }
+
+    @Test
+    @DisplayName("클라이언트가 앞에 덧붙인 전달 헤더 값은 무시")
+    void ipKey_IgnoresClientSuppliedHops() {
+        // given: 클라이언트가 임의의 값을 보내도 로드 밸런서가 실제 주소를 뒤에 덧붙인다
+        MockServerHttpRequest request = from("192.168.1.1")
+                .header(ClientKeyResolver.X_FORWARDED_FOR, "1.2.3.4, 203.0.113.9")
+                .build();
+
+        // when/then
+        assertThat(resolver.ipKey(request)).isEqualTo("ip:203.0.113.9");
+    }
+
+    @Test
+    @DisplayName("신뢰하지 않는 곳에서 온 전달 헤더는 무시하고 접속 주소를 사용")
+    void ipKey_UntrustedPeer_IgnoresForwardedHeader() {
+        // given
+        MockServerHttpRequest request = from("198.51.100.3")
+                .header(ClientKeyResolver.X_FORWARDED_FOR, "1.2.3.4")
+                .build();
+
+        // when/then
+        assertThat(resolver.ipKey(request)).isEqualTo("ip:198.51.100.3");
+    }
+
+    @Test
+    @DisplayName("인증된 요청은 유저 단위로 구분")
+    void resolve_Authenticated_KeysByUser() {
+        // given
+        Principal principal = () -> "testUser123";
+        ServerWebExchange exchange = MockServerWebExchange.from(from("10.0.0.5"))
+                .mutate()
+                .principal(Mono.just(principal))
+                .build();
+
+        // when/then
+        StepVerifier.create(resolver.resolve(exchange))
+                .expectNext("user:testUser123")
+                .verifyComplete();
+        StepVerifier.create(resolver.resolve(MockServerWebExchange.from(from("198.51.100.3"))))
+                .expectNext("ip:198.51.100.3")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("주소가 아닌 신뢰 프록시 설정은 기동 시 거절")
+    void constructor_RejectsHostNames() {
+        // when/then
+        assertThatThrownBy(() -> new ClientKeyResolver(List.of("lb.internal")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ClientKeyResolver(List.of("10.0.0.0/33")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
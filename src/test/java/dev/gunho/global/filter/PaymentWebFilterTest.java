@@ -0,0 +1,183 @@
+package dev.gunho.global.filter;
+
+import dev.gunho.global.concurrency.AdaptiveConcurrencyLimiter;
+import dev.gunho.global.metrics.LatencyHistogram;
+import dev.gunho.global.metrics.RequestMetrics;
+import dev.gunho.global.ratelimit.RateLimiter;
+import dev.gunho.global.timing.StageTimings;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentWebFilterTest {
+
+    private RequestMetrics requestMetrics;
+    private AccessLogger accessLogger;
+    private RateLimiter rateLimiter;
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        requestMetrics = new RequestMetrics();
+        // 샘플링 100%, 백그라운드 스레드 없이 flush()로 직접 비운다
+        accessLogger = new AccessLogger(1.0, 2, Duration.ofSeconds(1));
+        // /fail 라우트에만 낮은 한도를 건다
+        rateLimiter = new RateLimiter(true, List.of("GET /fail 1 1"), 1000, 1000, Duration.ofMinutes(1));
+        // 동시 요청 한도 10, /payments/capture/** 만 대상
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(true, List.of("/payments/capture/**"), List.of(),
+                10, 10, 10, 0.8, 2.0, 0.2, Duration.ofMillis(100), 100);
+
+        webTestClient = WebTestClient
+                .bindToRouterFunction(RouterFunctions.route()
+                        .GET("/payments/capture/{jobId}", request -> ServerResponse.ok().bodyValue(request.pathVariable("jobId")))
+                        .GET("/fail", request -> Mono.error(new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE)))
+                        .GET("/slow", request -> StageTimings.time(StageTimings.Stage.GATEWAY, Mono.delay(Duration.ofMillis(20)))
+                                .flatMap(tick -> ServerResponse.ok().bodyValue("done")))
+                        .filter(StageTimings::markHandled)
+                        .build())
+                .webFilter(new PaymentWebFilter(requestMetrics, accessLogger, rateLimiter,
+                        new ClientKeyResolver(List.of()), concurrencyLimiter, true))
+                .build();
+    }
+
+    @Test
+    @DisplayName("요청은 경로 변수 대신 라우트 패턴별로 집계")
+    void filter_RecordsByRoutePattern() {
+        // when
+        webTestClient.get().uri("/payments/capture/job-1").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/payments/capture/job-2").exchange().expectStatus().isOk();
+        webTestClient.get().uri("/unknown").exchange().expectStatus().isNotFound();
+
+        // then
+        Map<String, RequestMetrics.RouteSnapshot> snapshot = requestMetrics.snapshot();
+        assertThat(snapshot).containsOnlyKeys("GET /payments/capture/{jobId}", RequestMetrics.UNMATCHED);
+        RequestMetrics.RouteSnapshot route = snapshot.get("GET /payments/capture/{jobId}");
+        assertThat(route.getLatency().getCount()).isEqualTo(2);
+        assertThat(route.getStatuses()).containsEntry(200, 2L);
+        assertThat(snapshot.get(RequestMetrics.UNMATCHED).getStatuses()).containsEntry(404, 1L);
+    }
+
+    @Test
+    @DisplayName("오류 응답은 샘플링 없이 오류 큐에 넣고 요청 스레드에서 직접 쓰지 않음")
+    void filter_ErrorsAlwaysLogged() {
+        // when
+        webTestClient.get().uri("/fail").exchange().expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // then
+        assertThat(accessLogger.getErrorCount()).isEqualTo(1);
+        assertThat(accessLogger.getQueuedErrorCount()).isEqualTo(1);
+        assertThat(accessLogger.getLoggedCount()).isZero();
+        assertThat(requestMetrics.snapshot().get("GET /fail").getStatuses()).containsEntry(503, 1L);
+
+        accessLogger.flush();
+        assertThat(accessLogger.getLoggedCount()).isEqualTo(1);
+        assertThat(accessLogger.getQueuedErrorCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("오류 큐가 가득 차면 오류 로그도 버리고 따로 집계")
+    void filter_DropsErrorsWhenQueueFull() {
+        // when: 큐 용량 2. /fail은 요청 한도가 1이므로 직접 기록한다
+        for (int i = 0; i < 5; i++) {
+            accessLogger.log("GET", "/fail", 503, 1_000, null);
+        }
+
+        // then
+        assertThat(accessLogger.getQueuedErrorCount()).isEqualTo(2);
+        assertThat(accessLogger.getDroppedErrorCount()).isEqualTo(3);
+        assertThat(accessLogger.getDroppedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("접근 로그 큐가 가득 차면 요청 스레드를 막지 않고 버림")
+    void filter_DropsWhenQueueFull() {
+        // when: 큐 용량 2
+        for (int i = 0; i < 5; i++) {
+            webTestClient.get().uri("/payments/capture/job-" + i).exchange().expectStatus().isOk();
+        }
+
+        // then
+        assertThat(accessLogger.getQueuedCount()).isEqualTo(2);
+        assertThat(accessLogger.getDroppedCount()).isEqualTo(3);
+
+        accessLogger.flush();
+        assertThat(accessLogger.getLoggedCount()).isEqualTo(2);
+        assertThat(accessLogger.getQueuedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("한도를 넘은 클라이언트는 429와 Retry-After를 받고 유저 헤더를 바꿔도 새 버킷을 얻지 못함")
+    void filter_RateLimited() {
+        // given
+        webTestClient.get().uri("/fail").header("X-User-Id", "merchant-1").exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // when/then
+        webTestClient.get().uri("/fail").header("X-User-Id", "merchant-1").exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS)
+                .expectHeader().valueEquals("Retry-After", "1");
+        webTestClient.get().uri("/fail").header("X-User-Id", "merchant-2").exchange()
+                .expectStatus().isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        assertThat(rateLimiter.getRejectedCount()).isEqualTo(2);
+        // 라우팅 전에 거절되므로 503과 마찬가지로 처리율 규칙의 패턴으로 집계
+        assertThat(requestMetrics.snapshot().get("GET /fail").getStatuses())
+                .containsEntry(503, 1L)
+                .containsEntry(429, 2L);
+        assertThat(requestMetrics.snapshot()).doesNotContainKey(RequestMetrics.UNMATCHED);
+    }
+
+    @Test
+    @DisplayName("동시 요청 한도에 도달하면 503으로 즉시 거절하고 끝난 요청은 한도를 반환")
+    void filter_ShedsOverConcurrencyLimit() {
+        // given: 한도 10을 모두 점유
+        for (int i = 0; i < 10; i++) {
+            assertThat(concurrencyLimiter.tryAcquire(AdaptiveConcurrencyLimiter.Priority.HIGH)).isTrue();
+        }
+
+        // when/then
+        webTestClient.get().uri("/payments/capture/job-1").exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE)
+                .expectHeader().valueEquals("Retry-After", "1");
+        assertThat(concurrencyLimiter.getShedCount(AdaptiveConcurrencyLimiter.Priority.HIGH)).isEqualTo(1);
+        // 라우팅 전에 거절되므로 한도 규칙의 패턴으로 집계
+        assertThat(requestMetrics.snapshot().get("GET /payments/capture/**").getStatuses()).containsEntry(503, 1L);
+        assertThat(requestMetrics.snapshot()).doesNotContainKey(RequestMetrics.UNMATCHED);
+
+        concurrencyLimiter.release(1_000_000L, true);
+        webTestClient.get().uri("/payments/capture/job-1").exchange().expectStatus().isOk();
+        assertThat(concurrencyLimiter.getShedCount(AdaptiveConcurrencyLimiter.Priority.HIGH)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Reactor 컨텍스트로 단계별 시간을 모아 Server-Timing 헤더와 단계 히스토그램에 반영")
+    void filter_ServerTiming() {
+        // when/then
+        webTestClient.get().uri("/slow").exchange()
+                .expectStatus().isOk()
+                .expectHeader().value("Server-Timing", header -> {
+                    assertThat(header).matches("gateway;dur=\\d+\\.\\d{2}, encode;dur=\\d+\\.\\d{2}, total;dur=\\d+\\.\\d{2}");
+                    double gatewayMillis = Double.parseDouble(header.substring("gateway;dur=".length(), header.indexOf(',')));
+                    assertThat(gatewayMillis).isGreaterThanOrEqualTo(20.0);
+                });
+
+        Map<String, LatencyHistogram.Snapshot> stages = requestMetrics.stageSnapshot();
+        assertThat(stages).containsOnlyKeys("decode", "token", "gateway", "encode");
+        assertThat(stages.get("gateway").getCount()).isEqualTo(1);
+        assertThat(stages.get("encode").getCount()).isEqualTo(1);
+        assertThat(stages.get("decode").getCount()).isZero();
+    }
+}
@@ -0,0 +1,72 @@
+package dev.gunho.global.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("백분위는 실제 값보다 작지 않고 6% 이내로 보고")
+    void snapshot_PercentilesWithinPrecision() {
+        // given: 1us ~ 100000us 균등 분포
+        LatencyHistogram histogram = new LatencyHistogram(4);
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.recordMicros(micros);
+        }
+
+        // when
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        // then
+        assertThat(snapshot.getCount()).isEqualTo(100_000);
+        assertThat(snapshot.getMeanMicros()).isCloseTo(50_000.5, within(0.01));
+        assertThat(snapshot.getP50Micros()).isBetween(50_000L, 53_125L);
+        assertThat(snapshot.getP99Micros()).isBetween(99_000L, 105_188L);
+        assertThat(snapshot.getMaxMicros()).isEqualTo(100_000);
+    }
+
+    @Test
+    @DisplayName("버킷은 빈틈 없이 이어지고 작은 값은 정확히 기록")
+    void bucketIndex_Contiguous() {
+        for (long value = 0; value < 32; value++) {
+            assertThat(LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(value))).isEqualTo(value);
+        }
+        for (long value = 1; value < 1 << 20; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            assertThat(LatencyHistogram.bucketIndex(value - 1)).isBetween(index - 1, index);
+        }
+        assertThat(LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE)).isEqualTo(LatencyHistogram.BUCKET_COUNT - 1);
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 기록해도 건수가 유실되지 않음")
+    void recordMicros_Concurrent() throws InterruptedException {
+        // given
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.recordNanos(1_500_000);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.getCount()).isEqualTo(800_000);
+        assertThat(snapshot.getP999Micros()).isBetween(1_500L, 1_535L);
+    }
+}
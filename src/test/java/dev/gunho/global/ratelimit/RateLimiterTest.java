@@ -0,0 +1,120 @@
+package dev.gunho.global.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.PathContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RateLimiterTest {
+
+    private static final PathContainer ORDERS = PathContainer.parsePath("/payments/orders");
+    private static final PathContainer USERS = PathContainer.parsePath("/users");
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private RateLimiter limiter(List<RateLimitRule> rules) {
+        return new RateLimiter(true, rules, new RateLimitRule(null, "/**", 100, 100), Duration.ofMinutes(1), clock::get);
+    }
+
+    @Test
+    @DisplayName("버스트만큼 허용한 뒤 거절하고 시간이 지나면 다시 허용")
+    void acquire_BurstThenRefill() {
+        // given: 초당 10건, 버스트 3
+        RateLimiter limiter = limiter(List.of(RateLimitRule.parse("POST /payments/** 10 3")));
+
+        // when/then
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire("POST", ORDERS, "user:a")).isEqualTo(RateLimiter.ALLOWED);
+        }
+        long retryAfter = limiter.acquire("POST", ORDERS, "user:a");
+        assertThat(retryAfter).isEqualTo(100_000_000L);
+
+        // 다른 클라이언트는 영향 없음
+        assertThat(limiter.acquire("POST", ORDERS, "user:b")).isEqualTo(RateLimiter.ALLOWED);
+
+        clock.addAndGet(retryAfter);
+        assertThat(limiter.acquire("POST", ORDERS, "user:a")).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(limiter.acquire("POST", ORDERS, "user:a")).isPositive();
+        assertThat(limiter.getRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("규칙에 맞지 않는 요청은 기본 규칙의 별도 버킷 사용")
+    void acquire_DefaultRuleForOtherRoutes() {
+        // given
+        RateLimiter limiter = limiter(List.of(RateLimitRule.parse("POST /payments/** 1 1")));
+
+        // when/then
+        assertThat(limiter.acquire("POST", ORDERS, "ip:10.0.0.1")).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(limiter.acquire("POST", ORDERS, "ip:10.0.0.1")).isPositive();
+        assertThat(limiter.acquire("GET", USERS, "ip:10.0.0.1")).isEqualTo(RateLimiter.ALLOWED);
+        assertThat(limiter.acquire("GET", ORDERS, "ip:10.0.0.1")).isEqualTo(RateLimiter.ALLOWED);
+    }
+
+    @Test
+    @DisplayName("가득 찬 버킷만 정리하고 실행 중 규칙 변경 시 새 규칙 적용")
+    void evictIdle_AndSetRules() {
+        // given
+        RateLimiter limiter = limiter(List.of(RateLimitRule.parse("POST /payments/** 1 1")));
+        limiter.acquire("POST", ORDERS, "user:a");
+        limiter.acquire("GET", USERS, "user:a");
+        assertThat(limiter.getBucketCount()).isEqualTo(2);
+
+        // when: 0.5초 후 /users 버킷(100/s)만 가득 참
+        clock.addAndGet(500_000_000L);
+
+        // then
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.getBucketCount()).isEqualTo(1);
+
+        limiter.setRules(List.of(RateLimitRule.parse("/payments/** 1000 1000")));
+        assertThat(limiter.getBucketCount()).isZero();
+        for (int i = 0; i < 1000; i++) {
+            assertThat(limiter.acquire("POST", ORDERS, "user:a")).isEqualTo(RateLimiter.ALLOWED);
+        }
+    }
+
+    @Test
+    @DisplayName("동시에 요청해도 버스트보다 많이 허용하지 않음")
+    void acquire_ConcurrentNeverExceedsBurst() throws InterruptedException {
+        // given: 시계를 멈추고 버스트 1000
+        RateLimiter limiter = limiter(List.of(RateLimitRule.parse("/payments/** 1 1000")));
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    if (limiter.acquire("POST", ORDERS, "user:a") == RateLimiter.ALLOWED) {
+                        allowed.incrementAndGet();
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(allowed.get()).isEqualTo(1000);
+    }
+
+    @Test
+    @DisplayName("잘못된 규칙 문자열은 예외")
+    void parse_Invalid() {
+        assertThatThrownBy(() -> RateLimitRule.parse("POST /payments/**"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RateLimitRule.parse("/payments/** 0 10"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,55 @@
+package dev.gunho.global.timing;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageTimingsTest {
+
+    @Test
+    @DisplayName("컨텍스트에 있는 StageTimings에 단계 시간을 누적")
+    void time_RecordsIntoContext() {
+        // given
+        StageTimings timings = new StageTimings(System.nanoTime());
+
+        // when
+        Mono<Long> work = StageTimings.time(StageTimings.Stage.TOKEN, Mono.delay(Duration.ofMillis(10)))
+                .then(StageTimings.time(StageTimings.Stage.TOKEN, Mono.delay(Duration.ofMillis(10))))
+                .contextWrite(Context.of(StageTimings.class, timings));
+
+        // then
+        StepVerifier.create(work).expectNext(0L).verifyComplete();
+        assertThat(timings.has(StageTimings.Stage.TOKEN)).isTrue();
+        assertThat(timings.getNanos(StageTimings.Stage.TOKEN)).isGreaterThanOrEqualTo(20_000_000L);
+        assertThat(timings.has(StageTimings.Stage.GATEWAY)).isFalse();
+    }
+
+    @Test
+    @DisplayName("컨텍스트에 없으면 원래 Mono를 그대로 실행")
+    void time_WithoutContext() {
+        StepVerifier.create(StageTimings.time(StageTimings.Stage.DECODE, Mono.just("body")))
+                .expectNext("body")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Server-Timing 값은 기록된 단계만 밀리초 소수 둘째 자리로 표시")
+    void toServerTiming_Format() {
+        // given
+        StageTimings timings = new StageTimings(0L);
+        timings.add(StageTimings.Stage.DECODE, 120_000L);
+        timings.add(StageTimings.Stage.GATEWAY, 183_405_000L);
+
+        // when
+        String header = timings.toServerTiming(184_020_000L);
+
+        // then
+        assertThat(header).isEqualTo("decode;dur=0.12, gateway;dur=183.40, total;dur=184.02");
+    }
+}
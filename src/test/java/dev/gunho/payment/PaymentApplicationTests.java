@@ -3,7 +3,8 @@ package dev.gunho.payment;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+// 노드ID는 인스턴스마다 지정해야 기동된다
+@SpringBootTest(properties = "id.node-id=0")
 class PaymentApplicationTests {
 
     @Test
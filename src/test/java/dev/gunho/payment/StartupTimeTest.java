@@ -0,0 +1,120 @@
+package dev.gunho.payment;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares time-to-first-request of the JVM build (boot jar) with the native image.
+ * Runs only through {@code ./gradlew startupTimeTest -Pnative}, which builds both and passes their paths in
+ * {@code startup.jar} and {@code startup.native-image}.
+ * <p>
+ * The first request is {@code GET /metrics/http}, which needs no database or gateway, so both builds are started
+ * against addresses where nothing listens. The R2DBC pool connects lazily and the background jobs that would
+ * query the database are switched off.
+ */
+@EnabledIfSystemProperty(named = "startup.jar", matches = ".+")
+class StartupTimeTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+    private static final int RUNS = Integer.getInteger("startup.runs", 3);
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @Test
+    @DisplayName("네이티브 이미지는 JVM보다 첫 요청까지의 시간이 짧음")
+    void nativeImage_ServesFirstRequestSooner() throws Exception {
+        // given
+        String jar = System.getProperty("startup.jar");
+        String nativeImage = System.getProperty("startup.native-image");
+
+        // when
+        long jvmMillis = bestOf(List.of(javaCommand(), "-jar", jar));
+        System.out.printf("JVM time to first request: %d ms%n", jvmMillis);
+        if (nativeImage == null || !new File(nativeImage).canExecute()) {
+            System.out.println("No native image given (startup.native-image), JVM time only");
+            return;
+        }
+        long nativeMillis = bestOf(List.of(nativeImage));
+        System.out.printf("Native time to first request: %d ms (%.1fx faster)%n",
+                nativeMillis, (double) jvmMillis / Math.max(1, nativeMillis));
+
+        // then
+        assertThat(nativeMillis).isLessThan(jvmMillis);
+    }
+
+    private long bestOf(List<String> command) throws Exception {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            best = Math.min(best, timeToFirstRequest(command));
+        }
+        return best;
+    }
+
+    private long timeToFirstRequest(List<String> command) throws Exception {
+        int port = freePort();
+        List<String> args = new ArrayList<>(command);
+        args.addAll(List.of(
+                "--server.port=" + port,
+                "--spring.r2dbc.url=r2dbc:mariadb://127.0.0.1:" + freePort() + "/payment",
+                "--api.paypal.client=startup",
+                "--api.paypal.secret=startup",
+                "--api.paypal.base-url=http://127.0.0.1:" + freePort(),
+                "--payment.capture.worker.enabled=false",
+                "--user.id-filter.enabled=false",
+                "--spring.main.banner-mode=off"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/metrics/http"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(args)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new AssertionError(command.get(0) + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - start) / 1_000_000;
+                    }
+                } catch (IOException e) {
+                    // 아직 포트가 열리지 않았다
+                }
+                Thread.sleep(5);
+            }
+            throw new AssertionError("No response within " + TIMEOUT + " from " + command.get(0));
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static String javaCommand() {
+        return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.gunho.payment.config;
+
+import dev.gunho.payment.util.IdGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorConfigTest {
+
+    private static IdGeneratorConfig config(int nodeId) {
+        IdGeneratorConfig config = new IdGeneratorConfig();
+        ReflectionTestUtils.setField(config, "nodeId", nodeId);
+        ReflectionTestUtils.setField(config, "encoding", IdGenerator.Encoding.BASE32);
+        return config;
+    }
+
+    @Test
+    @DisplayName("노드ID를 지정하지 않으면 운영 프로파일에서는 기동 실패")
+    void idGenerator_NodeIdRequiredOutsideDev() {
+        // given
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+
+        // when/then
+        assertThatThrownBy(() -> config(-1).idGenerator(environment))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("id.node-id");
+    }
+
+    @Test
+    @DisplayName("dev 프로파일에서는 호스트 이름으로 노드ID를 정하고, 지정한 노드ID는 항상 사용")
+    void idGenerator_HostNameFallbackInDev() {
+        // given
+        MockEnvironment dev = new MockEnvironment();
+        dev.setActiveProfiles("dev");
+
+        // when
+        IdGenerator fromHostName = config(-1).idGenerator(dev);
+        IdGenerator configured = config(7).idGenerator(new MockEnvironment());
+
+        // then
+        assertThat(IdGenerator.nodeIdOf(fromHostName.nextId())).isBetween(0, IdGenerator.MAX_NODE_ID);
+        assertThat(IdGenerator.nodeIdOf(configured.nextId())).isEqualTo(7);
+    }
+}
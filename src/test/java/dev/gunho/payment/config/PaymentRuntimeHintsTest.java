@@ -0,0 +1,53 @@
+package dev.gunho.payment.config;
+
+import dev.gunho.global.ratelimit.RateLimitRule;
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.dto.UserPayload;
+import dev.gunho.payment.model.entity.UserEntity;
+import dev.gunho.payment.model.mapper.UserMapper;
+import dev.gunho.payment.model.money.MoneyAmountSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @BeforeEach
+    void setUp() {
+        new PaymentRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    @DisplayName("요청/응답 DTO는 Jackson 바인딩용 리플렉션 힌트가 등록됨")
+    void payloads_HaveBindingHints() throws Exception {
+        // then
+        assertThat(RuntimeHintsPredicates.reflection().onType(PaymentPayload.OrderStatusResponse.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(UserPayload.BulkResult.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(UserPayload.Response.class.getMethod("getPayKey")))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+                .onMethod(PaymentPayload.OrderRequest.class.getDeclaredMethod("of",
+                        BigDecimal.class, String.class, String.class, String.class)))
+                .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(MoneyAmountSerializer.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(RateLimitRule.class)).accepts(hints);
+    }
+
+    @Test
+    @DisplayName("엔티티와 MapStruct 구현 클래스에 리플렉션 힌트가 등록됨")
+    void entitiesAndMapper_HaveHints() throws Exception {
+        // then
+        assertThat(RuntimeHintsPredicates.reflection().onField(UserEntity.class.getDeclaredField("payKey"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(UserMapper.class.getName() + "Impl")))
+                .accepts(hints);
+    }
+}
@@ -0,0 +1,97 @@
+package dev.gunho.payment.gateway;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaptureCoalescerTest {
+
+    private final CaptureCoalescer coalescer = new CaptureCoalescer(1_000, Duration.ofSeconds(30));
+
+    @Test
+    @DisplayName("동시에 들어온 같은 주문의 캡처는 한 번만 호출")
+    void concurrentCaptures_ShareOneCall() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<Boolean> pending = Sinks.one();
+
+        // when
+        StepVerifier.create(Flux.range(0, 10)
+                        .flatMap(i -> coalescer.capture("ORDER-1", id -> {
+                            calls.incrementAndGet();
+                            return pending.asMono();
+                        }))
+                        .doOnSubscribe(s -> Mono.delay(Duration.ofMillis(50))
+                                .subscribe(t -> pending.tryEmitValue(true))))
+                .expectNextCount(10)
+                .verifyComplete();
+
+        // then
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalescer.getUpstreamCallCount()).isEqualTo(1);
+        assertThat(coalescer.getCoalescedCount()).isEqualTo(9);
+        assertThat(coalescer.getInFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("완료 직후의 중복 캡처는 저장된 결과를 반환")
+    void lateDuplicate_GetsRememberedResult() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        coalescer.capture("ORDER-1", id -> Mono.fromSupplier(() -> calls.incrementAndGet() > 0)).block();
+
+        // when/then
+        StepVerifier.create(coalescer.capture("ORDER-1", id -> Mono.fromSupplier(() -> calls.incrementAndGet() > 0)))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(coalescer.getResultHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패한 캡처는 기억하지 않고 다시 호출")
+    void failedCapture_IsNotRemembered() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        StepVerifier.create(coalescer.capture("ORDER-1", id -> {
+                    calls.incrementAndGet();
+                    return Mono.error(new RuntimeException("timeout"));
+                }))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        // when/then
+        StepVerifier.create(coalescer.capture("ORDER-1", id -> {
+                    calls.incrementAndGet();
+                    return Mono.just(true);
+                }))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("완료되지 않은 캡처 결과는 기억하지 않고 재시도 시 다시 호출")
+    void unsuccessfulCapture_IsNotRemembered() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        StepVerifier.create(coalescer.capture("ORDER-1", id -> Mono.fromSupplier(() -> calls.incrementAndGet() > 1)))
+                .expectNext(false)
+                .verifyComplete();
+
+        // when/then
+        StepVerifier.create(coalescer.capture("ORDER-1", id -> Mono.fromSupplier(() -> calls.incrementAndGet() > 1)))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(coalescer.getResultHitCount()).isZero();
+    }
+}
@@ -0,0 +1,116 @@
+package dev.gunho.payment.gateway;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong nanos = new AtomicLong(1_000_000_000_000L);
+
+    private final CircuitBreaker.Settings settings = CircuitBreaker.Settings.builder()
+            .failureRateThreshold(0.5)
+            .slowCallRateThreshold(1.0)
+            .slowCallDuration(Duration.ofSeconds(1))
+            .window(Duration.ofSeconds(10))
+            .minimumCalls(4)
+            .openDuration(Duration.ofSeconds(5))
+            .halfOpenCalls(2)
+            .build();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker("PayPal", settings, nanos::get);
+
+    @Test
+    @DisplayName("실패율이 임계치를 넘으면 OPEN으로 전환")
+    void opensWhenFailureRateExceedsThreshold() {
+        // given
+        recordCalls(2, false);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // when
+        recordCalls(2, true);
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(circuitBreaker.snapshot().getRejected()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최소 호출 수 미만이면 실패해도 CLOSED 유지")
+    void staysClosedBelowMinimumCalls() {
+        // when
+        recordCalls(3, true);
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("윈도우를 벗어난 호출은 실패율 계산에서 제외")
+    void forgetsCallsOutsideWindow() {
+        // given
+        recordCalls(3, true);
+
+        // when (윈도우 10초가 지난 뒤 성공 호출)
+        nanos.addAndGet(Duration.ofSeconds(11).toNanos());
+        recordCalls(4, false);
+
+        // then
+        assertThat(circuitBreaker.snapshot().getCalls()).isEqualTo(4);
+        assertThat(circuitBreaker.snapshot().getFailureRate()).isZero();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("OPEN 유지 시간이 지나면 HALF_OPEN 시험 호출 후 CLOSED로 복구")
+    void recoversThroughHalfOpen() {
+        // given
+        recordCalls(4, true);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // when
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+
+        // then (시험 호출은 halfOpenCalls 개수만 허용)
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        circuitBreaker.onSuccess(1_000_000);
+        circuitBreaker.onSuccess(1_000_000);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("HALF_OPEN 시험 호출이 실패하면 다시 OPEN")
+    void reopensWhenTrialCallFails() {
+        // given
+        recordCalls(4, true);
+        nanos.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        // when
+        circuitBreaker.onError(1_000_000);
+
+        // then
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void recordCalls(int count, boolean failure) {
+        for (int i = 0; i < count; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+            if (failure) {
+                circuitBreaker.onError(1_000_000);
+            } else {
+                circuitBreaker.onSuccess(1_000_000);
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package dev.gunho.payment.gateway;
+
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.service.impl.PayPalPaymentService;
+import dev.gunho.payment.stub.LatencyDistribution;
+import dev.gunho.payment.stub.PayPalStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayHttpClientsTest {
+
+    private final MockEnvironment environment = new MockEnvironment();
+    private GatewayHttpClients gatewayHttpClients;
+
+    @BeforeEach
+    void setUp() {
+        // "3s" 같은 기간 표기는 Spring Boot의 변환 서비스가 처리한다
+        environment.setConversionService(new ApplicationConversionService());
+        gatewayHttpClients = new GatewayHttpClients(environment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        gatewayHttpClients.stop();
+    }
+
+    @Test
+    @DisplayName("게이트웨이별 설정이 공통 설정보다 우선하고 없으면 기본값 사용")
+    void settings_GatewayOverridesShared() {
+        // given
+        environment.setProperty("payment.gateway.http.max-connections", "50");
+        environment.setProperty("payment.gateway.http.paypal.max-connections", "20");
+        environment.setProperty("payment.gateway.http.paypal.response-timeout", "3s");
+
+        // when
+        GatewayHttpClients.Settings paypal = gatewayHttpClients.settings("PayPal");
+        GatewayHttpClients.Settings stripe = gatewayHttpClients.settings("Stripe");
+
+        // then
+        assertThat(paypal.getMaxConnections()).isEqualTo(20);
+        assertThat(paypal.getResponseTimeout()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(stripe.getMaxConnections()).isEqualTo(50);
+        assertThat(stripe.getResponseTimeout()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(stripe.isHttp2()).isFalse();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 커넥션 획득이 거절되고 지표에 기록")
+    void pool_RejectsOverPendingLimit() {
+        // given
+        environment.setProperty("payment.gateway.http.paypal.max-connections", "2");
+        environment.setProperty("payment.gateway.http.paypal.pending-acquire-max-count", "1");
+        try (PayPalStubServer stub = PayPalStubServer.start()) {
+            PayPalPaymentService paymentService = new PayPalPaymentService(WebClient.builder(), gatewayHttpClients,
+                    "test-client-id", "test-client-secret", stub.getBaseUrl());
+            paymentService.getTokenManager().getToken().block();
+            stub.latency(LatencyDistribution.fixed(Duration.ofMillis(200)));
+
+            // when
+            Flux.range(0, 10)
+                    .flatMap(i -> paymentService.createOrder(Money.parse("10.00", "USD"), "Order " + i)
+                            .onErrorResume(e -> Mono.empty()))
+                    .blockLast();
+        }
+
+        // then
+        GatewayHttpClients.PoolSnapshot pool = gatewayHttpClients.snapshot().get("PayPal");
+        assertThat(pool.getMaxConnections()).isEqualTo(2);
+        assertThat(pool.getRejectedAcquires()).isGreaterThan(0);
+        assertThat(pool.getAcquireLatency().getCount()).isGreaterThanOrEqualTo(4);
+        assertThat(pool.getAllocated()).isLessThanOrEqualTo(2);
+    }
+}
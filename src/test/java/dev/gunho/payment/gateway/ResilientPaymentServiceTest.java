@@ -0,0 +1,88 @@
+package dev.gunho.payment.gateway;
+
+import dev.gunho.payment.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientPaymentServiceTest {
+
+    @Mock
+    private PaymentService delegate;
+
+    private ResilientPaymentService paymentService;
+
+    @BeforeEach
+    void setUp() {
+        CircuitBreaker.Settings settings = CircuitBreaker.Settings.builder()
+                .minimumCalls(2)
+                .failureRateThreshold(0.5)
+                .openDuration(Duration.ofMinutes(1))
+                .build();
+
+        paymentService = new ResilientPaymentService(delegate,
+                new CircuitBreaker("PayPal", settings),
+                new Bulkhead("PayPal", 1));
+    }
+
+    @Test
+    @DisplayName("서킷이 열리면 게이트웨이를 호출하지 않고 즉시 실패")
+    void failsFastWhileCircuitIsOpen() {
+        // given
+        when(delegate.getGatewayName()).thenReturn("PayPal");
+        when(delegate.capturePayment(anyString()))
+                .thenReturn(Mono.error(new RuntimeException("Payment gateway error")));
+
+        StepVerifier.create(paymentService.capturePayment("ORDER-1")).expectError(RuntimeException.class).verify();
+        StepVerifier.create(paymentService.capturePayment("ORDER-1")).expectError(RuntimeException.class).verify();
+
+        // when/then
+        StepVerifier.create(paymentService.capturePayment("ORDER-1"))
+                .expectErrorMatches(throwable -> throwable instanceof GatewayUnavailableException &&
+                        throwable.getMessage().contains("circuit is open"))
+                .verify();
+
+        verify(delegate, times(2)).capturePayment("ORDER-1");
+        assertThat(paymentService.getCircuitBreaker().getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(paymentService.getBulkhead().getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("동시 호출 한도를 넘으면 벌크헤드가 거절")
+    void rejectsWhenBulkheadIsFull() {
+        // given
+        Sinks.One<Boolean> pending = Sinks.one();
+        when(delegate.getGatewayName()).thenReturn("PayPal");
+        when(delegate.capturePayment("ORDER-1")).thenReturn(pending.asMono());
+
+        // when
+        StepVerifier.create(paymentService.capturePayment("ORDER-1"))
+                .then(() -> {
+                    StepVerifier.create(paymentService.capturePayment("ORDER-2"))
+                            .expectError(GatewayUnavailableException.class)
+                            .verify();
+                    pending.tryEmitValue(true);
+                })
+                .expectNext(true)
+                .verifyComplete();
+
+        // then
+        assertThat(paymentService.getBulkhead().getRejectedCount()).isEqualTo(1);
+        assertThat(paymentService.getBulkhead().getInFlight()).isZero();
+    }
+}
@@ -0,0 +1,187 @@
+package dev.gunho.payment.gateway;
+
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoutingPaymentServiceTest {
+
+    @Mock
+    private PaymentService payPal;
+
+    @Mock
+    private PaymentService stripe;
+
+    private PaymentGatewayRegistry.Gateway payPalGateway;
+    private PaymentGatewayRegistry.Gateway stripeGateway;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(payPal.getGatewayName()).thenReturn("PayPal");
+        lenient().when(stripe.getGatewayName()).thenReturn("Stripe");
+        payPalGateway = gateway(payPal, 1);
+        stripeGateway = gateway(stripe, 1);
+    }
+
+    @Test
+    @DisplayName("캡처는 주문을 생성한 게이트웨이로 전달")
+    void capturePayment_IsPinnedToCreatingGateway() {
+        // given (Stripe만 가중치를 주어 주문이 Stripe로 가도록 함)
+        RoutingPaymentService routing = routing(gateway(payPal, 0), stripeGateway);
+        when(stripe.createOrder(any(Money.class), anyString(), any())).thenReturn(Mono.just("ORDER-1"));
+        when(stripe.capturePayment("ORDER-1")).thenReturn(Mono.just(true));
+
+        // when
+        StepVerifier.create(routing.createOrder(Money.parse("100.00", "USD"), "Test Order")).expectNext("ORDER-1").verifyComplete();
+        StepVerifier.create(routing.capturePayment("ORDER-1")).expectNext(true).verifyComplete();
+
+        // then
+        assertThat(routing.getGatewayName("ORDER-1")).isEqualTo("Stripe");
+        verify(payPal, never()).capturePayment(anyString());
+    }
+
+    @Test
+    @DisplayName("캐시에 없는 주문은 저장된 주문 상태의 게이트웨이로 캡처")
+    void capturePayment_ResolvesGatewayFromStore() {
+        // given: 재시작 등으로 로컬 캐시에 고정 정보가 없는 경우
+        RoutingPaymentService routing = new RoutingPaymentService(
+                new PaymentGatewayRegistry(List.of(payPalGateway, stripeGateway), 4), 1000, Duration.ofHours(1),
+                new CaptureCoalescer(1000, Duration.ofSeconds(30)),
+                orderId -> "ORDER-1".equals(orderId) ? Mono.just("Stripe") : Mono.empty());
+        when(stripe.capturePayment("ORDER-1")).thenReturn(Mono.just(true));
+
+        // when/then
+        StepVerifier.create(routing.capturePayment("ORDER-1")).expectNext(true).verifyComplete();
+        assertThat(routing.getGatewayName("ORDER-1")).isEqualTo("Stripe");
+        verify(payPal, never()).capturePayment(anyString());
+    }
+
+    @Test
+    @DisplayName("게이트웨이를 알 수 없는 주문은 기본 게이트웨이로 보내지 않고 실패")
+    void capturePayment_FailsWhenGatewayUnknown() {
+        // given
+        RoutingPaymentService routing = routing(payPalGateway, stripeGateway);
+
+        // when/then
+        StepVerifier.create(routing.capturePayment("ORDER-UNKNOWN"))
+                .expectErrorSatisfies(e -> assertThat(e).isInstanceOf(ResponseStatusException.class)
+                        .extracting(ex -> ((ResponseStatusException) ex).getStatusCode())
+                        .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY))
+                .verify();
+        verify(payPal, never()).capturePayment(anyString());
+        verify(stripe, never()).capturePayment(anyString());
+    }
+
+    @Test
+    @DisplayName("게이트웨이가 하나뿐이면 알 수 없는 주문도 그 게이트웨이로 캡처")
+    void capturePayment_SingleGateway() {
+        // given
+        RoutingPaymentService routing = routing(payPalGateway);
+        when(payPal.capturePayment("ORDER-UNKNOWN")).thenReturn(Mono.just(true));
+
+        // when/then
+        StepVerifier.create(routing.capturePayment("ORDER-UNKNOWN")).expectNext(true).verifyComplete();
+        assertThat(routing.getGatewayName()).isEqualTo("PayPal");
+    }
+
+    @Test
+    @DisplayName("지연과 오류가 큰 게이트웨이는 점수가 낮음")
+    void score_PrefersFastAndHealthyGateway() {
+        // given
+        PaymentGatewayRegistry registry = new PaymentGatewayRegistry(List.of(payPalGateway, stripeGateway), 4);
+        for (int i = 0; i < 20; i++) {
+            payPalGateway.getStats().onStart();
+            payPalGateway.getStats().onComplete(Duration.ofMillis(900).toNanos(), i % 2 == 0);
+            stripeGateway.getStats().onStart();
+            stripeGateway.getStats().onComplete(Duration.ofMillis(100).toNanos(), false);
+        }
+
+        // when/then
+        assertThat(registry.score(stripeGateway)).isGreaterThan(registry.score(payPalGateway) * 10);
+    }
+
+    @Test
+    @DisplayName("서킷이 열린 게이트웨이는 선택하지 않음")
+    void select_SkipsOpenCircuit() {
+        // given
+        CircuitBreaker.Settings settings = CircuitBreaker.Settings.builder().minimumCalls(1).build();
+        CircuitBreaker breaker = new CircuitBreaker("PayPal", settings);
+        breaker.tryAcquirePermission();
+        breaker.onError(1_000_000);
+        PaymentGatewayRegistry.Gateway broken = new PaymentGatewayRegistry.Gateway(
+                new ResilientPaymentService(payPal, breaker, new Bulkhead("PayPal", 10)),
+                new GatewayStats(0.2, 200), 100);
+        PaymentGatewayRegistry registry = new PaymentGatewayRegistry(List.of(broken, stripeGateway), 4);
+
+        // when/then
+        for (int i = 0; i < 50; i++) {
+            assertThat(registry.select().getName()).isEqualTo("Stripe");
+        }
+    }
+
+    @Test
+    @DisplayName("오류가 멈춘 게이트웨이는 트래픽 없이도 오류율이 줄어 다시 선택됨")
+    void select_RecoversAfterFailuresStop() {
+        // given: PayPal이 연속으로 실패해 점수가 거의 0
+        AtomicLong clock = new AtomicLong();
+        PaymentGatewayRegistry.Gateway recovering = new PaymentGatewayRegistry.Gateway(
+                new ResilientPaymentService(payPal,
+                        new CircuitBreaker("PayPal", CircuitBreaker.Settings.builder().build()),
+                        new Bulkhead("PayPal", 10)),
+                new GatewayStats(0.2, 200, Duration.ofSeconds(30), clock::get), 1);
+        PaymentGatewayRegistry registry = new PaymentGatewayRegistry(List.of(recovering, stripeGateway), 4);
+        for (int i = 0; i < 30; i++) {
+            recovering.getStats().onStart();
+            recovering.getStats().onComplete(Duration.ofMillis(200).toNanos(), true);
+        }
+        assertThat(registry.score(recovering)).isLessThan(registry.score(stripeGateway) * 1e-4);
+
+        // when: 호출 없이 반감기 다섯 번이 지남
+        clock.addAndGet(Duration.ofSeconds(150).toNanos());
+
+        // then
+        assertThat(recovering.getStats().getErrorRate()).isLessThan(0.05);
+        int picked = 0;
+        for (int i = 0; i < 200; i++) {
+            if (registry.select() == recovering) {
+                picked++;
+            }
+        }
+        assertThat(picked).isGreaterThan(20);
+    }
+
+    private PaymentGatewayRegistry.Gateway gateway(PaymentService service, int weight) {
+        String name = service.getGatewayName();
+        return new PaymentGatewayRegistry.Gateway(
+                new ResilientPaymentService(service,
+                        new CircuitBreaker(name, CircuitBreaker.Settings.builder().build()),
+                        new Bulkhead(name, 10)),
+                new GatewayStats(0.2, 200), weight);
+    }
+
+    private RoutingPaymentService routing(PaymentGatewayRegistry.Gateway... gateways) {
+        return new RoutingPaymentService(new PaymentGatewayRegistry(List.of(gateways), 4), 1000, Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,90 @@
+package dev.gunho.payment.handler.admin;
+
+import dev.gunho.global.ratelimit.RateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitHandlerTest {
+
+    private static final String RULES = "[{\"method\":\"*\",\"pattern\":\"/**\",\"permitsPerSecond\":100000,\"burst\":100000}]";
+
+    private final RateLimiter rateLimiter =
+            new RateLimiter(true, List.of("POST /payments/** 20 40"), 100, 200, Duration.ofMinutes(1));
+
+    private WebTestClient client(String adminToken) {
+        RateLimitHandler handler = new RateLimitHandler(rateLimiter, adminToken);
+        return WebTestClient
+                .bindToRouterFunction(RouterFunctions.route()
+                        .GET("/admin/rate-limits", handler::getRateLimits)
+                        .PUT("/admin/rate-limits", handler::putRateLimits)
+                        .build())
+                .build();
+    }
+
+    @Test
+    @DisplayName("관리자 토큰 없이 규칙 변경 시 401이고 규칙은 그대로")
+    void putRateLimits_Unauthenticated() {
+        // when/then
+        client("secret").put().uri("/admin/rate-limits")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(RULES)
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client("secret").put().uri("/admin/rate-limits")
+                .header(RateLimitHandler.ADMIN_TOKEN, "guess")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(RULES)
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        assertThat(rateLimiter.getRules()).extracting("pattern").containsExactly("/payments/**");
+    }
+
+    @Test
+    @DisplayName("관리자 토큰이 설정되지 않으면 규칙 변경은 항상 거절")
+    void putRateLimits_NoTokenConfigured() {
+        // when/then
+        client("").put().uri("/admin/rate-limits")
+                .header(RateLimitHandler.ADMIN_TOKEN, "")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(RULES)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    @DisplayName("올바른 관리자 토큰으로 규칙 변경")
+    void putRateLimits_Authenticated() {
+        // when/then
+        client("secret").put().uri("/admin/rate-limits")
+                .header(RateLimitHandler.ADMIN_TOKEN, "secret")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(RULES)
+                .exchange()
+                .expectStatus().isOk();
+
+        assertThat(rateLimiter.getRules()).extracting("pattern").containsExactly("/**");
+    }
+
+    @Test
+    @DisplayName("규칙 조회도 관리자 토큰이 있어야 가능")
+    void getRateLimits_RequiresAdminToken() {
+        // when/then
+        client("secret").get().uri("/admin/rate-limits")
+                .exchange()
+                .expectStatus().isUnauthorized();
+        client("secret").get().uri("/admin/rate-limits")
+                .header(RateLimitHandler.ADMIN_TOKEN, "secret")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.rules[0].pattern").isEqualTo("/payments/**");
+    }
+}
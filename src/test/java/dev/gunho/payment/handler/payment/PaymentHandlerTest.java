@@ -1,21 +1,32 @@
 package dev.gunho.payment.handler.payment;
 
+import dev.gunho.payment.gateway.GatewayUnavailableException;
 import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.entity.CaptureJobStatus;
+import dev.gunho.payment.model.entity.PaymentOrderStatus;
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.service.CaptureJobService;
+import dev.gunho.payment.service.IdempotencyService;
+import dev.gunho.payment.service.PaymentOrderService;
 import dev.gunho.payment.service.PaymentService;
+import dev.gunho.payment.service.impl.CaptureJobServiceImpl;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +36,15 @@ class PaymentHandlerTest {
     @Mock
     private PaymentService paymentService;
 
+    @Mock
+    private CaptureJobService captureJobService;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private PaymentOrderService paymentOrderService;
+
     @InjectMocks
     private PaymentHandler paymentHandler;
 
@@ -44,27 +64,33 @@ class PaymentHandlerTest {
                 .build();
     }
 
+    // 주문 상태 조회 테스트 라우터
+    private RouterFunction<ServerResponse> getOrderRoute() {
+        return RouterFunctions.route()
+                .GET("/payments/orders/{orderId}", request -> paymentHandler.getOrder(request))
+                .build();
+    }
+
     @Test
     @DisplayName("주문 생성 HTTP 요청 성공 테스트")
     void createOrder_Success() {
         // given
         String orderId = "ORDER-123456789";
         String userId = "testUser123";
-        Double amount = 100.0;
         String currency = "USD";
+        Money amount = Money.parse("100.00", currency);
         String description = "Test Order";
         String gatewayName = "PayPal";
 
         PaymentPayload.OrderRequest request = PaymentPayload.OrderRequest.builder()
                 .amount(amount)
-                .currency(currency)
                 .description(description)
                 .userId(userId)
                 .build();
 
-        when(paymentService.createOrder(anyDouble(), anyString(), anyString()))
+        when(paymentService.createOrder(any(Money.class), anyString()))
                 .thenReturn(Mono.just(orderId));
-        when(paymentService.getGatewayName()).thenReturn(gatewayName);
+        when(paymentService.getGatewayName(orderId)).thenReturn(gatewayName);
 
         // WebTestClient 초기화
         webTestClient = WebTestClient
@@ -83,33 +109,33 @@ class PaymentHandlerTest {
                 .expectBody()
                 .jsonPath("$.orderId").isEqualTo(orderId)
                 .jsonPath("$.gatewayName").isEqualTo(gatewayName)
-                .jsonPath("$.amount").isEqualTo(amount)
+                .jsonPath("$.amount").isEqualTo(100.0)
                 .jsonPath("$.currency").isEqualTo(currency)
                 .jsonPath("$.description").isEqualTo(description)
                 .jsonPath("$.userId").isEqualTo(userId);
 
         // verify
-        verify(paymentService).createOrder(amount, currency, description);
-        verify(paymentService).getGatewayName();
+        verify(paymentService).createOrder(amount, description);
+        verify(paymentService).getGatewayName(orderId);
+        verify(paymentOrderService).recordCreated(any(PaymentPayload.OrderResponse.class));
     }
 
     @Test
     @DisplayName("주문 생성 HTTP 요청 실패 테스트")
     void createOrder_Failure() {
         // given
-        Double amount = 100.0;
         String currency = "USD";
+        Money amount = Money.parse("100.00", currency);
         String description = "Test Order";
         String userId = "testUser123";
 
         PaymentPayload.OrderRequest request = PaymentPayload.OrderRequest.builder()
                 .amount(amount)
-                .currency(currency)
                 .description(description)
                 .userId(userId)
                 .build();
 
-        when(paymentService.createOrder(anyDouble(), anyString(), anyString()))
+        when(paymentService.createOrder(any(Money.class), anyString()))
                 .thenReturn(Mono.error(new RuntimeException("Payment gateway error")));
 
         // WebTestClient 초기화
@@ -127,7 +153,7 @@ class PaymentHandlerTest {
                 .expectStatus().is5xxServerError();
 
         // verify
-        verify(paymentService).createOrder(amount, currency, description);
+        verify(paymentService).createOrder(amount, description);
     }
 
     @Test
@@ -145,7 +171,7 @@ class PaymentHandlerTest {
 
         when(paymentService.capturePayment(anyString()))
                 .thenReturn(Mono.just(true));
-        when(paymentService.getGatewayName()).thenReturn(gatewayName);
+        when(paymentService.getGatewayName(orderId)).thenReturn(gatewayName);
 
         // WebTestClient 초기화
         webTestClient = WebTestClient
@@ -168,7 +194,8 @@ class PaymentHandlerTest {
 
         // verify
         verify(paymentService).capturePayment(orderId);
-        verify(paymentService).getGatewayName();
+        verify(paymentService).getGatewayName(orderId);
+        verify(paymentOrderService).recordCaptured(orderId, userId);
     }
 
     @Test
@@ -186,7 +213,7 @@ class PaymentHandlerTest {
 
         when(paymentService.capturePayment(anyString()))
                 .thenReturn(Mono.just(false));
-        when(paymentService.getGatewayName()).thenReturn(gatewayName);
+        when(paymentService.getGatewayName(orderId)).thenReturn(gatewayName);
 
         // WebTestClient 초기화
         webTestClient = WebTestClient
@@ -209,7 +236,9 @@ class PaymentHandlerTest {
 
         // verify
         verify(paymentService).capturePayment(orderId);
-        verify(paymentService).getGatewayName();
+        verify(paymentService).getGatewayName(orderId);
+        verify(paymentOrderService).recordFailed(eq(orderId), eq(userId), anyString());
+        verify(paymentOrderService, never()).recordCaptured(anyString(), anyString());
     }
 
     @Test
@@ -241,7 +270,241 @@ class PaymentHandlerTest {
                 .exchange()
                 .expectStatus().is5xxServerError();
 
-        // verify
+        // verify: 결과를 알 수 없는 오류는 주문을 실패로 기록하지 않음
         verify(paymentService).capturePayment(orderId);
+        verify(paymentOrderService, never()).recordFailed(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("결제 캡처 HTTP 요청 실패 테스트 - 게이트웨이 호출 전 거절은 주문 상태를 바꾸지 않음")
+    void capturePayment_LocalRejectionKeepsOrderState() {
+        // given
+        PaymentPayload.CaptureRequest request = PaymentPayload.CaptureRequest.builder()
+                .orderId("ORDER-123456789")
+                .userId("testUser123")
+                .build();
+
+        when(paymentService.capturePayment(anyString()))
+                .thenReturn(Mono.error(new GatewayUnavailableException("PayPal circuit is open")));
+
+        webTestClient = WebTestClient
+                .bindToRouterFunction(capturePaymentRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .post()
+                .uri("/payments/capture")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        // verify
+        verify(paymentOrderService, never()).recordFailed(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("결제 캡처 HTTP 요청 실패 테스트 - 게이트웨이가 돌려준 오류는 주문을 실패로 기록")
+    void capturePayment_GatewayErrorRecordsFailure() {
+        // given
+        String orderId = "ORDER-123456789";
+        String userId = "testUser123";
+
+        PaymentPayload.CaptureRequest request = PaymentPayload.CaptureRequest.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .build();
+
+        when(paymentService.capturePayment(anyString()))
+                .thenReturn(Mono.error(WebClientResponseException.create(422, "Unprocessable Entity", null, null, null)));
+
+        webTestClient = WebTestClient
+                .bindToRouterFunction(capturePaymentRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .post()
+                .uri("/payments/capture")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().is5xxServerError();
+
+        // verify
+        verify(paymentOrderService).recordFailed(eq(orderId), eq(userId), anyString());
+    }
+
+    @Test
+    @DisplayName("비동기 결제 캡처 요청은 작업 등록 후 202 응답")
+    void capturePayment_RespondAsync() {
+        // given
+        String orderId = "ORDER-123456789";
+        String userId = "testUser123";
+        String jobId = "JOB-1";
+
+        PaymentPayload.CaptureRequest request = PaymentPayload.CaptureRequest.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .build();
+
+        when(captureJobService.submit(any(PaymentPayload.CaptureRequest.class)))
+                .thenReturn(Mono.just(PaymentPayload.CaptureJobResponse.builder()
+                        .jobId(jobId)
+                        .orderId(orderId)
+                        .userId(userId)
+                        .status(CaptureJobStatus.PENDING)
+                        .attempts(0)
+                        .build()));
+
+        // WebTestClient 초기화
+        webTestClient = WebTestClient
+                .bindToRouterFunction(capturePaymentRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .post()
+                .uri("/payments/capture")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectHeader().location("/payments/capture/" + jobId)
+                .expectBody()
+                .jsonPath("$.jobId").isEqualTo(jobId)
+                .jsonPath("$.status").isEqualTo("PENDING");
+
+        // verify
+        verify(paymentService, never()).capturePayment(anyString());
+    }
+
+    @Test
+    @DisplayName("비동기 결제 캡처 요청에 주문ID가 없으면 400 응답")
+    void capturePayment_RespondAsyncWithoutOrderId() {
+        // given: 실제 작업 서비스의 입력 검증을 거친다
+        PaymentPayload.CaptureRequest request = PaymentPayload.CaptureRequest.builder()
+                .userId("testUser123")
+                .build();
+
+        when(captureJobService.submit(any(PaymentPayload.CaptureRequest.class)))
+                .thenAnswer(invocation -> new CaptureJobServiceImpl(null, null).submit(invocation.getArgument(0)));
+
+        // WebTestClient 초기화
+        webTestClient = WebTestClient
+                .bindToRouterFunction(capturePaymentRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .post()
+                .uri("/payments/capture")
+                .header("Prefer", "respond-async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        // verify
+        verify(paymentService, never()).capturePayment(anyString());
+    }
+
+    @Test
+    @DisplayName("Idempotency-Key가 있으면 멱등 저장소를 거쳐 주문 생성")
+    void createOrder_WithIdempotencyKey() {
+        // given
+        String orderId = "ORDER-123456789";
+        String idempotencyKey = "KEY-123";
+
+        PaymentPayload.OrderRequest request = PaymentPayload.OrderRequest.builder()
+                .amount(Money.parse("100.00", "USD"))
+                .description("Test Order")
+                .userId("testUser123")
+                .build();
+
+        when(idempotencyService.createOrder(eq(idempotencyKey), any(PaymentPayload.OrderRequest.class)))
+                .thenReturn(Mono.just(PaymentPayload.OrderResponse.builder()
+                        .orderId(orderId)
+                        .gatewayName("PayPal")
+                        .amount(Money.parse("100.00", "USD"))
+                        .build()));
+
+        // WebTestClient 초기화
+        webTestClient = WebTestClient
+                .bindToRouterFunction(createOrderRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .post()
+                .uri("/payments/orders")
+                .header("Idempotency-Key", idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectHeader().location("/payments/orders/" + orderId)
+                .expectBody()
+                .jsonPath("$.orderId").isEqualTo(orderId);
+
+        // verify: 주문 저장소 기록은 멱등 서비스가 실제 생성 시에만 한다
+        verify(paymentService, never()).createOrder(any(Money.class), anyString());
+        verify(paymentOrderService, never()).recordCreated(any(PaymentPayload.OrderResponse.class));
+    }
+
+    @Test
+    @DisplayName("주문 상태 조회는 로컬 저장소의 마지막 상태를 응답")
+    void getOrder_Found() {
+        // given
+        String orderId = "ORDER-123456789";
+        when(paymentOrderService.getOrder(orderId))
+                .thenReturn(Mono.just(PaymentPayload.OrderStatusResponse.builder()
+                        .orderId(orderId)
+                        .gatewayName("PayPal")
+                        .userId("testUser123")
+                        .amount(Money.parse("100.00", "USD"))
+                        .status(PaymentOrderStatus.CAPTURED)
+                        .build()));
+
+        // WebTestClient 초기화
+        webTestClient = WebTestClient
+                .bindToRouterFunction(getOrderRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .get()
+                .uri("/payments/orders/" + orderId)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.orderId").isEqualTo(orderId)
+                .jsonPath("$.amount").isEqualTo(100.0)
+                .jsonPath("$.currency").isEqualTo("USD")
+                .jsonPath("$.status").isEqualTo("CAPTURED");
+
+        // verify
+        verify(paymentService, never()).getGatewayName(anyString());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 주문 상태 조회는 404 응답")
+    void getOrder_NotFound() {
+        // given
+        when(paymentOrderService.getOrder("UNKNOWN")).thenReturn(Mono.empty());
+
+        // WebTestClient 초기화
+        webTestClient = WebTestClient
+                .bindToRouterFunction(getOrderRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .get()
+                .uri("/payments/orders/UNKNOWN")
+                .exchange()
+                .expectStatus().isNotFound();
     }
-}
\ No newline at end of file
+}
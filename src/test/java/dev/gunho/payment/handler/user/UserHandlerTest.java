@@ -3,6 +3,7 @@ package dev.gunho.payment.handler.user;
 import dev.gunho.payment.model.dto.UserPayload;
 import dev.gunho.payment.model.entity.Status;
 import dev.gunho.payment.service.UserService;
+import dev.gunho.payment.util.KeysetCursor;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,12 +15,16 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.server.RouterFunction;
 import org.springframework.web.reactive.function.server.RouterFunctions;
 import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -38,6 +43,8 @@ class UserHandlerTest {
     private RouterFunction<ServerResponse> createUserRoute() {
         return RouterFunctions.route()
                 .POST("/users", request -> userHandler.createUser(request))
+                .POST("/users/bulk", request -> userHandler.createUsers(request))
+                .GET("/users", request -> userHandler.listUsers(request))
                 .build();
     }
 
@@ -147,4 +154,84 @@ class UserHandlerTest {
                 .expectBody(UserPayload.Response.class)
                 .isEqualTo(responseDto);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("NDJSON 대량 유저 생성 요청 시 유저별 결과를 NDJSON으로 스트리밍")
+    void createUsers_ndjson() {
+        // given
+        when(userService.createUsers(any()))
+                .thenAnswer(inv -> inv.<Flux<UserPayload.Request>>getArgument(0)
+                        .map(request -> UserPayload.BulkResult.builder()
+                                .userId(request.getUserId())
+                                .status(UserPayload.BulkStatus.CREATED)
+                                .build()));
+
+        webTestClient = WebTestClient
+                .bindToRouterFunction(createUserRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .post()
+                .uri("/users/bulk")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue("{\"userId\":\"user-1\"}\n{\"userId\":\"user-2\"}\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .value(body -> assertThat(body.lines())
+                        .containsExactly(
+                                "{\"userId\":\"user-1\",\"status\":\"CREATED\",\"payKey\":null,\"error\":null}",
+                                "{\"userId\":\"user-2\",\"status\":\"CREATED\",\"payKey\":null,\"error\":null}"));
+    }
+
+    @Test
+    @DisplayName("유저 목록 조회 시 커서와 상태 필터를 서비스로 전달하고 SSE 이벤트 ID에 커서 사용")
+    void listUsers_sse() {
+        // given
+        String cursor = KeysetCursor.encode(42L);
+        UserPayload.Summary response = UserPayload.Summary.builder()
+                .userId("user-43")
+                .status(Status.INACTIVE)
+                .cursor(KeysetCursor.encode(43L))
+                .build();
+        when(userService.listUsers(Status.INACTIVE, 42L, 10L)).thenReturn(Flux.just(response));
+
+        webTestClient = WebTestClient
+                .bindToRouterFunction(createUserRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .get()
+                .uri("/users?status=INACTIVE&limit=10&cursor=" + cursor)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+                .expectBody(String.class)
+                .value(body -> assertThat(body)
+                        .contains("id:" + KeysetCursor.encode(43L))
+                        .contains("\"userId\":\"user-43\"")
+                        .doesNotContain("payKey"));
+    }
+
+    @Test
+    @DisplayName("잘못된 커서로 유저 목록 조회 시 400 반환")
+    void listUsers_invalidCursor() {
+        // given
+        webTestClient = WebTestClient
+                .bindToRouterFunction(createUserRoute())
+                .build();
+
+        // when/then
+        webTestClient
+                .get()
+                .uri("/users?cursor=not-a-cursor")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        verify(userService, never()).listUsers(any(), anyLong(), anyLong());
+    }
+}
@@ -0,0 +1,54 @@
+package dev.gunho.payment.model.money;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    @DisplayName("소수 금액을 보조 단위 정수로 정확히 변환")
+    void parse_IsExact() {
+        // when
+        Money a = Money.parse("0.1", "USD");
+        Money b = Money.parse("0.2", "USD");
+
+        // then
+        assertThat(a.plus(b)).isEqualTo(Money.parse("0.30", "USD"));
+        assertThat(a.plus(b).getMinorUnits()).isEqualTo(30);
+        assertThat(Money.parse("-3.25", "USD").getMinorUnits()).isEqualTo(-325);
+    }
+
+    @Test
+    @DisplayName("통화별 소수 자릿수에 맞춰 PayPal 형식으로 출력")
+    void toPlainString_UsesCurrencyDigits() {
+        assertThat(Money.parse("10.5", "USD").toPlainString()).isEqualTo("10.50");
+        assertThat(Money.parse("0.05", "USD").toPlainString()).isEqualTo("0.05");
+        assertThat(Money.parse("-0.05", "USD").toPlainString()).isEqualTo("-0.05");
+        assertThat(Money.parse("1000", "KRW").toPlainString()).isEqualTo("1000");
+        assertThat(Money.parse("1.005", "BHD").toPlainString()).isEqualTo("1.005");
+        assertThat(Money.ofMinor(Long.MIN_VALUE, CurrencyUnit.USD).toPlainString()).isEqualTo("-92233720368547758.08");
+    }
+
+    @Test
+    @DisplayName("통화가 허용하는 것보다 긴 소수는 거부")
+    void parse_RejectsTooManyDecimals() {
+        assertThatThrownBy(() -> Money.parse("10.001", "USD")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("10.5", "KRW")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001"), CurrencyUnit.USD)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("1e3", "USD")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Money.parse("10", "XYZ")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("통화 인스턴스는 공유되고 BigDecimal 변환과 일치")
+    void currencyUnit_IsShared() {
+        assertThat(CurrencyUnit.of("USD")).isSameAs(CurrencyUnit.USD);
+        assertThat(Money.of(new BigDecimal("12.30"), CurrencyUnit.USD)).isEqualTo(Money.parse("12.3", "USD"));
+        assertThat(Money.parse("12.3", "USD").toBigDecimal()).isEqualByComparingTo("12.30");
+    }
+}
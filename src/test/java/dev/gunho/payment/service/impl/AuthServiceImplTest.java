@@ -7,14 +7,15 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,7 +24,6 @@ class AuthServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
     private AuthServiceImpl authService;
 
     private UserEntity activeUser;
@@ -33,6 +33,9 @@ class AuthServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        authService = new AuthServiceImpl(userRepository,
+                new UserCache(userRepository, 1_000, Duration.ofMinutes(1), Duration.ofSeconds(5)));
+
         // 테스트 데이터 초기화
         activeUser = UserEntity.builder()
                 .idx(1L)
@@ -193,4 +196,56 @@ class AuthServiceImplTest {
         // verify - repository should not be called with null userId
         verify(userRepository, never()).findByUserId(null);
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("같은 사용자의 반복 검증은 캐시에서 처리")
+    void validatePayKey_CachesUser() {
+        // given
+        when(userRepository.findByUserId(userId)).thenReturn(Mono.just(activeUser));
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(authService.validatePayKey(userId, payKey))
+                    .expectNext(true)
+                    .verifyComplete();
+        }
+
+        // verify
+        verify(userRepository, times(1)).findByUserId(userId);
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 사용자도 짧게 캐시")
+    void validatePayKey_CachesUnknownUser() {
+        // given
+        when(userRepository.findByUserId("nonExistentUser")).thenReturn(Mono.empty());
+
+        // when
+        authService.validatePayKey("nonExistentUser", payKey).block();
+        authService.validatePayKey("nonExistentUser", payKey).block();
+
+        // verify
+        verify(userRepository, times(1)).findByUserId("nonExistentUser");
+    }
+
+    @Test
+    @DisplayName("무효화 후에는 변경된 payKey로 다시 조회")
+    void validatePayKey_ReloadsAfterInvalidate() {
+        // given
+        UserCache userCache = new UserCache(userRepository, 1_000, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        authService = new AuthServiceImpl(userRepository, userCache);
+        when(userRepository.findByUserId(userId))
+                .thenReturn(Mono.just(activeUser), Mono.just(activeUser.withPayKey("newPayKey")));
+        authService.validatePayKey(userId, payKey).block();
+
+        // when
+        userCache.invalidate(userId);
+
+        // then
+        StepVerifier.create(authService.validatePayKey(userId, "newPayKey"))
+                .expectNext(true)
+                .verifyComplete();
+        verify(userRepository, times(2)).findByUserId(userId);
+        assertThat(userCache.getStats().loadCount()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,208 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.entity.CaptureJobEntity;
+import dev.gunho.payment.model.entity.CaptureJobStatus;
+import dev.gunho.payment.repository.CaptureJobRepository;
+import dev.gunho.payment.service.PaymentOrderService;
+import dev.gunho.payment.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CaptureJobWorkerTest {
+
+    @Mock
+    private CaptureJobRepository captureJobRepository;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentOrderService paymentOrderService;
+
+    private CaptureJobWorker worker;
+
+    @BeforeEach
+    void setUp() {
+        worker = new CaptureJobWorker(captureJobRepository, paymentService, paymentOrderService, false,
+                Duration.ofMillis(500), 2, 4, 3, Duration.ofSeconds(1), Duration.ofSeconds(10), Duration.ofMinutes(2));
+    }
+
+    private static CaptureJobEntity job(String orderId, int attempts) {
+        LocalDateTime now = LocalDateTime.now();
+        return CaptureJobEntity.builder()
+                .idx(1L)
+                .jobId("JOB-" + orderId)
+                .orderId(orderId)
+                .status(CaptureJobStatus.IN_PROGRESS)
+                .attempts(attempts)
+                .nextAttemptAt(now)
+                .claimToken("token")
+                .regDate(now)
+                .updDate(now)
+                .build();
+    }
+
+    private void releaseClaimReturns(long updated) {
+        when(captureJobRepository.releaseClaim(anyString(), eq("token"), anyString(), anyInt(), any(), any(), any()))
+                .thenReturn(Mono.just(updated));
+    }
+
+    @Test
+    @DisplayName("캡처 성공 시 작업 완료 처리")
+    void process_Completed() {
+        // given
+        when(paymentService.capturePayment("ORDER-1")).thenReturn(Mono.just(true));
+        releaseClaimReturns(1L);
+
+        // when/then
+        StepVerifier.create(worker.process(job("ORDER-1", 0)))
+                .assertNext(saved -> {
+                    assertThat(saved.getStatus()).isEqualTo(CaptureJobStatus.COMPLETED);
+                    assertThat(saved.getAttempts()).isEqualTo(1);
+                    assertThat(saved.getClaimToken()).isNull();
+                })
+                .verifyComplete();
+        assertThat(worker.getCompletedCount().get()).isEqualTo(1);
+        verify(paymentOrderService).recordCaptured("ORDER-1", null);
+    }
+
+    @Test
+    @DisplayName("게이트웨이 오류 시 백오프 후 재시도로 예약")
+    void process_RetryWithBackoff() {
+        // given
+        when(paymentService.capturePayment("ORDER-1")).thenReturn(Mono.error(new RuntimeException("timeout")));
+        releaseClaimReturns(1L);
+
+        // when/then
+        StepVerifier.create(worker.process(job("ORDER-1", 0)))
+                .assertNext(saved -> {
+                    assertThat(saved.getStatus()).isEqualTo(CaptureJobStatus.PENDING);
+                    assertThat(saved.getAttempts()).isEqualTo(1);
+                    assertThat(saved.getNextAttemptAt()).isAfter(LocalDateTime.now());
+                    assertThat(saved.getLastError()).contains("timeout");
+                })
+                .verifyComplete();
+        assertThat(worker.getRetriedCount().get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("최대 시도 횟수 초과 시 실패 처리")
+    void process_FailedAfterMaxAttempts() {
+        // given
+        when(paymentService.capturePayment("ORDER-1")).thenReturn(Mono.error(new RuntimeException("timeout")));
+        releaseClaimReturns(1L);
+
+        // when/then
+        StepVerifier.create(worker.process(job("ORDER-1", 2)))
+                .assertNext(saved -> assertThat(saved.getStatus()).isEqualTo(CaptureJobStatus.FAILED))
+                .verifyComplete();
+        verify(paymentOrderService).recordFailed(eq("ORDER-1"), eq(null), anyString());
+    }
+
+    @Test
+    @DisplayName("이미 캡처된 주문은 완료로 처리")
+    void process_AlreadyCaptured() {
+        // given
+        WebClientResponseException alreadyCaptured = WebClientResponseException.create(
+                HttpStatus.UNPROCESSABLE_ENTITY.value(), "Unprocessable Entity", null,
+                "{\"name\":\"UNPROCESSABLE_ENTITY\",\"details\":[{\"issue\":\"ORDER_ALREADY_CAPTURED\"}]}"
+                        .getBytes(StandardCharsets.UTF_8),
+                StandardCharsets.UTF_8);
+        when(paymentService.capturePayment("ORDER-1")).thenReturn(Mono.error(alreadyCaptured));
+        releaseClaimReturns(1L);
+
+        // when/then
+        StepVerifier.create(worker.process(job("ORDER-1", 1)))
+                .assertNext(saved -> assertThat(saved.getStatus()).isEqualTo(CaptureJobStatus.COMPLETED))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("재시도해도 결과가 같은 4xx 오류는 바로 실패 처리")
+    void process_PermanentErrorFailsImmediately() {
+        // given
+        WebClientResponseException notFound = WebClientResponseException.create(
+                HttpStatus.NOT_FOUND.value(), "Not Found", null,
+                "{\"name\":\"RESOURCE_NOT_FOUND\"}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        when(paymentService.capturePayment("ORDER-1")).thenReturn(Mono.error(notFound));
+        releaseClaimReturns(1L);
+
+        // when/then
+        StepVerifier.create(worker.process(job("ORDER-1", 0)))
+                .assertNext(saved -> {
+                    assertThat(saved.getStatus()).isEqualTo(CaptureJobStatus.FAILED);
+                    assertThat(saved.getAttempts()).isEqualTo(1);
+                })
+                .verifyComplete();
+        assertThat(worker.getRetriedCount().get()).isZero();
+        assertThat(worker.getFailedCount().get()).isEqualTo(1);
+        verify(paymentOrderService).recordFailed(eq("ORDER-1"), eq(null), anyString());
+    }
+
+    @Test
+    @DisplayName("리스가 만료되어 다른 워커가 다시 가져간 작업은 결과를 덮어쓰지 않음")
+    void process_LostClaim() {
+        // given
+        when(paymentService.capturePayment("ORDER-1")).thenReturn(Mono.error(new RuntimeException("timeout")));
+        releaseClaimReturns(0L);
+
+        // when/then
+        StepVerifier.create(worker.process(job("ORDER-1", 2)))
+                .assertNext(saved -> assertThat(saved.getStatus()).isEqualTo(CaptureJobStatus.FAILED))
+                .verifyComplete();
+        assertThat(worker.getLostClaimCount().get()).isEqualTo(1);
+        assertThat(worker.getFailedCount().get()).isZero();
+        verify(paymentOrderService, never()).recordFailed(anyString(), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("배치가 가득 차면 다음 배치를 이어서 처리")
+    void drain_ContinuesWhileBatchIsFull() {
+        // given
+        when(captureJobRepository.claimBatch(anyString(), any(), any(), anyInt()))
+                .thenReturn(Mono.just(2L), Mono.just(1L));
+        when(captureJobRepository.findByClaimTokenAndStatus(anyString(), eq(CaptureJobStatus.IN_PROGRESS)))
+                .thenReturn(Flux.just(job("ORDER-1", 0), job("ORDER-2", 0)), Flux.just(job("ORDER-3", 0)));
+        when(paymentService.capturePayment(anyString())).thenReturn(Mono.just(true));
+        releaseClaimReturns(1L);
+
+        // when/then
+        StepVerifier.create(worker.drain())
+                .expectNext(3L)
+                .verifyComplete();
+        verify(paymentService).capturePayment("ORDER-3");
+    }
+
+    @Test
+    @DisplayName("백오프는 최대값을 넘지 않음")
+    void backoff_IsCapped() {
+        for (int attempts = 1; attempts < 40; attempts++) {
+            Duration backoff = worker.backoff(attempts);
+            assertThat(backoff).isLessThanOrEqualTo(Duration.ofSeconds(10));
+            assertThat(backoff).isPositive();
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.entity.IdempotencyKeyEntity;
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.repository.IdempotencyKeyRepository;
+import dev.gunho.payment.service.PaymentOrderService;
+import dev.gunho.payment.service.PaymentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceImplTest {
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private PaymentOrderService paymentOrderService;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private static final String SCOPED_KEY = IdempotencyServiceImpl.scopedKey("testUser123", "KEY-1");
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    private final PaymentPayload.OrderRequest request = PaymentPayload.OrderRequest.builder()
+            .amount(Money.parse("100.00", "USD"))
+            .description("Test Order")
+            .userId("testUser123")
+            .build();
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(paymentService, paymentOrderService, idempotencyKeyRepository, 100, Duration.ofHours(1));
+    }
+
+    private IdempotencyKeyEntity record(String key, String requestHash) {
+        return IdempotencyKeyEntity.builder()
+                .idx(1L)
+                .idempotencyKey(key)
+                .requestHash(requestHash)
+                .orderId("ORDER-1")
+                .gatewayName("PayPal")
+                .regDate(LocalDateTime.now())
+                .build();
+    }
+
+    @Test
+    @DisplayName("같은 키로 동시에 요청해도 주문은 한 번만 생성")
+    void concurrentRequests_CreateOneOrder() {
+        // given
+        Sinks.One<String> pending = Sinks.one();
+        when(idempotencyKeyRepository.findByIdempotencyKey(SCOPED_KEY)).thenReturn(Mono.empty());
+        when(paymentService.createOrder(any(Money.class), anyString(), anyString())).thenReturn(pending.asMono());
+        when(paymentService.getGatewayName("ORDER-1")).thenReturn("PayPal");
+        when(idempotencyKeyRepository.save(any(IdempotencyKeyEntity.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        // when
+        StepVerifier.create(Flux.range(0, 5)
+                        .flatMap(i -> idempotencyService.createOrder("KEY-1", request))
+                        .doOnSubscribe(s -> Mono.delay(Duration.ofMillis(50))
+                                .subscribe(t -> pending.tryEmitValue("ORDER-1"))))
+                .expectNextCount(5)
+                .verifyComplete();
+
+        // then
+        verify(paymentService, times(1)).createOrder(Money.parse("100.00", "USD"), "Test Order", SCOPED_KEY);
+        verify(paymentOrderService, times(1)).recordCreated(any(PaymentPayload.OrderResponse.class));
+        assertThat(idempotencyService.getWaitedCount()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("이미 처리된 키는 메모리에서 바로 응답")
+    void repeatedKey_ServedFromMemory() {
+        // given
+        when(idempotencyKeyRepository.findByIdempotencyKey(SCOPED_KEY))
+                .thenReturn(Mono.just(record(SCOPED_KEY, IdempotencyServiceImpl.requestHash(request))));
+        idempotencyService.createOrder("KEY-1", request).block();
+
+        // when/then
+        StepVerifier.create(idempotencyService.createOrder("KEY-1", request))
+                .assertNext(response -> {
+                    assertThat(response.getOrderId()).isEqualTo("ORDER-1");
+                    assertThat(response.getGatewayName()).isEqualTo("PayPal");
+                })
+                .verifyComplete();
+        verify(idempotencyKeyRepository, times(1)).findByIdempotencyKey(SCOPED_KEY);
+        verify(paymentService, never()).createOrder(any(Money.class), anyString(), anyString());
+        verify(paymentOrderService, never()).recordCreated(any(PaymentPayload.OrderResponse.class));
+        assertThat(idempotencyService.getMemoryHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다른 요청에 재사용된 키는 422 오류")
+    void reusedKeyWithDifferentRequest_IsRejected() {
+        // given
+        when(idempotencyKeyRepository.findByIdempotencyKey(SCOPED_KEY)).thenReturn(Mono.just(record(SCOPED_KEY, "other")));
+
+        // when/then
+        StepVerifier.create(idempotencyService.createOrder("KEY-1", request))
+                .expectError(ResponseStatusException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("다른 인스턴스가 먼저 저장한 키는 저장된 결과를 사용")
+    void concurrentInsert_ReadsBackStoredRecord() {
+        // given
+        when(idempotencyKeyRepository.findByIdempotencyKey(SCOPED_KEY))
+                .thenReturn(Mono.empty(), Mono.just(record(SCOPED_KEY, IdempotencyServiceImpl.requestHash(request))));
+        when(paymentService.createOrder(any(Money.class), anyString(), anyString())).thenReturn(Mono.just("ORDER-1"));
+        when(paymentService.getGatewayName("ORDER-1")).thenReturn("PayPal");
+        when(idempotencyKeyRepository.save(any(IdempotencyKeyEntity.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry")));
+
+        // when/then
+        StepVerifier.create(idempotencyService.createOrder("KEY-1", request))
+                .assertNext(response -> assertThat(response.getOrderId()).isEqualTo("ORDER-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("같은 키라도 사용자가 다르면 별도의 주문을 생성")
+    void sameKeyFromDifferentUsers_CreatesSeparateOrders() {
+        // given
+        PaymentPayload.OrderRequest otherUser = PaymentPayload.OrderRequest.builder()
+                .amount(Money.parse("100.00", "USD"))
+                .description("Test Order")
+                .userId("otherUser")
+                .build();
+        when(idempotencyKeyRepository.findByIdempotencyKey(anyString())).thenReturn(Mono.empty());
+        when(paymentService.createOrder(any(Money.class), anyString(), anyString()))
+                .thenReturn(Mono.just("ORDER-1"), Mono.just("ORDER-2"));
+        when(paymentService.getGatewayName(anyString())).thenReturn("PayPal");
+        when(idempotencyKeyRepository.save(any(IdempotencyKeyEntity.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        // when/then
+        StepVerifier.create(idempotencyService.createOrder("KEY-1", request))
+                .assertNext(response -> assertThat(response.getOrderId()).isEqualTo("ORDER-1"))
+                .verifyComplete();
+        StepVerifier.create(idempotencyService.createOrder("KEY-1", otherUser))
+                .assertNext(response -> assertThat(response.getOrderId()).isEqualTo("ORDER-2"))
+                .verifyComplete();
+        verify(paymentService).createOrder(Money.parse("100.00", "USD"), "Test Order", SCOPED_KEY);
+        verify(paymentService).createOrder(Money.parse("100.00", "USD"), "Test Order",
+                IdempotencyServiceImpl.scopedKey("otherUser", "KEY-1"));
+        assertThat(idempotencyService.getMemoryHitCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("사용자 범위 키는 고정 길이이고 구분자가 섞여도 겹치지 않음")
+    void scopedKey_FixedLengthAndUnambiguous() {
+        // given
+        String longUser = "u".repeat(64);
+        String longKey = "k".repeat(64);
+
+        // when/then
+        assertThat(IdempotencyServiceImpl.scopedKey(longUser, longKey)).hasSize(64);
+        assertThat(IdempotencyServiceImpl.scopedKey("a:b", "c")).isNotEqualTo(IdempotencyServiceImpl.scopedKey("a", "b:c"));
+        assertThat(IdempotencyServiceImpl.scopedKey(null, "KEY-1")).isNotEqualTo(IdempotencyServiceImpl.scopedKey("", "KEY-1"));
+        assertThat(IdempotencyServiceImpl.scopedKey("testUser123", "KEY-1")).isEqualTo(SCOPED_KEY);
+    }
+}
@@ -0,0 +1,80 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.dto.PayPalPayload;
+import dev.gunho.payment.model.money.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayPalJsonCodecTest {
+
+    @Test
+    @DisplayName("주문 요청을 PayPal 형식으로 직렬화")
+    void writeOrderRequest_ShouldUsePayPalFieldNames() {
+        // given
+        PayPalPayload.OrderRequest request = PayPalPaymentService.buildOrderRequest(Money.parse("100", "USD"), null);
+
+        // when
+        String json = new String(PayPalJsonCodec.writeOrderRequest(request), StandardCharsets.UTF_8);
+
+        // then
+        assertThat(json).isEqualTo("{\"intent\":\"CAPTURE\",\"purchase_units\":"
+                + "[{\"amount\":{\"currency_code\":\"USD\",\"value\":\"100.00\"}}]}");
+    }
+
+    @Test
+    @DisplayName("토큰 응답에서 access_token과 expires_in만 읽음")
+    void readToken_ShouldReadTokenAndExpiry() {
+        // when
+        PayPalPayload.TokenResponse token = PayPalJsonCodec.readToken(buffer(
+                "{\"scope\":\"openid\",\"access_token\":\"A21AA\",\"token_type\":\"Bearer\",\"expires_in\":32400}"));
+
+        // then
+        assertThat(token.getAccessToken()).isEqualTo("A21AA");
+        assertThat(token.getExpiresIn()).isEqualTo(32400);
+    }
+
+    @Test
+    @DisplayName("캡처 응답에서 상태와 캡처 ID 추출")
+    void readCapture_ShouldCollectCaptureIds() {
+        // given
+        String body = "{\"id\":\"5O190127TN364715T\",\"status\":\"COMPLETED\","
+                + "\"payment_source\":{\"paypal\":{\"name\":{\"given_name\":\"John\"}}},"
+                + "\"purchase_units\":[{\"reference_id\":\"d9f80740\",\"shipping\":{\"address\":{\"country_code\":\"US\"}},"
+                + "\"payments\":{\"captures\":[{\"id\":\"3C679366HH908993F\",\"status\":\"COMPLETED\","
+                + "\"amount\":{\"currency_code\":\"USD\",\"value\":\"100.00\"}},{\"id\":\"8F148933LY9388354\"}]}}],"
+                + "\"links\":[{\"href\":\"https://api-m.paypal.com/v2/checkout/orders/5O190127TN364715T\",\"rel\":\"self\"}]}";
+
+        // when
+        PayPalPayload.OrderResult result = PayPalJsonCodec.readCapture(buffer(body));
+
+        // then
+        assertThat(result.getId()).isEqualTo("5O190127TN364715T");
+        assertThat(result.getStatus()).isEqualTo("COMPLETED");
+        assertThat(result.getCaptureIds()).containsExactly("3C679366HH908993F", "8F148933LY9388354");
+    }
+
+    @Test
+    @DisplayName("필요한 필드를 읽은 뒤에는 나머지 본문을 파싱하지 않음")
+    void readOrder_ShouldStopAfterRequiredFields() {
+        // given (뒤쪽이 잘린 본문이라도 id/status가 먼저 나오면 성공)
+        String body = "{\"id\":\"ORDER-1\",\"status\":\"CREATED\",\"links\":[{\"href\":";
+
+        // when
+        PayPalPayload.OrderResult result = PayPalJsonCodec.readOrder(buffer(body));
+
+        // then
+        assertThat(result.getId()).isEqualTo("ORDER-1");
+        assertThat(result.getStatus()).isEqualTo("CREATED");
+        assertThat(result.getCaptureIds()).isEmpty();
+    }
+
+    private static DataBuffer buffer(String json) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
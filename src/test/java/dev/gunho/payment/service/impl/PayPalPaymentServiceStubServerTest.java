@@ -0,0 +1,139 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.stub.LatencyDistribution;
+import dev.gunho.payment.stub.PayPalStubServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs PayPalPaymentService against the embedded PayPal stand-in instead of mocked WebClient chains.
+ */
+class PayPalPaymentServiceStubServerTest {
+
+    private static PayPalStubServer stub;
+
+    private PayPalPaymentService paymentService;
+
+    @BeforeAll
+    static void startStub() {
+        stub = PayPalStubServer.start();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        stub.reset();
+        paymentService = new PayPalPaymentService(WebClient.builder(), "test-client-id", "test-client-secret", stub.getBaseUrl());
+    }
+
+    @Test
+    @DisplayName("주문 생성 후 캡처까지 성공하고 토큰은 한 번만 발급")
+    void createAndCapture_Success() {
+        // when
+        String orderId = paymentService.createOrder(Money.parse("100.00", "USD"), "Test Order").block();
+
+        // then
+        assertThat(orderId).isNotBlank();
+        StepVerifier.create(paymentService.capturePayment(orderId))
+                .expectNext(true)
+                .verifyComplete();
+        assertThat(stub.getTokenRequests()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("동시 요청에도 토큰 요청은 하나로 합쳐짐")
+    void concurrentOrders_ShareTokenRequest() {
+        // given
+        stub.latency(LatencyDistribution.fixed(Duration.ofMillis(50)));
+
+        // when
+        StepVerifier.create(Flux.range(0, 20)
+                        .flatMap(i -> paymentService.createOrder(Money.parse("10.00", "USD"), "Order " + i)))
+                .expectNextCount(20)
+                .verifyComplete();
+
+        // then
+        assertThat(stub.getTokenRequests()).isEqualTo(1);
+        assertThat(stub.getOrderRequests()).isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("게이트웨이 500 오류는 에러로 전파")
+    void createOrder_ServerError() {
+        // given
+        paymentService.getTokenManager().getToken().block();
+        stub.errorRate(1.0);
+
+        // when/then
+        StepVerifier.create(paymentService.createOrder(Money.parse("100.00", "USD"), "Test Order"))
+                .expectError(WebClientResponseException.InternalServerError.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("요청 한도를 넘으면 429 응답")
+    void createOrder_Throttled() {
+        // given
+        paymentService.getTokenManager().getToken().block();
+        stub.throttle(1);
+
+        // when/then
+        StepVerifier.create(Flux.range(0, 5)
+                        .concatMap(i -> paymentService.createOrder(Money.parse("10.00", "USD"), "Order " + i))
+                        .then())
+                .expectError(WebClientResponseException.TooManyRequests.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("느린 본문도 끝까지 받아서 파싱")
+    void capturePayment_SlowBody() {
+        // given
+        String orderId = paymentService.createOrder(Money.parse("100.00", "USD"), "Test Order").block();
+        stub.slowBody(Duration.ofMillis(20), 8);
+
+        // when/then
+        StepVerifier.create(paymentService.capturePayment(orderId))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("이미 캡처된 주문은 422 오류")
+    void capturePayment_AlreadyCaptured() {
+        // given
+        String orderId = paymentService.createOrder(Money.parse("100.00", "USD"), "Test Order").block();
+        paymentService.capturePayment(orderId).block();
+
+        // when/then
+        StepVerifier.create(paymentService.capturePayment(orderId))
+                .expectError(WebClientResponseException.UnprocessableEntity.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("워밍업은 응답받은 프로브 수를 반환")
+    void warmUp_CountsAnsweredProbes() {
+        // when/then
+        StepVerifier.create(paymentService.warmUp(3))
+                .expectNext(3)
+                .verifyComplete();
+        assertThat(stub.getTokenRequests()).isEqualTo(1);
+    }
+}
@@ -1,17 +1,19 @@
 package dev.gunho.payment.service.impl;
 
+import dev.gunho.payment.model.money.Money;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -46,6 +48,8 @@ class PayPalPaymentServiceTest {
     private final String clientId = "test-client-id";
     private final String clientSecret = "test-client-secret";
     private final String baseUrl = "https://api-m.sandbox.paypal.com";
+    private static final String TOKEN_RESPONSE = "{\"scope\":\"https://uri.paypal.com/services/payments\","
+            + "\"access_token\":\"test-access-token\",\"token_type\":\"Bearer\",\"expires_in\":32400}";
 
     @BeforeEach
     void setUp() {
@@ -61,9 +65,7 @@ class PayPalPaymentServiceTest {
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
         
         // 토큰 응답 모킹
-        Map<String, Object> tokenResponse = new HashMap<>();
-        tokenResponse.put("access_token", "test-access-token");
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(tokenResponse));
+        when(responseSpec.bodyToMono(DataBuffer.class)).thenReturn(json(TOKEN_RESPONSE));
         
         // PayPalPaymentService 인스턴스 생성
         paymentService = new PayPalPaymentService(webClientBuilder, clientId, clientSecret, baseUrl);
@@ -73,21 +75,20 @@ class PayPalPaymentServiceTest {
     @DisplayName("주문 생성 성공 시나리오")
     void createOrder_Success() {
         // given
-        Double amount = 100.0;
-        String currency = "USD";
+        Money amount = Money.parse("100.00", "USD");
         String description = "Test Order";
         String orderId = "ORDER-123456789";
         
         // 주문 생성 응답 모킹
-        Map<String, Object> orderResponse = new HashMap<>();
-        orderResponse.put("id", orderId);
+        String orderResponse = "{\"id\":\"" + orderId + "\",\"status\":\"CREATED\","
+                + "\"links\":[{\"href\":\"https://api-m.sandbox.paypal.com/v2/checkout/orders/" + orderId + "\",\"rel\":\"self\"}]}";
         
         // 주문 생성 요청 모킹
         when(requestBodyUriSpec.uri("/v2/checkout/orders")).thenReturn(requestBodySpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(orderResponse));
+        when(responseSpec.bodyToMono(DataBuffer.class)).thenReturn(json(TOKEN_RESPONSE), json(orderResponse));
 
         // when
-        Mono<String> result = paymentService.createOrder(amount, currency, description);
+        Mono<String> result = paymentService.createOrder(amount, description);
 
         // then
         StepVerifier.create(result)
@@ -99,17 +100,16 @@ class PayPalPaymentServiceTest {
     @DisplayName("주문 생성 실패 시나리오")
     void createOrder_Failure() {
         // given
-        Double amount = 100.0;
-        String currency = "USD";
+        Money amount = Money.parse("100.00", "USD");
         String description = "Test Order";
         RuntimeException exception = new RuntimeException("API Error");
         
         // 주문 생성 요청 실패 모킹
         when(requestBodyUriSpec.uri("/v2/checkout/orders")).thenReturn(requestBodySpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.error(exception));
+        when(responseSpec.bodyToMono(DataBuffer.class)).thenReturn(json(TOKEN_RESPONSE), Mono.error(exception));
 
         // when
-        Mono<String> result = paymentService.createOrder(amount, currency, description);
+        Mono<String> result = paymentService.createOrder(amount, description);
 
         // then
         StepVerifier.create(result)
@@ -126,12 +126,13 @@ class PayPalPaymentServiceTest {
         String orderId = "ORDER-123456789";
         
         // 결제 캡처 응답 모킹
-        Map<String, Object> captureResponse = new HashMap<>();
-        captureResponse.put("status", "COMPLETED");
+        String captureResponse = "{\"id\":\"" + orderId + "\",\"status\":\"COMPLETED\","
+                + "\"purchase_units\":[{\"reference_id\":\"default\",\"payments\":{\"captures\":"
+                + "[{\"id\":\"CAPTURE-1\",\"status\":\"COMPLETED\"}]}}]}";
         
         // 결제 캡처 요청 모킹
         when(requestBodyUriSpec.uri("/v2/checkout/orders/" + orderId + "/capture")).thenReturn(requestBodySpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(captureResponse));
+        when(responseSpec.bodyToMono(DataBuffer.class)).thenReturn(json(TOKEN_RESPONSE), json(captureResponse));
 
         // when
         Mono<Boolean> result = paymentService.capturePayment(orderId);
@@ -149,12 +150,13 @@ class PayPalPaymentServiceTest {
         String orderId = "ORDER-123456789";
         
         // 결제 캡처 응답 모킹 (상태가 COMPLETED가 아님)
-        Map<String, Object> captureResponse = new HashMap<>();
-        captureResponse.put("status", "FAILED");
+        String captureResponse = "{\"id\":\"" + orderId + "\",\"status\":\"FAILED\","
+                + "\"purchase_units\":[{\"reference_id\":\"default\",\"payments\":{\"captures\":"
+                + "[{\"id\":\"CAPTURE-1\",\"status\":\"FAILED\"}]}}]}";
         
         // 결제 캡처 요청 모킹
         when(requestBodyUriSpec.uri("/v2/checkout/orders/" + orderId + "/capture")).thenReturn(requestBodySpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.just(captureResponse));
+        when(responseSpec.bodyToMono(DataBuffer.class)).thenReturn(json(TOKEN_RESPONSE), json(captureResponse));
 
         // when
         Mono<Boolean> result = paymentService.capturePayment(orderId);
@@ -174,15 +176,17 @@ class PayPalPaymentServiceTest {
         
         // 결제 캡처 요청 실패 모킹
         when(requestBodyUriSpec.uri("/v2/checkout/orders/" + orderId + "/capture")).thenReturn(requestBodySpec);
-        when(responseSpec.bodyToMono(Map.class)).thenReturn(Mono.error(exception));
+        when(responseSpec.bodyToMono(DataBuffer.class)).thenReturn(json(TOKEN_RESPONSE), Mono.error(exception));
 
         // when
         Mono<Boolean> result = paymentService.capturePayment(orderId);
 
-        // then
+        // then (서킷 브레이커가 실패를 집계할 수 있도록 에러를 그대로 전파)
         StepVerifier.create(result)
-                .expectNext(false) // onErrorReturn(false)로 인해 에러가 아닌 false 반환
-                .verifyComplete();
+                .expectErrorMatches(throwable ->
+                    throwable instanceof RuntimeException &&
+                    throwable.getMessage().equals("API Error"))
+                .verify();
     }
 
     @Test
@@ -194,4 +198,8 @@ class PayPalPaymentServiceTest {
         // then
         assertThat(gatewayName).isEqualTo("PayPal");
     }
-}
\ No newline at end of file
+
+    private static Mono<DataBuffer> json(String body) {
+        return Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,129 @@
+package dev.gunho.payment.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PayPalTokenManagerTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2024-05-20T00:00:00Z"), ZoneOffset.UTC);
+    private final long now = clock.millis();
+
+    private PayPalTokenManager manager(Supplier<Mono<PayPalTokenManager.AccessToken>> fetcher) {
+        return new PayPalTokenManager(fetcher, clock, Duration.ofSeconds(30), Duration.ofMinutes(5));
+    }
+
+    @Test
+    @DisplayName("유효한 토큰은 캐시에서 반환")
+    void getToken_ReturnsCachedToken() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        PayPalTokenManager manager = manager(() -> {
+            calls.incrementAndGet();
+            return Mono.just(new PayPalTokenManager.AccessToken("token-1", now + 3_600_000));
+        });
+
+        // when/then
+        StepVerifier.create(manager.getToken()).expectNext("token-1").verifyComplete();
+        StepVerifier.create(manager.getToken()).expectNext("token-1").verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(manager.getMissCount()).isEqualTo(1);
+        assertThat(manager.getHitCount()).isEqualTo(1);
+        assertThat(manager.getRefreshCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("만료 직전 토큰은 새로 발급")
+    void getToken_RefetchesExpiredToken() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        PayPalTokenManager manager = manager(() -> Mono.just(
+                new PayPalTokenManager.AccessToken("token-" + calls.incrementAndGet(), now + 10_000)));
+
+        // when/then (만료 10초 전이므로 skew 30초 안에 들어와 캐시를 사용하지 않음)
+        StepVerifier.create(manager.getToken()).expectNext("token-1").verifyComplete();
+        StepVerifier.create(manager.getToken()).expectNext("token-2").verifyComplete();
+
+        assertThat(manager.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("동시 갱신 요청은 하나의 토큰 요청으로 합쳐짐")
+    void getToken_CoalescesConcurrentRefreshes() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        Sinks.One<PayPalTokenManager.AccessToken> response = Sinks.one();
+        PayPalTokenManager manager = manager(() -> {
+            calls.incrementAndGet();
+            return response.asMono();
+        });
+
+        // when
+        Mono<String> first = manager.getToken();
+        Mono<String> second = manager.getToken();
+        response.tryEmitValue(new PayPalTokenManager.AccessToken("token-1", now + 3_600_000));
+
+        // then
+        StepVerifier.create(first).expectNext("token-1").verifyComplete();
+        StepVerifier.create(second).expectNext("token-1").verifyComplete();
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(manager.getCoalescedCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("갱신 구간에 들어온 토큰은 반환하면서 백그라운드 갱신")
+    void getToken_RefreshesInBackgroundBeforeExpiry() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        PayPalTokenManager manager = manager(() -> Mono.just(
+                new PayPalTokenManager.AccessToken("token-" + calls.incrementAndGet(), now + 60_000)));
+
+        // when/then
+        StepVerifier.create(manager.getToken()).expectNext("token-1").verifyComplete();
+        StepVerifier.create(manager.getToken()).expectNext("token-1").verifyComplete();
+
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(manager.getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("토큰 요청 실패 시 에러 전파 후 다음 호출에서 재시도")
+    void getToken_PropagatesFailure() {
+        // given
+        AtomicInteger calls = new AtomicInteger();
+        PayPalTokenManager manager = manager(() -> calls.incrementAndGet() == 1
+                ? Mono.error(new RuntimeException("Token Error"))
+                : Mono.just(new PayPalTokenManager.AccessToken("token-2", now + 3_600_000)));
+
+        // when/then
+        StepVerifier.create(manager.getToken()).expectErrorMessage("Token Error").verify();
+        StepVerifier.create(manager.getToken()).expectNext("token-2").verifyComplete();
+        assertThat(manager.getRefreshFailureCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("토큰 만료 시각은 매니저의 시계로 계산")
+    void expiringIn_UsesManagerClock() {
+        // given
+        PayPalTokenManager manager = manager(Mono::empty);
+
+        // when
+        PayPalTokenManager.AccessToken token = manager.expiringIn("token-1", Duration.ofHours(1));
+
+        // then
+        assertThat(token.getValue()).isEqualTo("token-1");
+        assertThat(token.getExpiresAtMillis()).isEqualTo(now + 3_600_000);
+    }
+}
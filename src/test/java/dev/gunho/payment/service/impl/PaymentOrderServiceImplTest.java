@@ -0,0 +1,161 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.dto.PaymentPayload;
+import dev.gunho.payment.model.entity.PaymentOrderEntity;
+import dev.gunho.payment.model.entity.PaymentOrderStatus;
+import dev.gunho.payment.model.money.Money;
+import dev.gunho.payment.repository.PaymentOrderBulkRepository;
+import dev.gunho.payment.repository.PaymentOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PaymentOrderServiceImplTest {
+
+    @Mock
+    private PaymentOrderRepository paymentOrderRepository;
+
+    @Mock
+    private PaymentOrderBulkRepository paymentOrderBulkRepository;
+
+    private PaymentOrderServiceImpl paymentOrderService;
+
+    @BeforeEach
+    void setUp() {
+        paymentOrderService = new PaymentOrderServiceImpl(paymentOrderRepository, paymentOrderBulkRepository,
+                Duration.ofMillis(200), 2, 100, Duration.ofHours(1));
+    }
+
+    private static PaymentPayload.OrderResponse order(String orderId) {
+        return PaymentPayload.OrderResponse.builder()
+                .orderId(orderId)
+                .gatewayName("PayPal")
+                .amount(Money.parse("100.00", "USD"))
+                .description("Test Order")
+                .userId("testUser123")
+                .build();
+    }
+
+    @Test
+    @DisplayName("기록한 주문은 DB 조회 없이 바로 조회됨")
+    void getOrder_FromMemory() {
+        // given
+        paymentOrderService.recordCreated(order("ORDER-1"));
+        paymentOrderService.recordCaptured("ORDER-1", "testUser123");
+
+        // when/then
+        StepVerifier.create(paymentOrderService.getOrder("ORDER-1"))
+                .assertNext(response -> {
+                    assertThat(response.getStatus()).isEqualTo(PaymentOrderStatus.CAPTURED);
+                    assertThat(response.getAmount()).isEqualTo(Money.parse("100.00", "USD"));
+                    assertThat(response.getDescription()).isEqualTo("Test Order");
+                })
+                .verifyComplete();
+        verify(paymentOrderRepository, never()).findByOrderId(anyString());
+    }
+
+    @Test
+    @DisplayName("캡처 완료 후 도착한 실패 기록은 상태를 되돌리지 않음")
+    void merge_CapturedIsFinal() {
+        // given
+        paymentOrderService.recordCaptured("ORDER-1", "testUser123");
+        paymentOrderService.recordFailed("ORDER-1", "testUser123", "timeout");
+
+        // when/then
+        StepVerifier.create(paymentOrderService.getOrder("ORDER-1"))
+                .assertNext(response -> {
+                    assertThat(response.getStatus()).isEqualTo(PaymentOrderStatus.CAPTURED);
+                    assertThat(response.getLastError()).isNull();
+                    assertThat(response.getAmount()).isNull();
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("메모리에 없는 주문은 DB에서 조회")
+    void getOrder_FromStore() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        when(paymentOrderRepository.findByOrderId("ORDER-1")).thenReturn(Mono.just(PaymentOrderEntity.builder()
+                .idx(1L)
+                .orderId("ORDER-1")
+                .amountMinor(10000L)
+                .currency("USD")
+                .status(PaymentOrderStatus.CREATED)
+                .regDate(now)
+                .updDate(now)
+                .build()));
+        when(paymentOrderRepository.findByOrderId("UNKNOWN")).thenReturn(Mono.empty());
+
+        // when/then
+        StepVerifier.create(paymentOrderService.getOrder("ORDER-1"))
+                .assertNext(response -> assertThat(response.getAmount()).isEqualTo(Money.parse("100.00", "USD")))
+                .verifyComplete();
+        StepVerifier.create(paymentOrderService.getOrder("UNKNOWN"))
+                .verifyComplete();
+        assertThat(paymentOrderService.getStoreReadCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("같은 주문의 여러 기록은 한 행으로 묶어 배치로 기록")
+    @SuppressWarnings("unchecked")
+    void flush_CoalescesAndBatches() {
+        // given
+        paymentOrderService.recordCreated(order("ORDER-1"));
+        paymentOrderService.recordCaptured("ORDER-1", "testUser123");
+        paymentOrderService.recordCreated(order("ORDER-2"));
+        paymentOrderService.recordCreated(order("ORDER-3"));
+        when(paymentOrderBulkRepository.upsert(anyList()))
+                .thenAnswer(inv -> Mono.just((long) ((List<PaymentOrderEntity>) inv.getArgument(0)).size()));
+
+        // when/then
+        StepVerifier.create(paymentOrderService.flush())
+                .expectNext(3L)
+                .verifyComplete();
+        ArgumentCaptor<List<PaymentOrderEntity>> batches = ArgumentCaptor.forClass(List.class);
+        verify(paymentOrderBulkRepository, times(2)).upsert(batches.capture());
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 1);
+        assertThat(paymentOrderService.getPendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("DB 기록 실패 시 다음 flush에서 다시 기록")
+    void flush_RetriesAfterFailure() {
+        // given
+        paymentOrderService.recordCreated(order("ORDER-1"));
+        when(paymentOrderBulkRepository.upsert(anyList()))
+                .thenReturn(Mono.error(new RuntimeException("connection reset")))
+                .thenReturn(Mono.just(1L));
+
+        // when/then
+        StepVerifier.create(paymentOrderService.flush())
+                .expectNext(0L)
+                .verifyComplete();
+        assertThat(paymentOrderService.getPendingCount()).isEqualTo(1);
+        assertThat(paymentOrderService.getFailedFlushCount()).isEqualTo(1);
+
+        StepVerifier.create(paymentOrderService.flush())
+                .expectNext(1L)
+                .verifyComplete();
+        assertThat(paymentOrderService.getPendingCount()).isZero();
+    }
+}
@@ -0,0 +1,102 @@
+package dev.gunho.payment.service.impl;
+
+import dev.gunho.payment.model.entity.UserEntity;
+import dev.gunho.payment.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserIdFilterTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private UserIdFilter userIdFilter;
+
+    @BeforeEach
+    void setUp() {
+        userIdFilter = new UserIdFilter(userRepository, true, 0.01, 1_000, 2, Duration.ofHours(6));
+    }
+
+    private static UserEntity user(long idx, String userId) {
+        return UserEntity.builder().idx(idx).userId(userId).build();
+    }
+
+    @Test
+    @DisplayName("구성 전에는 모든 유저ID를 존재 가능으로 판정")
+    void mightContain_BeforeBuild() {
+        assertThat(userIdFilter.isReady()).isFalse();
+        assertThat(userIdFilter.mightContain("anyUser")).isTrue();
+    }
+
+    @Test
+    @DisplayName("user 테이블을 청크 단위로 읽어 필터 구성")
+    void rebuild_ReadsTableInChunks() {
+        // given
+        when(userRepository.count()).thenReturn(Mono.just(3L));
+        when(userRepository.findUserIdsAfter(0L, 2)).thenReturn(Flux.just(user(1, "alice"), user(2, "bob")));
+        when(userRepository.findUserIdsAfter(2L, 2)).thenReturn(Flux.just(user(5, "carol")));
+
+        // when/then
+        StepVerifier.create(userIdFilter.rebuild())
+                .expectNext(3L)
+                .verifyComplete();
+        assertThat(userIdFilter.mightContain("alice")).isTrue();
+        assertThat(userIdFilter.mightContain("carol")).isTrue();
+        verify(userRepository).findUserIdsAfter(2L, 2);
+    }
+
+    @Test
+    @DisplayName("저장된 유저ID는 필터에 추가되고 오탐은 집계")
+    void put_AndFalsePositiveMetrics() {
+        // given
+        when(userRepository.count()).thenReturn(Mono.just(0L));
+        when(userRepository.findUserIdsAfter(0L, 2)).thenReturn(Flux.empty());
+        userIdFilter.rebuild().block();
+
+        // when
+        boolean before = userIdFilter.mightContain("dave");
+        userIdFilter.put("dave");
+        userIdFilter.recordLookup(false);
+
+        // then
+        assertThat(before).isFalse();
+        assertThat(userIdFilter.mightContain("dave")).isTrue();
+        assertThat(userIdFilter.getSkippedQueryCount()).isEqualTo(1);
+        assertThat(userIdFilter.getObservedFalsePositiveRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    @DisplayName("재구성 중에 저장된 유저ID도 새 필터에 남고 지표에 집계")
+    void put_DuringRebuild_KeptInNewFilter() {
+        // given: 테이블을 읽는 도중에 다른 요청이 유저를 저장
+        when(userRepository.count()).thenReturn(Mono.just(1L));
+        when(userRepository.findUserIdsAfter(0L, 2)).thenReturn(Flux.defer(() -> {
+            userIdFilter.put("eve");
+            return Flux.just(user(1, "alice"));
+        }));
+
+        // when
+        userIdFilter.rebuild().block();
+        UserIdFilter.Snapshot snapshot = userIdFilter.snapshot();
+
+        // then
+        assertThat(userIdFilter.mightContain("eve")).isTrue();
+        assertThat(snapshot.isReady()).isTrue();
+        assertThat(snapshot.getInsertions()).isEqualTo(2);
+        assertThat(snapshot.getRebuilds()).isEqualTo(1);
+    }
+}
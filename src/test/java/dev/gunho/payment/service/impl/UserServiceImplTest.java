@@ -4,7 +4,10 @@ import dev.gunho.payment.model.dto.UserPayload;
 import dev.gunho.payment.model.entity.Status;
 import dev.gunho.payment.model.entity.UserEntity;
 import dev.gunho.payment.model.mapper.UserMapper;
+import dev.gunho.payment.repository.UserBulkRepository;
 import dev.gunho.payment.repository.UserRepository;
+import dev.gunho.payment.util.IdGenerator;
+import dev.gunho.payment.util.KeysetCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,14 +15,31 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,9 +48,24 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserBulkRepository userBulkRepository;
+
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private UserIdFilter userIdFilter;
+
+    @Mock
+    private UserIdUniqueIndex userIdUniqueIndex;
+
+    @Spy
+    private IdGenerator idGenerator = new IdGenerator(1, IdGenerator.Encoding.BASE32);
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -42,6 +77,9 @@ class UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        // 기본은 user_id 유니크 인덱스가 확인된 상태
+        lenient().when(userIdUniqueIndex.isPresent()).thenReturn(true);
+
         // 테스트 데이터 초기화
         userRequest = UserPayload.Request.builder()
                 .userId(testUserId)
@@ -72,6 +110,7 @@ class UserServiceImplTest {
     @DisplayName("유저 생성 성공 시나리오")
     void createUser_Success() {
         // given
+        when(userIdFilter.mightContain(testUserId)).thenReturn(true);
         when(userRepository.existsByUserId(testUserId)).thenReturn(Mono.just(false));
         when(userMapper.toEntity(userRequest)).thenReturn(userEntityBeforeSave);
         when(userRepository.save(any(UserEntity.class))).thenReturn(Mono.just(userEntityAfterSave));
@@ -109,6 +148,7 @@ class UserServiceImplTest {
     @DisplayName("이미 존재하는 유저ID로 생성 요청 시 예외 발생")
     void createUser_AlreadyExists() {
         // given
+        when(userIdFilter.mightContain(testUserId)).thenReturn(true);
         when(userRepository.existsByUserId(testUserId)).thenReturn(Mono.just(true));
 
         // when
@@ -127,6 +167,225 @@ class UserServiceImplTest {
         verify(userMapper, never()).toDto(any());
     }
 
+    @Test
+    @DisplayName("필터에 없는 유저ID는 존재 여부 조회 없이 생성")
+    void createUser_SkipsExistsQueryWhenFilterSaysNo() {
+        // given
+        when(userIdFilter.mightContain(testUserId)).thenReturn(false);
+        when(userMapper.toEntity(userRequest)).thenReturn(userEntityBeforeSave);
+        when(userRepository.save(any(UserEntity.class))).thenReturn(Mono.just(userEntityAfterSave));
+        when(userMapper.toDto(userEntityAfterSave)).thenReturn(userResponse);
+
+        // when
+        StepVerifier.create(userService.createUser(userRequest))
+                .expectNext(userResponse)
+                .verifyComplete();
+
+        // verify
+        verify(userRepository, never()).existsByUserId(anyString());
+        verify(userIdFilter).put(testUserId);
+    }
+
+    @Test
+    @DisplayName("유니크 인덱스가 없으면 필터와 INSERT 전용 모드를 쓰지 않고 존재 여부를 조회")
+    void createUser_WithoutUniqueIndex_AlwaysQueriesExists() {
+        // given
+        ReflectionTestUtils.setField(userService, "insertOnly", true);
+        when(userIdUniqueIndex.isPresent()).thenReturn(false);
+        when(userRepository.existsByUserId(testUserId)).thenReturn(Mono.just(true));
+
+        // when/then
+        StepVerifier.create(userService.createUser(userRequest))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        // verify
+        verify(userIdFilter, never()).mightContain(anyString());
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("유니크 인덱스가 없으면 대량 생성을 거절")
+    void createUsers_WithoutUniqueIndex_IsRefused() {
+        // given
+        when(userIdUniqueIndex.isPresent()).thenReturn(false);
+
+        // when/then
+        StepVerifier.create(userService.createUsers(Flux.just(UserPayload.Request.builder().userId("a").build())))
+                .expectErrorMatches(throwable -> throwable instanceof ResponseStatusException rse
+                        && rse.getStatusCode().value() == 503)
+                .verify();
+        verify(userBulkRepository, never()).insertIgnoringDuplicates(any());
+    }
+
+    @Test
+    @DisplayName("INSERT 전용 모드에서 중복 키 오류는 기존 중복 응답으로 변환")
+    void createUser_InsertOnly_DuplicateKey() {
+        // given
+        ReflectionTestUtils.setField(userService, "insertOnly", true);
+        when(userMapper.toEntity(userRequest)).thenReturn(userEntityBeforeSave);
+        when(userRepository.save(any(UserEntity.class)))
+                .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry 'testUser123' for key 'uk_user_user_id'")));
+
+        // when/then
+        StepVerifier.create(userService.createUser(userRequest))
+                .expectErrorMatches(throwable ->
+                        throwable instanceof IllegalArgumentException &&
+                                throwable.getMessage().contains("userId is already exists"))
+                .verify();
+
+        // verify: 존재 여부 조회 없이 한 번의 INSERT만 실행
+        verify(userRepository, never()).existsByUserId(anyString());
+        verify(userIdFilter, never()).mightContain(anyString());
+    }
+
+    @Test
+    @DisplayName("중복 키가 아닌 무결성 오류는 중복 응답으로 바꾸지 않고 전파")
+    void createUser_InsertOnly_OtherIntegrityViolation() {
+        // given
+        ReflectionTestUtils.setField(userService, "insertOnly", true);
+        when(userMapper.toEntity(userRequest)).thenReturn(userEntityBeforeSave);
+        when(userRepository.save(any(UserEntity.class)))
+                .thenReturn(Mono.error(new DataIntegrityViolationException("Column 'user_id' cannot be null")));
+
+        // when/then
+        StepVerifier.create(userService.createUser(userRequest))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("INSERT 전용 모드에서 겹치는 유저ID로 동시에 수천 건 생성해도 ID당 하나만 성공")
+    void createUser_InsertOnly_ConcurrentStress() {
+        // given: user_id 유니크 인덱스를 흉내 내는 저장소
+        ReflectionTestUtils.setField(userService, "insertOnly", true);
+        int requests = 5_000;
+        int distinctUserIds = 100;
+        Map<String, UserEntity> table = new ConcurrentHashMap<>();
+        AtomicLong sequence = new AtomicLong();
+
+        when(userMapper.toEntity(any(UserPayload.Request.class)))
+                .thenAnswer(inv -> UserEntity.builder().userId(inv.<UserPayload.Request>getArgument(0).getUserId()).build());
+        when(userRepository.save(any(UserEntity.class))).thenAnswer(inv -> Mono.defer(() -> {
+            UserEntity entity = inv.getArgument(0);
+            UserEntity saved = entity.toBuilder().idx(sequence.incrementAndGet()).build();
+            if (table.putIfAbsent(entity.getUserId(), saved) != null) {
+                return Mono.error(new DuplicateKeyException("Duplicate entry '" + entity.getUserId() + "'"));
+            }
+            return Mono.just(saved);
+        }).subscribeOn(Schedulers.parallel()));
+        when(userMapper.toDto(any(UserEntity.class)))
+                .thenAnswer(inv -> UserPayload.Response.builder().userId(inv.<UserEntity>getArgument(0).getUserId()).build());
+
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger duplicates = new AtomicInteger();
+
+        // when
+        Flux.range(0, requests)
+                .flatMap(i -> userService.createUser(UserPayload.Request.builder().userId("user-" + (i % distinctUserIds)).build())
+                        .doOnNext(response -> created.incrementAndGet())
+                        .onErrorResume(IllegalArgumentException.class, e -> {
+                            duplicates.incrementAndGet();
+                            return Mono.empty();
+                        }), 256)
+                .blockLast(Duration.ofSeconds(30));
+
+        // then
+        assertThat(created.get()).isEqualTo(distinctUserIds);
+        assertThat(duplicates.get()).isEqualTo(requests - distinctUserIds);
+        assertThat(table).hasSize(distinctUserIds);
+        verify(userRepository, times(requests)).save(any(UserEntity.class));
+        verify(userRepository, never()).existsByUserId(anyString());
+    }
+
+    @Test
+    @DisplayName("대량 생성 시 청크 단위로 INSERT하고 입력 순서대로 결과 반환")
+    void createUsers_ChunkedInsert() {
+        // given: 청크 크기 2, existing은 이미 DB에 있는 유저
+        ReflectionTestUtils.setField(userService, "bulkChunkSize", 2);
+        when(userBulkRepository.insertIgnoringDuplicates(any())).thenAnswer(inv -> Flux.fromIterable(inv.<List<UserEntity>>getArgument(0))
+                .map(user -> "existing".equals(user.getUserId()) ? 0L : 1L));
+
+        Flux<UserPayload.Request> requests = Flux.just("a", "a", "", "existing", "b")
+                .map(userId -> UserPayload.Request.builder().userId(userId).build());
+
+        // when/then
+        StepVerifier.create(userService.createUsers(requests))
+                .assertNext(result -> {
+                    assertThat(result.getUserId()).isEqualTo("a");
+                    assertThat(result.getStatus()).isEqualTo(UserPayload.BulkStatus.CREATED);
+                    assertThat(result.getPayKey()).matches("[0-9a-hjkmnp-tv-z]{13}");
+                })
+                .assertNext(result -> assertThat(result.getStatus()).isEqualTo(UserPayload.BulkStatus.DUPLICATE))
+                .assertNext(result -> assertThat(result.getStatus()).isEqualTo(UserPayload.BulkStatus.INVALID))
+                .assertNext(result -> {
+                    assertThat(result.getUserId()).isEqualTo("existing");
+                    assertThat(result.getStatus()).isEqualTo(UserPayload.BulkStatus.DUPLICATE);
+                    assertThat(result.getPayKey()).isNull();
+                })
+                .assertNext(result -> assertThat(result.getStatus()).isEqualTo(UserPayload.BulkStatus.CREATED))
+                .verifyComplete();
+
+        // verify: 청크 3개, 청크 안의 중복과 잘못된 유저ID는 INSERT하지 않음
+        verify(userBulkRepository, times(3)).insertIgnoringDuplicates(any());
+        verify(userIdFilter).put("a");
+        verify(userIdFilter).put("b");
+        verify(userIdFilter, never()).put("existing");
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("배치 건수가 유저 수와 다르면 청크를 오류로 종료")
+    void createUsers_UpdateCountMismatch_FailsChunk() {
+        // given: 드라이버가 배치 전체의 합계 하나만 반환
+        when(userBulkRepository.insertIgnoringDuplicates(any())).thenReturn(Flux.just(2L));
+
+        Flux<UserPayload.Request> requests = Flux.just("a", "b")
+                .map(userId -> UserPayload.Request.builder().userId(userId).build());
+
+        // when/then
+        StepVerifier.create(userService.createUsers(requests))
+                .expectErrorMatches(throwable -> throwable instanceof ResponseStatusException rse
+                        && rse.getStatusCode().value() == 500
+                        && rse.getReason().contains("1 update counts for 2 users"))
+                .verify();
+        verify(userIdFilter, never()).put(anyString());
+    }
+
+    @Test
+    @DisplayName("유저 목록은 idx 키셋 페이지를 이어 읽고 커서를 함께 반환")
+    void listUsers_KeysetPages() {
+        // given: 페이지 크기 2, ACTIVE 유저 idx 1~5
+        ReflectionTestUtils.setField(userService, "listPageSize", 2);
+        when(userRepository.findPageByStatusAfter(eq("ACTIVE"), anyLong(), anyInt())).thenAnswer(inv -> {
+            long afterIdx = inv.getArgument(1);
+            int limit = inv.getArgument(2);
+            return Flux.range(1, 5)
+                    .filter(idx -> idx > afterIdx)
+                    .take(limit)
+                    .map(idx -> UserEntity.builder().idx((long) idx).userId("user-" + idx).status(Status.ACTIVE).build());
+        });
+        when(userMapper.toSummary(any(UserEntity.class), anyString())).thenAnswer(inv -> UserPayload.Summary.builder()
+                .userId(inv.<UserEntity>getArgument(0).getUserId())
+                .cursor(inv.getArgument(1))
+                .build());
+
+        // when/then: idx 1 이후부터 3건
+        StepVerifier.create(userService.listUsers(Status.ACTIVE, 1L, 3L))
+                .assertNext(response -> {
+                    assertThat(response.getUserId()).isEqualTo("user-2");
+                    assertThat(KeysetCursor.decode(response.getCursor())).isEqualTo(2L);
+                })
+                .assertNext(response -> assertThat(response.getUserId()).isEqualTo("user-3"))
+                .assertNext(response -> assertThat(response.getUserId()).isEqualTo("user-4"))
+                .verifyComplete();
+
+        // verify: 마지막 idx를 다음 페이지의 시작점으로 사용
+        verify(userRepository).findPageByStatusAfter("ACTIVE", 1L, 2);
+        verify(userRepository).findPageByStatusAfter("ACTIVE", 3L, 2);
+        verify(userRepository, never()).findPageAfter(anyLong(), anyInt());
+    }
+
     @Test
     @DisplayName("getPayKey를 통해 생성된 키의 형식 검증")
     void validatePayKeyFormat() {
@@ -135,7 +394,8 @@ class UserServiceImplTest {
 
         // then
         assertThat(payKey).isNotNull();
-        // 형식 검증: yyyyMMddHHmmss + UUID 3자리
-        assertThat(payKey).matches("\\d{14}[a-f0-9]{3}");
+        // 형식 검증: Crockford base32 13자리
+        assertThat(payKey).matches("[0-9a-hjkmnp-tv-z]{13}");
+        assertThat(userService.getPayKey()).isNotEqualTo(payKey);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,79 @@
+package dev.gunho.payment.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdGeneratorTest {
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 생성해도 중복 없음")
+    void nextId_UniqueUnderContention() {
+        // given
+        IdGenerator generator = new IdGenerator(7, IdGenerator.Encoding.BASE32);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+        // when
+        IntStream.range(0, 200_000).parallel().forEach(i -> ids.add(generator.nextId()));
+
+        // then
+        assertThat(ids).hasSize(200_000);
+        assertThat(ids).allMatch(id -> id > 0 && IdGenerator.nodeIdOf(id) == 7);
+    }
+
+    @Test
+    @DisplayName("시계가 뒤로 가도 ID는 계속 증가")
+    void nextId_MonotonicWhenClockGoesBack() {
+        // given
+        AtomicLong now = new AtomicLong(IdGenerator.EPOCH_MILLIS + 10_000);
+        IdGenerator generator = new IdGenerator(1, IdGenerator.Encoding.HEX, now::get);
+        long first = generator.nextId();
+
+        // when
+        now.addAndGet(-5_000);
+        long second = generator.nextId();
+
+        // then
+        assertThat(second).isGreaterThan(first);
+        assertThat(IdGenerator.timestampOf(first)).isEqualTo(IdGenerator.EPOCH_MILLIS + 10_000);
+    }
+
+    @Test
+    @DisplayName("한 밀리초의 시퀀스를 다 쓰면 다음 밀리초로 넘어감")
+    void nextId_SequenceOverflow() {
+        // given
+        AtomicLong now = new AtomicLong(IdGenerator.EPOCH_MILLIS + 10_000);
+        IdGenerator generator = new IdGenerator(1, IdGenerator.Encoding.HEX, now::get);
+
+        // when
+        long last = 0;
+        for (int i = 0; i < 4097; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(last);
+            last = id;
+        }
+
+        // then
+        assertThat(IdGenerator.timestampOf(last)).isEqualTo(IdGenerator.EPOCH_MILLIS + 10_001);
+    }
+
+    @Test
+    @DisplayName("인코딩은 고정 길이이며 숫자 순서를 유지")
+    void encode_FixedWidthAndSortable() {
+        for (IdGenerator.Encoding encoding : IdGenerator.Encoding.values()) {
+            assertThat(encoding.encode(Long.MAX_VALUE)).hasSize(encoding.getWidth());
+            assertThat(encoding.encode(1L)).hasSize(encoding.getWidth());
+            assertThat(encoding.encode(1_000L).compareTo(encoding.encode(1_001L))).isNegative();
+        }
+        assertThat(IdGenerator.Encoding.DECIMAL.encode(42L)).isEqualTo("0000000000000000042");
+        assertThat(IdGenerator.Encoding.HEX.encode(255L)).isEqualTo("00000000000000ff");
+        assertThatThrownBy(() -> new IdGenerator(1024, IdGenerator.Encoding.HEX)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,107 @@
+package dev.gunho.payment.warmup;
+
+import dev.gunho.payment.service.PaymentService;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.codec.CodecCustomizer;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    @Mock
+    private ConnectionFactory connectionFactory;
+
+    @Mock
+    private PaymentService paymentService;
+
+    @Mock
+    private ObjectProvider<CodecCustomizer> codecCustomizers;
+
+    @BeforeEach
+    void setUp() {
+        when(codecCustomizers.orderedStream()).thenReturn(Stream.empty());
+    }
+
+    private StartupWarmup warmup(boolean enabled, int dbConnections, int iterations) {
+        return new StartupWarmup(connectionFactory, paymentService, codecCustomizers,
+                enabled, dbConnections, 2, iterations, 2, Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("합성 요청이 모두 2xx로 응답하는지 테스트")
+    void replay_allRequestsSucceed() {
+        // given
+        StartupWarmup warmup = warmup(true, 0, 3);
+
+        // when & then
+        StepVerifier.create(warmup.replay())
+                .assertNext(result -> {
+                    assertEquals(27, result[0]);
+                    assertEquals(0, result[1]);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("워밍업 중 게이트웨이 실패가 기동을 막지 않는지 테스트")
+    void run_gatewayFailureIsIgnored() {
+        // given
+        StartupWarmup warmup = warmup(true, 0, 1);
+        when(paymentService.warmUp(2)).thenReturn(Mono.error(new IllegalStateException("gateway down")));
+
+        // when
+        warmup.run(null);
+
+        // then
+        verify(paymentService).warmUp(2);
+    }
+
+    @Test
+    @DisplayName("DB 워밍업 커넥션 수가 풀의 최대 크기를 넘지 않는지 테스트")
+    void clampToPool_capsAtPoolMaxSize() {
+        // given
+        ConnectionPool pool = mock(ConnectionPool.class);
+        PoolMetrics metrics = mock(PoolMetrics.class);
+        when(pool.getMetrics()).thenReturn(Optional.of(metrics));
+        when(metrics.getMaxAllocatedSize()).thenReturn(5);
+
+        // when & then
+        assertEquals(5, StartupWarmup.clampToPool(pool, 10));
+        assertEquals(3, StartupWarmup.clampToPool(pool, 3));
+        assertEquals(10, StartupWarmup.clampToPool(connectionFactory, 10));
+    }
+
+    @Test
+    @DisplayName("워밍업 비활성화 시 아무것도 하지 않는지 테스트")
+    void run_disabled() {
+        // given
+        StartupWarmup warmup = warmup(false, 10, 1);
+
+        // when
+        warmup.run(null);
+
+        // then
+        verify(paymentService, never()).warmUp(2);
+        verify(connectionFactory, never()).create();
+    }
+}
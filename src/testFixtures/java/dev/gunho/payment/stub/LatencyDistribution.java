@@ -0,0 +1,47 @@
+package dev.gunho.payment.stub;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution the stub server draws its response delays from.
+ */
+@FunctionalInterface
+public interface LatencyDistribution {
+
+    /**
+     * Draws the next delay.
+     *
+     * @return The delay in microseconds
+     */
+    long nextMicros();
+
+    static LatencyDistribution none() {
+        return () -> 0L;
+    }
+
+    static LatencyDistribution fixed(Duration delay) {
+        long micros = delay.toNanos() / 1_000;
+        return () -> micros;
+    }
+
+    static LatencyDistribution uniform(Duration min, Duration max) {
+        long minMicros = min.toNanos() / 1_000;
+        long maxMicros = max.toNanos() / 1_000;
+        return () -> ThreadLocalRandom.current().nextLong(minMicros, maxMicros + 1);
+    }
+
+    /**
+     * Log-normal delays, which is roughly what real gateway latency looks like: most calls near the median
+     * and a long tail.
+     *
+     * @param median The median delay
+     * @param p99 The 99th percentile delay; must be larger than the median
+     */
+    static LatencyDistribution logNormal(Duration median, Duration p99) {
+        double mu = Math.log(median.toNanos() / 1_000.0);
+        // 2.326 = 99번째 백분위의 표준정규 z 값
+        double sigma = (Math.log(p99.toNanos() / 1_000.0) - mu) / 2.326;
+        return () -> (long) Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian());
+    }
+}
@@ -0,0 +1,319 @@
+package dev.gunho.payment.stub;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Embedded stand-in for the PayPal REST API, for load and fault testing without the sandbox.
+ * <p>
+ * Implements {@code /v1/oauth2/token}, {@code /v2/checkout/orders} and {@code /v2/checkout/orders/{id}/capture}
+ * with configurable latency, error rate, throttling (429) and slow, chunked response bodies.
+ * Fault settings can be changed while the server is running.
+ */
+public class PayPalStubServer implements AutoCloseable {
+
+    private static final String JSON = "application/json";
+
+    private final DisposableServer server;
+
+    private volatile LatencyDistribution latency = LatencyDistribution.none();
+    private volatile double errorRate;
+    private volatile int maxRequestsPerSecond;
+    private volatile Duration slowBodyChunkDelay = Duration.ZERO;
+    private volatile int slowBodyChunks = 1;
+    private volatile long tokenTtlSeconds = 32400;
+
+    private final AtomicLong throttleSecond = new AtomicLong();
+    private final AtomicInteger throttleCount = new AtomicInteger();
+
+    private final AtomicLong orderSequence = new AtomicLong();
+    private final Map<String, String> orderStatuses = new ConcurrentHashMap<>();
+    private final Map<String, String> requestIds = new ConcurrentHashMap<>();
+
+    private final LongAdder tokenRequests = new LongAdder();
+    private final LongAdder orderRequests = new LongAdder();
+    private final LongAdder captureRequests = new LongAdder();
+    private final LongAdder injectedErrors = new LongAdder();
+    private final LongAdder throttledRequests = new LongAdder();
+
+    private PayPalStubServer(int port) {
+        this.server = HttpServer.create()
+                .host("127.0.0.1")
+                .port(port)
+                .route(routes -> routes
+                        .post("/v1/oauth2/token", (request, response) -> handle(request, response, tokenRequests, this::token))
+                        .post("/v2/checkout/orders", (request, response) -> handle(request, response, orderRequests, this::createOrder))
+                        .post("/v2/checkout/orders/{id}/capture", (request, response) -> handle(request, response, captureRequests, this::capture)))
+                .bindNow();
+    }
+
+    /**
+     * Starts a stub server on a random free port.
+     */
+    public static PayPalStubServer start() {
+        return start(0);
+    }
+
+    public static PayPalStubServer start(int port) {
+        return new PayPalStubServer(port);
+    }
+
+    public int getPort() {
+        return server.port();
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.port();
+    }
+
+    public PayPalStubServer latency(LatencyDistribution latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Fails the given fraction of requests with 500 INTERNAL_SERVER_ERROR.
+     */
+    public PayPalStubServer errorRate(double errorRate) {
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Answers 429 RATE_LIMIT_REACHED once more than the given number of requests arrive within a second.
+     * 0 disables throttling.
+     */
+    public PayPalStubServer throttle(int maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Sends response bodies in the given number of chunks, waiting between chunks.
+     */
+    public PayPalStubServer slowBody(Duration chunkDelay, int chunks) {
+        this.slowBodyChunkDelay = chunkDelay;
+        this.slowBodyChunks = Math.max(1, chunks);
+        return this;
+    }
+
+    public PayPalStubServer tokenTtl(Duration ttl) {
+        this.tokenTtlSeconds = ttl.toSeconds();
+        return this;
+    }
+
+    /**
+     * Clears all fault settings and counters. Created orders are kept.
+     */
+    public PayPalStubServer reset() {
+        latency = LatencyDistribution.none();
+        errorRate = 0.0;
+        maxRequestsPerSecond = 0;
+        slowBodyChunkDelay = Duration.ZERO;
+        slowBodyChunks = 1;
+        tokenRequests.reset();
+        orderRequests.reset();
+        captureRequests.reset();
+        injectedErrors.reset();
+        throttledRequests.reset();
+        return this;
+    }
+
+    public long getTokenRequests() {
+        return tokenRequests.sum();
+    }
+
+    public long getOrderRequests() {
+        return orderRequests.sum();
+    }
+
+    public long getCaptureRequests() {
+        return captureRequests.sum();
+    }
+
+    public long getInjectedErrors() {
+        return injectedErrors.sum();
+    }
+
+    public long getThrottledRequests() {
+        return throttledRequests.sum();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response, LongAdder counter,
+                              Function<HttpServerRequest, Reply> endpoint) {
+        counter.increment();
+        return request.receive().aggregate().asString(StandardCharsets.UTF_8)
+                .defaultIfEmpty("")
+                .flatMap(body -> {
+                    if (isThrottled()) {
+                        throttledRequests.increment();
+                        return Mono.just(Reply.error(429, "RATE_LIMIT_REACHED", "Too many requests. Blocked due to rate limiting."));
+                    }
+
+                    Mono<Reply> reply = Mono.fromSupplier(() -> {
+                        if (errorRate > 0.0 && ThreadLocalRandom.current().nextDouble() < errorRate) {
+                            injectedErrors.increment();
+                            return Reply.error(500, "INTERNAL_SERVER_ERROR", "An internal server error occurred.");
+                        }
+                        return endpoint.apply(request);
+                    });
+
+                    long delayMicros = latency.nextMicros();
+                    return delayMicros > 0 ? reply.delaySubscription(Duration.ofNanos(delayMicros * 1_000)) : reply;
+                })
+                .flatMap(reply -> send(response, reply));
+    }
+
+    private Mono<Void> send(HttpServerResponse response, Reply reply) {
+        response.status(reply.status).header("Content-Type", JSON);
+        if (reply.status == 429) {
+            response.header("Retry-After", "1");
+        }
+
+        byte[] body = reply.body.getBytes(StandardCharsets.UTF_8);
+        Duration chunkDelay = slowBodyChunkDelay;
+        int chunks = slowBodyChunks;
+        if (chunks <= 1 || chunkDelay.isZero()) {
+            response.header("Content-Length", String.valueOf(body.length));
+            return response.sendByteArray(Mono.just(body)).then();
+        }
+
+        int chunkSize = Math.max(1, (body.length + chunks - 1) / chunks);
+        List<ByteBuf> parts = new ArrayList<>();
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            parts.add(Unpooled.wrappedBuffer(body, offset, Math.min(chunkSize, body.length - offset)));
+        }
+        return response.send(Flux.fromIterable(parts).delayElements(chunkDelay)).then();
+    }
+
+    private boolean isThrottled() {
+        int limit = maxRequestsPerSecond;
+        if (limit <= 0) {
+            return false;
+        }
+        long second = System.nanoTime() / 1_000_000_000L;
+        long current = throttleSecond.get();
+        if (current != second && throttleSecond.compareAndSet(current, second)) {
+            throttleCount.set(0);
+        }
+        return throttleCount.incrementAndGet() > limit;
+    }
+
+    private Reply token(HttpServerRequest request) {
+        String authorization = request.requestHeaders().get("Authorization");
+        if (authorization == null || !authorization.startsWith("Basic ")) {
+            return Reply.error(401, "invalid_client", "Client Authentication failed");
+        }
+        return new Reply(200, "{\"scope\":\"https://uri.paypal.com/services/payments/payment\","
+                + "\"access_token\":\"A21AA" + System.nanoTime() + "\",\"token_type\":\"Bearer\","
+                + "\"app_id\":\"APP-STUB\",\"expires_in\":" + tokenTtlSeconds + "}");
+    }
+
+    private Reply createOrder(HttpServerRequest request) {
+        if (!isBearer(request)) {
+            return Reply.error(401, "AUTHENTICATION_FAILURE", "Authentication failed due to invalid authentication credentials.");
+        }
+
+        // PayPal-Request-Id가 같으면 같은 주문을 돌려준다 (PayPal 멱등성 동작)
+        String requestId = request.requestHeaders().get("PayPal-Request-Id");
+        String orderId = requestId == null
+                ? nextOrderId()
+                : requestIds.computeIfAbsent(requestId, key -> nextOrderId());
+        orderStatuses.putIfAbsent(orderId, "CREATED");
+
+        return new Reply(201, "{\"id\":\"" + orderId + "\",\"status\":\"CREATED\",\"links\":["
+                + "{\"href\":\"https://api-m.sandbox.paypal.com/v2/checkout/orders/" + orderId + "\",\"rel\":\"self\",\"method\":\"GET\"},"
+                + "{\"href\":\"https://www.sandbox.paypal.com/checkoutnow?token=" + orderId + "\",\"rel\":\"approve\",\"method\":\"GET\"},"
+                + "{\"href\":\"https://api-m.sandbox.paypal.com/v2/checkout/orders/" + orderId + "/capture\",\"rel\":\"capture\",\"method\":\"POST\"}]}");
+    }
+
+    private Reply capture(HttpServerRequest request) {
+        if (!isBearer(request)) {
+            return Reply.error(401, "AUTHENTICATION_FAILURE", "Authentication failed due to invalid authentication credentials.");
+        }
+
+        String orderId = request.param("id");
+        if (!orderStatuses.replace(orderId, "CREATED", "COMPLETED")) {
+            return orderStatuses.containsKey(orderId)
+                    ? Reply.error(422, "UNPROCESSABLE_ENTITY", "ORDER_ALREADY_CAPTURED")
+                    : Reply.error(404, "RESOURCE_NOT_FOUND", "The specified resource does not exist.");
+        }
+
+        String captureId = "CAP" + orderId.substring(Math.max(0, orderId.length() - 14));
+        return new Reply(201, "{\"id\":\"" + orderId + "\",\"status\":\"COMPLETED\","
+                + "\"payment_source\":{\"paypal\":{\"name\":{\"given_name\":\"John\",\"surname\":\"Doe\"},"
+                + "\"email_address\":\"customer@example.com\",\"account_id\":\"QYR5Z8XDVJNXQ\"}},"
+                + "\"purchase_units\":[{\"reference_id\":\"default\",\"payments\":{\"captures\":[{\"id\":\"" + captureId + "\","
+                + "\"status\":\"COMPLETED\",\"amount\":{\"currency_code\":\"USD\",\"value\":\"100.00\"},\"final_capture\":true}]}}],"
+                + "\"links\":[{\"href\":\"https://api-m.sandbox.paypal.com/v2/checkout/orders/" + orderId + "\",\"rel\":\"self\",\"method\":\"GET\"}]}");
+    }
+
+    private boolean isBearer(HttpServerRequest request) {
+        String authorization = request.requestHeaders().get("Authorization");
+        return authorization != null && authorization.startsWith("Bearer ");
+    }
+
+    private String nextOrderId() {
+        return String.format("5O%015d", orderSequence.incrementAndGet());
+    }
+
+    /**
+     * Runs the stub as a standalone process, e.g. for the {@code loadtest} profile.
+     * Settings are read from system properties: {@code stub.port}, {@code stub.latency.median-ms},
+     * {@code stub.latency.p99-ms}, {@code stub.error-rate}, {@code stub.throttle-rps},
+     * {@code stub.slow-body.chunk-delay-ms} and {@code stub.slow-body.chunks}.
+     */
+    public static void main(String[] args) {
+        PayPalStubServer stub = start(Integer.getInteger("stub.port", 8089));
+
+        long medianMs = Long.getLong("stub.latency.median-ms", 0L);
+        if (medianMs > 0) {
+            long p99Ms = Long.getLong("stub.latency.p99-ms", medianMs * 4);
+            stub.latency(LatencyDistribution.logNormal(Duration.ofMillis(medianMs), Duration.ofMillis(p99Ms)));
+        }
+        stub.errorRate(Double.parseDouble(System.getProperty("stub.error-rate", "0")))
+                .throttle(Integer.getInteger("stub.throttle-rps", 0))
+                .slowBody(Duration.ofMillis(Long.getLong("stub.slow-body.chunk-delay-ms", 0L)),
+                        Integer.getInteger("stub.slow-body.chunks", 1));
+
+        System.out.printf("PayPal stub listening on %s%n", stub.getBaseUrl());
+        stub.server.onDispose().block();
+    }
+
+    private static final class Reply {
+        private final int status;
+        private final String body;
+
+        private Reply(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+
+        static Reply error(int status, String name, String message) {
+            return new Reply(status, "{\"name\":\"" + name + "\",\"message\":\"" + message + "\",\"debug_id\":\"stub\"}");
+        }
+    }
+}